@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps a {@link TimingHandler} and additionally records the amount of heap
+ * memory allocated by the main thread while the timing is running, if the
+ * JVM supports measuring it.
+ */
+class AllocationTimingHandler implements Timing {
+
+    static final List<AllocationTimingHandler> HANDLERS = new CopyOnWriteArrayList<>();
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN;
+
+    static {
+        com.sun.management.ThreadMXBean threadBean = null;
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                threadBean = (com.sun.management.ThreadMXBean) bean;
+                threadBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        } catch (Throwable ignored) {
+            // Not a HotSpot based JVM
+        }
+        THREAD_BEAN = threadBean;
+    }
+
+    final TimingHandler handler;
+    private int depth;
+    private long startBytes;
+    long allocatedBytes;
+    long count;
+
+    AllocationTimingHandler(TimingHandler handler) {
+        this.handler = handler;
+        HANDLERS.add(this);
+    }
+
+    private static long getAllocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Override
+    public Timing startTiming() {
+        this.handler.startTiming();
+        if (this.handler.enabled && THREAD_BEAN != null && this.depth++ == 0) {
+            this.startBytes = getAllocatedBytes();
+        }
+        return this;
+    }
+
+    @Override
+    public void stopTiming() {
+        if (this.depth > 0 && --this.depth == 0) {
+            this.allocatedBytes += getAllocatedBytes() - this.startBytes;
+            this.count++;
+        }
+        this.handler.stopTiming();
+    }
+
+    @Override
+    public void startTimingIfSync() {
+        this.handler.startTimingIfSync();
+    }
+
+    @Override
+    public void stopTimingIfSync() {
+        this.handler.stopTimingIfSync();
+    }
+
+    @Override
+    public void abort() {
+        this.depth = 0;
+        this.handler.abort();
+    }
+
+    @Override
+    public void close() {
+        this.handler.close();
+    }
+
+    void remove() {
+        HANDLERS.remove(this);
+    }
+
+    void reset() {
+        this.depth = 0;
+        this.allocatedBytes = 0;
+        this.count = 0;
+    }
+
+}
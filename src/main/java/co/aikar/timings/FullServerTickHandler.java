@@ -98,7 +98,9 @@ public void stopTiming() {
             this.minuteData.reset();
         }
         if (TimingHistory.timedTicks % Timings.getHistoryInterval() == 0) {
-            TimingsManager.HISTORY.add(new TimingHistory());
+            TimingHistory history = new TimingHistory();
+            TimingsManager.HISTORY.add(history);
+            TimingsStream.record(history);
             TimingsManager.resetTimings();
         }
     }
@@ -32,6 +32,7 @@
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.selector.SelectorType;
 
 public final class SpongeTimings {
 
@@ -57,6 +58,8 @@ public final class SpongeTimings {
     public static final Timing antiXrayUpdateTimer = SpongeTimingsFactory.ofSafe("anti-xray - update");
     public static final Timing antiXrayObfuscateTimer = SpongeTimingsFactory.ofSafe("anti-xray - obfuscate");
 
+    public static final Timing selectorResolveTimer = SpongeTimingsFactory.ofSafe("Selector Resolution");
+
     public static final Timing dataGetManipulator = SpongeTimingsFactory.ofSafe("## getManipulator");
     public static final Timing dataGetOrCreateManipulator = SpongeTimingsFactory.ofSafe("## getOrCreateManipulator");
     public static final Timing dataOfferManipulator = SpongeTimingsFactory.ofSafe("## offerData");
@@ -123,6 +126,16 @@ public static Timing getTileEntityTiming(TileEntity entity) {
         return SpongeTimingsFactory.ofSafe("Minecraft", "## tickTileEntity - " + entityType, tickTileEntityTimer);
     }
 
+    /**
+     * Gets a timer for resolving selectors of the specified type.
+     *
+     * @param type
+     * @return
+     */
+    public static Timing getSelectorTiming(SelectorType type) {
+        return SpongeTimingsFactory.ofSafe("## selector - " + type.getId(), selectorResolveTimer);
+    }
+
     public static Timing getModTimings(PluginContainer plugin, String context) {
         return SpongeTimingsFactory.ofSafe(plugin, context, true);
     }
@@ -29,9 +29,14 @@
 import com.google.common.collect.EvictingQueue;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Scheduler;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.category.TimingsCategory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +63,7 @@ public void init() {
         setTimingsEnabled(this.moduleEnabled && config.isEnabled());
         setHistoryInterval(config.getHistoryInterval());
         setHistoryLength(config.getHistoryLength());
+        TimingsStream.start(config);
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -177,6 +183,35 @@ public void generateReport(CommandSource sender) {
         TimingsExport.reportTimings(sender);
     }
 
+    /**
+     * Reads the streamed timings history of the given time range off the
+     * main thread, and uploads it as a report.
+     *
+     * @param sender Who to report to
+     * @param since The unix time in seconds to replay from
+     * @param until The unix time in seconds to replay to
+     */
+    public static void replayReport(CommandSource sender, long since, long until) {
+        Path directory = TimingsStream.getDirectory(SpongeImpl.getGlobalConfig().getConfig().getTimings());
+        Scheduler scheduler = SpongeImpl.getGame().getScheduler();
+        scheduler.createTaskBuilder().async().execute(() -> {
+            TimingsStream.Replay replay;
+            try {
+                replay = TimingsStream.replay(directory, since, until);
+            } catch (IOException e) {
+                sender.sendMessage(Text.of(TextColors.RED, "Error reading timings history, check your logs for more information"));
+                SpongeImpl.getLogger().error("Could not read timings history from " + directory, e);
+                return;
+            }
+            if (replay.isEmpty()) {
+                sender.sendMessage(Text.of(TextColors.RED, "No timings history found for that time range in " + directory));
+                return;
+            }
+            // Server details are gathered on the main thread
+            scheduler.createTaskBuilder().execute(() -> TimingsExport.reportTimings(sender, replay)).submit(SpongeImpl.getPlugin());
+        }).submit(SpongeImpl.getPlugin());
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
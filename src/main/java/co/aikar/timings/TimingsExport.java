@@ -46,7 +46,14 @@
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.event.AsyncEventDispatcher;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -61,6 +68,8 @@
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 class TimingsExport extends Thread {
 
     private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
@@ -69,9 +78,9 @@ class TimingsExport extends Thread {
 
     private final CommandSource sender;
     private final JsonObject out;
-    private final TimingHistory[] history;
+    @Nullable private final TimingHistory[] history;
 
-    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history) {
+    TimingsExport(CommandSource sender, JsonObject out, @Nullable TimingHistory[] history) {
         super("Timings paste thread");
         this.sender = sender;
         this.out = out;
@@ -88,14 +97,123 @@ private static String getServerName() {
      * @param sender Who to report to
      */
     static void reportTimings(CommandSource sender) {
+        JsonObjectBuilder builder = serverDetailsBuilder(TimingsManager.timingStart / 1000, System.currentTimeMillis() / 1000);
+
+        Set<BlockType> blockTypeSet = Sets.newHashSet();
+        Set<EntityType> entityTypeSet = Sets.newHashSet();
+
+        int size = HISTORY.size();
+        TimingHistory[] history = new TimingHistory[size + 1];
+        int i = 0;
+        for (TimingHistory timingHistory : HISTORY) {
+            blockTypeSet.addAll(timingHistory.blockTypeSet);
+            entityTypeSet.addAll(timingHistory.entityTypeSet);
+            history[i++] = timingHistory;
+        }
+
+        history[i] = new TimingHistory(); // Current snapshot
+        blockTypeSet.addAll(history[i].blockTypeSet);
+        entityTypeSet.addAll(history[i].entityTypeSet);
+
+        builder.add("idmap", idMapBuilder(true)
+                .add("tileentity", mapBlockTypes(blockTypeSet))
+                .add("entity", mapEntityTypes(entityTypeSet)));
+
+        // Memory allocated while the allocation tracking timings were running
+
+        builder.add("allocations", JSONUtil.mapArrayToObject(AllocationTimingHandler.HANDLERS, (handler) -> {
+            if (handler.count == 0) {
+                return null;
+            }
+            return JSONUtil.singleObjectPair(handler.handler.id, JSONUtil.arrayOf(handler.count, handler.allocatedBytes));
+        }));
+
+        // Statistics of asynchronous event listeners
+
+        ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).getAsyncDispatcherIfPresent().ifPresent(dispatcher -> {
+            builder.add("asynclisteners", JSONUtil.objectBuilder()
+                    .add("queued", dispatcher.getQueueDepth())
+                    .add("plugins", JSONUtil.mapArrayToObject(dispatcher.getStats().entrySet(), (entry) -> {
+                        AsyncEventDispatcher.ListenerStats stats = entry.getValue();
+                        return JSONUtil.singleObjectPair(entry.getKey().getId(), JSONUtil.arrayOf(stats.getDispatched(), stats.getHandled(),
+                                stats.getDropped(), stats.getFailed(), stats.getTotalTime(), stats.getMaxTime()));
+                    })));
+        });
+
+        // Statistics of asynchronous scheduler tasks
+
+        AsyncTaskExecutor taskExecutor = SpongeScheduler.getInstance().getAsyncTaskExecutor();
+        builder.add("asynctasks", JSONUtil.objectBuilder()
+                .add("queued", taskExecutor.getQueueDepth())
+                .add("active", taskExecutor.getActiveThreads())
+                .add("plugins", JSONUtil.mapArrayToObject(taskExecutor.getStats().entrySet(), (entry) -> {
+                    AsyncTaskExecutor.TaskStats stats = entry.getValue();
+                    return JSONUtil.singleObjectPair(entry.getKey().getId(), JSONUtil.arrayOf(stats.getSubmitted(), stats.getCompleted(),
+                            stats.getDropped(), stats.getRunning(), stats.getQueued(), stats.getTotalLatency(), stats.getMaxLatency(),
+                            stats.getTotalTime(), stats.getMaxTime()));
+                })));
+
+        // Statistics of the immutable data caches
+
+        builder.add("datacache", JSONUtil.objectBuilder()
+                .add("manipulators", cacheStats(ImmutableDataCachingUtil.manipulatorStats))
+                .add("values", cacheStats(ImmutableDataCachingUtil.valueStats)));
+
+        // Statistics of the incremental auto-saves
+
+        builder.add("worldsaves", JSONUtil.objectBuilder()
+                .add("queued", SpongeImpl.getGame().getServer().getWorlds().stream()
+                        .mapToInt(world -> ((IMixinWorldServer) world).getIncrementalSaver().getQueueDepth()).sum())
+                .add("worlds", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
+                    WorldTimingsHandler timings = ((IMixinWorld) world).getTimingsHandler();
+                    return JSONUtil.singleObjectPair(world.getName(), JSONUtil.arrayOf(timings.chunksSavedLastTick, timings.maxChunksSavedPerTick,
+                            timings.chunksSaved, timings.bytesWritten.sum(), ((IMixinWorldServer) world).getIncrementalSaver().getRemaining()));
+                })));
+
+        // Statistics of the terrain generation stages, the times are in nanoseconds
+
+        builder.add("terraingen", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
+            WorldTimingsHandler timings = ((IMixinWorld) world).getTimingsHandler();
+            return JSONUtil.singleObjectPair(world.getName(), JSONUtil.arrayOf(timings.terrainBiomesTime.sum(), timings.terrainBaseTime.sum(),
+                    timings.terrainGroundCoverTime.sum(), timings.terrainGenerationPopulatorsTime.sum(), timings.terrainGeneratedAhead.sum(),
+                    timings.terrainPrefetchHits, timings.terrainPrefetchDiscarded));
+        }));
+
+        new TimingsExport(sender, builder.build(), history).start();
+    }
+
+    private static JsonObjectBuilder cacheStats(ImmutableDataCachingUtil.CacheStats stats) {
+        return JSONUtil.objectBuilder()
+                .add("hits", stats.getHits())
+                .add("misses", stats.getMisses())
+                .add("evictions", stats.getEvictions())
+                .add("caches", stats.getCaches())
+                .add("size", stats.getSize());
+    }
+
+    /**
+     * Uploads a report replayed from the {@link TimingsStream} files. The
+     * server details are those of the running server.
+     *
+     * @param sender Who to report to
+     * @param replay The replayed history
+     */
+    static void reportTimings(CommandSource sender, TimingsStream.Replay replay) {
+        JsonObjectBuilder builder = serverDetailsBuilder(replay.start, replay.end)
+                .add("idmap", replay.idMap)
+                .add("data", replay.data);
+        new TimingsExport(sender, builder.build(), null).start();
+    }
+
+    private static JsonObjectBuilder serverDetailsBuilder(long start, long end) {
         Platform platform = SpongeImpl.getGame().getPlatform();
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 // Get some basic system details about the server
                 .add("version", platform.getImplementation().getVersion().orElse(platform.getMinecraftVersion().getName() + "-DEV"))
                 .add("maxplayers", SpongeImpl.getGame().getServer().getMaxPlayers())
-                .add("start", TimingsManager.timingStart / 1000)
-                .add("end", System.currentTimeMillis() / 1000)
-                .add("sampletime", (System.currentTimeMillis() - TimingsManager.timingStart) / 1000);
+                .add("start", start)
+                .add("end", end)
+                .add("sampletime", end - start);
         if (!TimingsManager.privacy) {
             builder.add("server", getServerName())
                     .add("motd", SpongeImpl.getGame().getServer().getMotd().toPlain())
@@ -119,26 +237,35 @@ static void reportTimings(CommandSource sender) {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
                 })));
 
-        Set<BlockType> blockTypeSet = Sets.newHashSet();
-        Set<EntityType> entityTypeSet = Sets.newHashSet();
+        // Information about loaded plugins
 
-        int size = HISTORY.size();
-        TimingHistory[] history = new TimingHistory[size + 1];
-        int i = 0;
-        for (TimingHistory timingHistory : HISTORY) {
-            blockTypeSet.addAll(timingHistory.blockTypeSet);
-            entityTypeSet.addAll(timingHistory.entityTypeSet);
-            history[i++] = timingHistory;
-        }
+        builder.add("plugins", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getPluginManager().getPlugins(), (plugin) -> {
+            return JSONUtil.objectBuilder().add(plugin.getId(), JSONUtil.objectBuilder()
+                    .add("version", plugin.getVersion().orElse(""))
+                    .add("description", plugin.getDescription().orElse(""))
+                    .add("website", plugin.getUrl().orElse(""))
+                    .add("authors", AUTHOR_LIST_JOINER.join(plugin.getAuthors()))
+            ).build();
+        }));
 
-        history[i] = new TimingHistory(); // Current snapshot
-        blockTypeSet.addAll(history[i].blockTypeSet);
-        entityTypeSet.addAll(history[i].entityTypeSet);
+        // Information on the users Config
+
+        builder.add("config", JSONUtil.objectBuilder()
+                .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
+        return builder;
+    }
 
+    /**
+     * Builds the groups, handlers and worlds id mappings of a report.
+     *
+     * @param timedOnly Whether to leave out handlers that were never timed
+     * @return The builder holding the mappings
+     */
+    static JsonObjectBuilder idMapBuilder(boolean timedOnly) {
         JsonObjectBuilder handlersBuilder = JSONUtil.objectBuilder();
         for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
             for (TimingHandler id : group.handlers) {
-                if (!id.timed && !id.isSpecial()) {
+                if (timedOnly && !id.timed && !id.isSpecial()) {
                     continue;
                 }
                 handlersBuilder.add(id.id, JSONUtil.arrayOf(
@@ -147,38 +274,26 @@ static void reportTimings(CommandSource sender) {
             }
         }
 
-        builder.add("idmap", JSONUtil.objectBuilder()
+        return JSONUtil.objectBuilder()
                 .add("groups", JSONUtil.mapArrayToObject(TimingIdentifier.GROUP_MAP.values(), (group) -> {
                     return JSONUtil.singleObjectPair(group.id, group.name);
                 }))
                 .add("handlers", handlersBuilder)
                 .add("worlds", JSONUtil.mapArrayToObject(TimingHistory.worldMap.entrySet(), (entry) -> {
                     return JSONUtil.singleObjectPair(entry.getValue(), entry.getKey());
-                }))
-                .add("tileentity", JSONUtil.mapArrayToObject(blockTypeSet, (blockType) -> {
-                    return JSONUtil.singleObjectPair(Block.getIdFromBlock((Block) blockType), blockType.getId());
-                }))
-                .add("entity", JSONUtil.mapArrayToObject(entityTypeSet, (entityType) -> {
-                    return JSONUtil.singleObjectPair(((SpongeEntityType) entityType).entityTypeId, entityType.getId());
-                })));
-
-        // Information about loaded plugins
-
-        builder.add("plugins", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getPluginManager().getPlugins(), (plugin) -> {
-            return JSONUtil.objectBuilder().add(plugin.getId(), JSONUtil.objectBuilder()
-                    .add("version", plugin.getVersion().orElse(""))
-                    .add("description", plugin.getDescription().orElse(""))
-                    .add("website", plugin.getUrl().orElse(""))
-                    .add("authors", AUTHOR_LIST_JOINER.join(plugin.getAuthors()))
-            ).build();
-        }));
-
-        // Information on the users Config
+                }));
+    }
 
-        builder.add("config", JSONUtil.objectBuilder()
-                .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
+    static JsonObject mapBlockTypes(Set<BlockType> blockTypeSet) {
+        return JSONUtil.mapArrayToObject(blockTypeSet, (blockType) -> {
+            return JSONUtil.singleObjectPair(Block.getIdFromBlock((Block) blockType), blockType.getId());
+        });
+    }
 
-        new TimingsExport(sender, builder.build(), history).start();
+    static JsonObject mapEntityTypes(Set<EntityType> entityTypeSet) {
+        return JSONUtil.mapArrayToObject(entityTypeSet, (entityType) -> {
+            return JSONUtil.singleObjectPair(((SpongeEntityType) entityType).entityTypeId, entityType.getId());
+        });
     }
 
     static long getCost() {
@@ -254,7 +369,9 @@ public synchronized void start() {
     public void run() {
         this.sender.sendMessage(Text.of(TextColors.GREEN, "Preparing Timings Report..."));
 
-        this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
+        if (this.history != null) {
+            this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
+        }
 
         String response = null;
         try {
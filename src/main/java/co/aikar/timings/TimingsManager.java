@@ -96,6 +96,7 @@ static void tick() {
     static void stopServer() {
         Timings.setTimingsEnabled(false);
         recheckEnabled();
+        TimingsStream.stop();
     }
 
     static void recheckEnabled() {
@@ -116,6 +117,9 @@ static void resetTimings() {
                     timings.reset(true);
                 }
             }
+            for (AllocationTimingHandler handler : AllocationTimingHandler.HANDLERS) {
+                handler.reset();
+            }
             SpongeImpl.getLogger().info("Timings Reset");
             HISTORY.clear();
             needsFullReset = false;
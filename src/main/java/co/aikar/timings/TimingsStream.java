@@ -0,0 +1,409 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import co.aikar.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.TimingsCategory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Continuously appends timings history frames to rotating local files, so
+ * that history older than the in-memory frames can still be reported.
+ *
+ * <p>Every line of a stream file is one JSON object. Lines of type
+ * {@code idmap} map the handler, group and world ids to their names, and are
+ * written whenever new ids appear and at the start of every file. Lines of
+ * type {@code history} hold one exported history frame together with the
+ * garbage collector counters at the time it was recorded. Frames are
+ * serialized and written on a dedicated thread.</p>
+ *
+ * <p>Ids are only unique within one run of the server, so every id mapping
+ * carries the start time of the JVM as a session, and a replay only ever
+ * covers frames of a single session.</p>
+ */
+final class TimingsStream implements Runnable {
+
+    private static final String FILE_NAME = "timings";
+    private static final String FILE_EXTENSION = ".jsonl";
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long SESSION = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    @Nullable private static TimingsStream instance;
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final BlockingQueue<Record> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Only accessed from the main thread
+    private int lastIdCount = -1;
+
+    // Only accessed from the stream thread
+    @Nullable private JsonObject lastIdMap;
+    @Nullable private OutputStream out;
+    private long written;
+
+    private TimingsStream(Path directory, long maxFileSize, int maxFiles) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.thread = new Thread(this, "Sponge Timings Stream");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts streaming history frames if enabled in the config.
+     *
+     * @param config The timings config
+     */
+    static void start(TimingsCategory config) {
+        stop();
+        if (!config.isStreamEnabled()) {
+            return;
+        }
+        instance = new TimingsStream(getDirectory(config), Math.max(1, config.getStreamMaxFileSize()) * 1024L,
+                Math.max(1, config.getStreamMaxFiles()));
+        instance.thread.start();
+    }
+
+    /**
+     * Stops streaming, writing out any frames that are still queued.
+     */
+    static void stop() {
+        TimingsStream stream = instance;
+        if (stream == null) {
+            return;
+        }
+        instance = null;
+        stream.running = false;
+        try {
+            stream.thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static Path getDirectory(TimingsCategory config) {
+        return SpongeImpl.getGameDir().resolve(config.getStreamDirectory());
+    }
+
+    /**
+     * Queues a history frame to be written. Called from the main thread when
+     * the frame is recorded.
+     *
+     * @param history The recorded frame
+     */
+    static void record(TimingHistory history) {
+        TimingsStream stream = instance;
+        if (stream == null) {
+            return;
+        }
+
+        // Handlers, groups and worlds are only ever added, so a change in
+        // their count is enough to know the id mappings need to be written
+        int idCount = TimingHistory.worldMap.size();
+        for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
+            idCount += group.handlers.size() + 1;
+        }
+        JsonObject idMap = null;
+        if (idCount != stream.lastIdCount) {
+            idMap = TimingsExport.idMapBuilder(false).build();
+        }
+
+        JsonObject gc = JSONUtil.mapArrayToObject(ManagementFactory.getGarbageCollectorMXBeans(), (input) -> {
+            return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
+        });
+
+        if (stream.queue.offer(new Record(history, idMap, gc))) {
+            stream.lastIdCount = idCount;
+        } else {
+            SpongeImpl.getLogger().warn("Timings stream is falling behind, dropping history frame");
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (this.running || !this.queue.isEmpty()) {
+                Record record;
+                try {
+                    record = this.queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (record == null) {
+                    continue;
+                }
+                try {
+                    write(record);
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Could not write timings history to " + this.directory, e);
+                    close();
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private void write(Record record) throws IOException {
+        boolean writeIdMap = false;
+        if (record.idMap != null) {
+            this.lastIdMap = record.idMap;
+            writeIdMap = true;
+        }
+        if (this.out == null) {
+            writeIdMap |= open();
+        }
+        if (writeIdMap && this.lastIdMap != null) {
+            writeLine(JSONUtil.objectBuilder()
+                    .add("type", "idmap")
+                    .add("session", SESSION)
+                    .add("idmap", this.lastIdMap)
+                    .build());
+        }
+
+        writeLine(JSONUtil.objectBuilder()
+                .add("type", "history")
+                .add("gc", record.gc)
+                .add("tileentity", TimingsExport.mapBlockTypes(record.history.blockTypeSet))
+                .add("entity", TimingsExport.mapEntityTypes(record.history.entityTypeSet))
+                .add("data", record.history.export())
+                .build());
+        this.out.flush();
+
+        if (this.written >= this.maxFileSize) {
+            rotate();
+        }
+    }
+
+    private void writeLine(JsonObject object) throws IOException {
+        byte[] line = (JSONUtil.toString(object) + '\n').getBytes(StandardCharsets.UTF_8);
+        this.out.write(line);
+        this.written += line.length;
+    }
+
+    /**
+     * Opens the current stream file for appending.
+     *
+     * @return Whether the file was empty
+     * @throws IOException If the file could not be opened
+     */
+    private boolean open() throws IOException {
+        Files.createDirectories(this.directory);
+        Path file = getFile(this.directory, 0);
+        this.written = Files.exists(file) ? Files.size(file) : 0;
+        this.out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        return this.written == 0;
+    }
+
+    private void close() {
+        if (this.out != null) {
+            try {
+                this.out.close();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not close timings stream file", e);
+            }
+            this.out = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.deleteIfExists(getFile(this.directory, this.maxFiles));
+        for (int i = this.maxFiles - 1; i >= 0; i--) {
+            Path file = getFile(this.directory, i);
+            if (Files.exists(file)) {
+                Files.move(file, getFile(this.directory, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static Path getFile(Path directory, int index) {
+        return directory.resolve(index == 0 ? FILE_NAME + FILE_EXTENSION : FILE_NAME + "." + index + FILE_EXTENSION);
+    }
+
+    /**
+     * Reads back the history frames in the stream directory that ended within
+     * the given time range, oldest first. If the range spans a restart, only
+     * the frames of the latest session are kept.
+     *
+     * @param directory The stream directory
+     * @param since The unix time in seconds to replay from
+     * @param until The unix time in seconds to replay to
+     * @return The replayed history
+     * @throws IOException If a stream file could not be read
+     */
+    static Replay replay(Path directory, long since, long until) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            Path file = getFile(directory, i);
+            if (!Files.exists(file)) {
+                break;
+            }
+            files.add(0, file);
+        }
+
+        Replay replay = new Replay();
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                JsonParser parser = new JsonParser();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        replay.read(parser.parse(line).getAsJsonObject(), since, until);
+                    } catch (JsonParseException | IllegalStateException e) {
+                        // A crash may leave a partially written last line behind
+                        SpongeImpl.getLogger().warn("Skipping malformed timings stream entry in " + file);
+                    }
+                }
+            }
+        }
+        return replay;
+    }
+
+    private static final class Record {
+
+        final TimingHistory history;
+        @Nullable final JsonObject idMap;
+        final JsonObject gc;
+
+        Record(TimingHistory history, @Nullable JsonObject idMap, JsonObject gc) {
+            this.history = history;
+            this.idMap = idMap;
+            this.gc = gc;
+        }
+    }
+
+    /**
+     * The history frames read back from the stream files, in the layout of
+     * the report {@code idmap} and {@code data} sections.
+     */
+    static final class Replay {
+
+        JsonObject idMap;
+        JsonArray data;
+        long start;
+        long end;
+        long session = -1;
+        // Id mappings of the session being read, kept apart until a frame of
+        // that session is within range
+        @Nullable private JsonObject sessionIdMap = new JsonObject();
+
+        Replay() {
+            clear();
+        }
+
+        private void clear() {
+            this.idMap = new JsonObject();
+            this.idMap.add("tileentity", new JsonObject());
+            this.idMap.add("entity", new JsonObject());
+            this.data = new JsonArray();
+            this.start = Long.MAX_VALUE;
+            this.end = Long.MIN_VALUE;
+        }
+
+        void read(JsonObject entry, long since, long until) {
+            String type = entry.get("type").getAsString();
+            if ("idmap".equals(type)) {
+                long entrySession = entry.get("session").getAsLong();
+                if (entrySession != this.session) {
+                    this.session = entrySession;
+                    this.sessionIdMap = new JsonObject();
+                }
+                // Once a frame of the session is in range, new ids go straight to the replay
+                merge(this.sessionIdMap != null ? this.sessionIdMap : this.idMap, entry.getAsJsonObject("idmap"));
+            } else if ("history".equals(type)) {
+                JsonObject history = entry.getAsJsonObject("data");
+                long historyEnd = history.get("e").getAsLong();
+                if (historyEnd < since || historyEnd > until) {
+                    return;
+                }
+                if (this.sessionIdMap != null) {
+                    // First frame in range of a new session, earlier frames
+                    // use ids that mean something else in this one
+                    clear();
+                    merge(this.idMap, this.sessionIdMap);
+                    this.sessionIdMap = null;
+                }
+                mergeSection(this.idMap.getAsJsonObject("tileentity"), entry.getAsJsonObject("tileentity"));
+                mergeSection(this.idMap.getAsJsonObject("entity"), entry.getAsJsonObject("entity"));
+                this.start = Math.min(this.start, history.get("s").getAsLong());
+                this.end = Math.max(this.end, historyEnd);
+                this.data.add(history);
+            }
+        }
+
+        private static void merge(JsonObject idMap, JsonObject source) {
+            for (Map.Entry<String, JsonElement> section : source.entrySet()) {
+                JsonObject target = idMap.getAsJsonObject(section.getKey());
+                if (target == null) {
+                    target = new JsonObject();
+                    idMap.add(section.getKey(), target);
+                }
+                mergeSection(target, section.getValue().getAsJsonObject());
+            }
+        }
+
+        private static void mergeSection(JsonObject target, JsonObject source) {
+            for (Map.Entry<String, JsonElement> entry : source.entrySet()) {
+                target.add(entry.getKey(), entry.getValue());
+            }
+        }
+
+        boolean isEmpty() {
+            return this.data.size() == 0;
+        }
+    }
+}
@@ -26,6 +26,8 @@
 
 import net.minecraft.world.World;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Set of timers per world, to track world specific Timings.
  */
@@ -62,7 +64,7 @@ public class WorldTimingsHandler {
     public final Timing syncChunkLoadTileTicksTimer;
     public final Timing syncChunkLoadPostTimer;
 
-    // Tracking
+    // Tracking, these also record the memory allocated by each capture phase
     public final Timing causeTrackerBlockTimer;
     public final Timing causeTrackerBlockBreakTimer;
     public final Timing causeTrackerEntityTimer;
@@ -71,6 +73,29 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
+    // Incremental auto-save, the bytes are written by the chunk save thread
+    public final Timing incrementalSave;
+    public int chunksSavedLastTick;
+    public int maxChunksSavedPerTick;
+    public long chunksSaved;
+    public final LongAdder bytesWritten = new LongAdder();
+
+    // Terrain generation stages, the nanosecond totals also include the chunks
+    // generated ahead of time on the terrain generation thread
+    public final Timing terrainGeneration;
+    public final Timing terrainBiomes;
+    public final Timing terrainBase;
+    public final Timing terrainGroundCover;
+    public final Timing terrainGenerationPopulators;
+    public final Timing terrainAssembly;
+    public final LongAdder terrainBiomesTime = new LongAdder();
+    public final LongAdder terrainBaseTime = new LongAdder();
+    public final LongAdder terrainGroundCoverTime = new LongAdder();
+    public final LongAdder terrainGenerationPopulatorsTime = new LongAdder();
+    public final LongAdder terrainGeneratedAhead = new LongAdder();
+    public long terrainPrefetchHits;
+    public long terrainPrefetchDiscarded;
+
     public WorldTimingsHandler(World world) {
         String name = world.getWorldInfo().getWorldName() + " - ";
 
@@ -105,11 +130,31 @@ public WorldTimingsHandler(World world) {
         this.doTick = SpongeTimingsFactory.ofSafe(name + "doTick");
         this.tickEntities = SpongeTimingsFactory.ofSafe(name + "tickEntities");
 
-        this.causeTrackerBlockTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures");
-        this.causeTrackerBlockBreakTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures");
-        this.causeTrackerEntityTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityCaptures");
-        this.causeTrackerEntityItemTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures");
+        this.causeTrackerBlockTimer = new AllocationTimingHandler(SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures"));
+        this.causeTrackerBlockBreakTimer = new AllocationTimingHandler(SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures"));
+        this.causeTrackerEntityTimer = new AllocationTimingHandler(SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityCaptures"));
+        this.causeTrackerEntityItemTimer = new AllocationTimingHandler(SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures"));
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
+
+        this.incrementalSave = SpongeTimingsFactory.ofSafe(name + "incrementalSave");
+
+        this.terrainGeneration = SpongeTimingsFactory.ofSafe(name + "terrainGeneration");
+        this.terrainBiomes = SpongeTimingsFactory.ofSafe(name + "terrainGeneration - biomes", this.terrainGeneration);
+        this.terrainBase = SpongeTimingsFactory.ofSafe(name + "terrainGeneration - base", this.terrainGeneration);
+        this.terrainGroundCover = SpongeTimingsFactory.ofSafe(name + "terrainGeneration - groundCover", this.terrainGeneration);
+        this.terrainGenerationPopulators = SpongeTimingsFactory.ofSafe(name + "terrainGeneration - generationPopulators", this.terrainGeneration);
+        this.terrainAssembly = SpongeTimingsFactory.ofSafe(name + "terrainGeneration - assembly", this.terrainGeneration);
+    }
+
+    /**
+     * Stops tracking the allocations of the timings of this world. Called
+     * when the world is unloaded.
+     */
+    public void unload() {
+        ((AllocationTimingHandler) this.causeTrackerBlockTimer).remove();
+        ((AllocationTimingHandler) this.causeTrackerBlockBreakTimer).remove();
+        ((AllocationTimingHandler) this.causeTrackerEntityTimer).remove();
+        ((AllocationTimingHandler) this.causeTrackerEntityItemTimer).remove();
     }
 }
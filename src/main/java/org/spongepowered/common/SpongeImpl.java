@@ -129,6 +129,17 @@ public static boolean postEvent(Event event) {
         return getGame().getEventManager().post(event);
     }
 
+    /**
+     * Checks whether any listener could receive an event of the given type.
+     * Used to skip the construction of events nobody listens to.
+     *
+     * @param eventClass The event class
+     * @return Whether there is any listener for the event type
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        return ((SpongeEventManager) getGame().getEventManager()).hasListeners(eventClass);
+    }
+
     public static Logger getLogger() {
         return logger;
     }
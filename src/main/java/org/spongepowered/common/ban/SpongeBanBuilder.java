@@ -38,7 +38,10 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanType;
 import org.spongepowered.api.util.ban.BanTypes;
+import org.spongepowered.common.interfaces.IMixinIPBanEntry;
+import org.spongepowered.common.service.ban.SpongeBanService;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -52,6 +55,7 @@ public class SpongeBanBuilder implements Ban.Builder {
 
     private org.spongepowered.api.profile.GameProfile profile;
     private InetAddress address;
+    @Nullable private IpSet range;
     private BanType banType;
     private Optional<Text> reason;
     private Instant start = Instant.now();
@@ -71,6 +75,24 @@ public Ban.Builder address(InetAddress address) {
         checkNotNull(address, "Address cannot be null!");
         checkState(this.banType == BanTypes.IP, "Cannot set an InetAddress if the BanType is not BanTypes.IP!");
         this.address = address;
+        this.range = null;
+        return this;
+    }
+
+    /**
+     * Sets the range of addresses an {@link BanTypes#IP} ban applies to.
+     *
+     * <p>The range replaces any single address set with
+     * {@link #address(InetAddress)}.</p>
+     *
+     * @param range The range to ban
+     * @return This builder, for chaining
+     */
+    public SpongeBanBuilder range(IpSet range) {
+        checkNotNull(range, "Range cannot be null!");
+        checkState(this.banType == BanTypes.IP, "Cannot set an IP range if the BanType is not BanTypes.IP!");
+        this.address = range.getNetworkAddress();
+        this.range = range;
         return this;
     }
 
@@ -81,6 +103,7 @@ public Ban.Builder type(BanType type) {
             this.profile = null;
         } else {
             this.address = null;
+            this.range = null;
         }
         this.banType = type;
         return this;
@@ -131,6 +154,11 @@ public Ban build() {
         } else {
             checkState(this.address != null, "Address cannot be null!");
 
+            if (this.range != null) {
+                return (Ban) new IPBanEntry(SpongeBanService.toRangeKey(this.range), Date.from(this.start), sourceName,
+                        this.toDate(this.end), this.reason.isPresent() ? SpongeTexts.toLegacy(this.reason.get()) : null);
+            }
+
             // This *should* be a static method, but apparently not...
             BanList ipBans = MinecraftServer.getServer().getConfigurationManager().getBannedIPs();
             return (Ban) new IPBanEntry(ipBans.addressToString(new InetSocketAddress(this.address, 0)), Date.from(this.start), sourceName,
@@ -151,6 +179,7 @@ public Ban.Builder from(Ban ban) {
             this.profile = ((Ban.Profile) ban).getProfile();
         } else {
             this.address = ((Ban.Ip) ban).getAddress();
+            this.range = ban instanceof IMixinIPBanEntry ? ((IMixinIPBanEntry) ban).getRange().orElse(null) : null;
         }
 
         this.reason = ban.getReason();
@@ -164,6 +193,7 @@ public Ban.Builder from(Ban ban) {
     public Ban.Builder reset() {
         this.profile = null;
         this.address = null;
+        this.range = null;
         this.banType = null;
         this.reason = null;
         this.start = Instant.now();
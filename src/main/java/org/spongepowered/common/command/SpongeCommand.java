@@ -27,6 +27,7 @@
 import static org.spongepowered.api.command.args.GenericArguments.dimension;
 import static org.spongepowered.api.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.command.args.GenericArguments.flags;
+import static org.spongepowered.api.command.args.GenericArguments.integer;
 import static org.spongepowered.api.command.args.GenericArguments.literal;
 import static org.spongepowered.api.command.args.GenericArguments.optional;
 import static org.spongepowered.api.command.args.GenericArguments.optionalWeak;
@@ -81,6 +82,7 @@
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @NonnullByDefault
 public class SpongeCommand {
@@ -503,6 +505,19 @@ private static CommandCallable getTimingsCommand() {
                             return CommandResult.success();
                         })
                         .build(), "cost")
+                .child(CommandSpec.builder()
+                        .arguments(optional(integer(Text.of("hours"))), optional(integer(Text.of("ago"))))
+                        .executor((src, args) -> {
+                            if (!SpongeImpl.getGlobalConfig().getConfig().getTimings().isStreamEnabled()) {
+                                src.sendMessage(Text.of("Timings streaming is disabled, only history streamed earlier can be replayed"));
+                            }
+                            long until = System.currentTimeMillis() / 1000 - TimeUnit.HOURS.toSeconds(args.<Integer>getOne("ago").orElse(0));
+                            long since = until - TimeUnit.HOURS.toSeconds(args.<Integer>getOne("hours").orElse(1));
+                            src.sendMessage(Text.of("Replaying streamed timings history..."));
+                            SpongeTimingsFactory.replayReport(src, since, until);
+                            return CommandResult.success();
+                        })
+                        .build(), "replay")
                 .build();
     }
 
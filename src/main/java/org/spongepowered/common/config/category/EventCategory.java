@@ -0,0 +1,55 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.spongepowered.common.event.AsyncEventDispatcher;
+
+@ConfigSerializable
+public class EventCategory extends ConfigCategory {
+
+    @Setting(value = "async-listener-threads", comment = "The amount of worker threads which handle events for listeners registered as asynchronous")
+    private int asyncListenerThreads = 2;
+
+    @Setting(value = "async-listener-queue-capacity", comment = "The maximum amount of events which may be queued for asynchronous listeners")
+    private int asyncListenerQueueCapacity = 4096;
+
+    @Setting(value = "async-listener-saturation-policy", comment = "What to do with an event if the asynchronous listener queue is full. \n"
+            + "DROP_NEWEST discards the new event, DROP_OLDEST discards the oldest queued event and CALLER_RUNS handles the event on the posting thread")
+    private AsyncEventDispatcher.SaturationPolicy asyncListenerSaturationPolicy = AsyncEventDispatcher.SaturationPolicy.DROP_NEWEST;
+
+    public int getAsyncListenerThreads() {
+        return this.asyncListenerThreads;
+    }
+
+    public int getAsyncListenerQueueCapacity() {
+        return this.asyncListenerQueueCapacity;
+    }
+
+    public AsyncEventDispatcher.SaturationPolicy getAsyncListenerSaturationPolicy() {
+        return this.asyncListenerSaturationPolicy;
+    }
+}
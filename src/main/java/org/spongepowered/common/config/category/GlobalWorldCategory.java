@@ -33,7 +33,38 @@ public class GlobalWorldCategory extends WorldCategory {
     @Setting(value = "auto-player-save-interval", comment = "The auto-save tick interval used when saving global player data. Set to 0 to disable. (Default: 900) Note: 20 ticks is equivalent to 1 second.")
     private int autoPlayerSaveInterval = 900;
 
+    @Setting(value = "chunk-stream-threads", comment = "The amount of threads used to decompress chunks when plugins stream all generated chunks of a world. \n"
+            + "Set to 0 to decompress them on the thread reading the stream.")
+    private int chunkStreamThreads = 4;
+
+    @Setting(value = "chunk-stream-prefetch", comment = "The maximum amount of chunks that are read ahead of a chunk stream and kept in memory.")
+    private int chunkStreamPrefetch = 128;
+
+    @Setting(value = "chunk-stream-ordered", comment = "Enable if chunk streams should return chunks in region file order. \n"
+            + "Disabling it returns chunks as soon as they are decompressed, which is faster if the consumer is slow.")
+    private boolean chunkStreamOrdered = true;
+
+    @Setting(value = "chunk-save-queue-size", comment = "The maximum amount of serialized chunks of a world waiting to be written by the chunk save thread. \n"
+            + "When a world reaches it, its incremental auto-save pauses until the next tick.")
+    private int chunkSaveQueueSize = 256;
+
     public int getAutoPlayerSaveInterval() {
         return this.autoPlayerSaveInterval;
     }
+
+    public int getChunkStreamThreads() {
+        return this.chunkStreamThreads;
+    }
+
+    public int getChunkStreamPrefetch() {
+        return this.chunkStreamPrefetch;
+    }
+
+    public boolean isChunkStreamOrdered() {
+        return this.chunkStreamOrdered;
+    }
+
+    public int getChunkSaveQueueSize() {
+        return this.chunkSaveQueueSize;
+    }
 }
\ No newline at end of file
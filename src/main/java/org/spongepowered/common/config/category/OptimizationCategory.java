@@ -36,9 +36,14 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "ignore-unloaded-chunks-on-get-light", comment = "This prevents chunks being loaded for getting light values at specific block positions. May have side effects.")
     private boolean ignoreUnloadedChunkLighting = true;
 
-    @Setting(value = "chunk-map-caching", comment = "Caches chunks internally for faster returns when querying at various positions")
+    @Setting(value = "chunk-map-caching", comment = "Replaces the chunk map with an open-addressing map and caches recently used chunks for faster returns when querying at various positions")
     private boolean useCachedChunkMap = true;
 
+    @Setting(value = "async-terrain-generation", comment = "Generates the terrain of chunks in front of moving players on a separate thread while the server is idle \n"
+            + "between ticks. Population and adding the chunk to the world still happen on the main thread. Custom generators are \n"
+            + "called from the terrain generation thread when this is enabled.")
+    private boolean asyncTerrainGeneration = false;
+
     public boolean useBlockStateLookupPatch() {
         return this.blockStateLookup;
     }
@@ -50,4 +55,8 @@ public boolean useIgnoreUloadedChunkLightingPatch() {
     public boolean isUseCachedChunkMap() {
         return this.useCachedChunkMap;
     }
+
+    public boolean useAsyncTerrainGeneration() {
+        return this.asyncTerrainGeneration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-threads", comment = "The maximum amount of threads which run asynchronous tasks")
+    private int asyncThreads = 64;
+
+    @Setting(value = "async-plugin-concurrency", comment = "The maximum amount of asynchronous tasks of a single plugin which may run at the same time. \n"
+            + "Further tasks of the plugin wait until one of its running tasks finished. \n"
+            + "Tasks which never finish, like loops waiting for work, permanently take up one of these slots")
+    private int asyncPluginConcurrency = 32;
+
+    @Setting(value = "async-plugin-queue-capacity", comment = "The maximum amount of asynchronous tasks of a single plugin which may wait to be run")
+    private int asyncPluginQueueCapacity = 10000;
+
+    @Setting(value = "async-saturation-policy", comment = "What to do with a task if the queue of its plugin is full. \n"
+            + "DROP_NEWEST discards the new task, DROP_OLDEST discards the oldest waiting task of the plugin and "
+            + "OVERFLOW runs the task on a single overflow thread shared by all plugins, up to the concurrency limit of the plugin and "
+            + "the queue capacity of a plugin in total, further tasks are discarded")
+    private AsyncTaskExecutor.SaturationPolicy asyncSaturationPolicy = AsyncTaskExecutor.SaturationPolicy.DROP_NEWEST;
+
+    public int getAsyncThreads() {
+        return this.asyncThreads;
+    }
+
+    public int getAsyncPluginConcurrency() {
+        return this.asyncPluginConcurrency;
+    }
+
+    public int getAsyncPluginQueueCapacity() {
+        return this.asyncPluginQueueCapacity;
+    }
+
+    public AsyncTaskExecutor.SaturationPolicy getAsyncSaturationPolicy() {
+        return this.asyncSaturationPolicy;
+    }
+}
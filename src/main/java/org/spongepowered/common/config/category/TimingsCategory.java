@@ -51,6 +51,19 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "stream-enabled", comment = "If enabled, every timings history frame is appended to a local file as it is recorded.\n"
+            + "The files can be replayed into a report with '/sponge timings replay'.")
+    private boolean streamEnabled = false;
+
+    @Setting(value = "stream-directory", comment = "The directory, relative to the game directory, that timings history is streamed to.")
+    private String streamDirectory = "logs/timings";
+
+    @Setting(value = "stream-max-file-size", comment = "The size in kilobytes at which the current timings stream file is rotated.")
+    private int streamMaxFileSize = 8192;
+
+    @Setting(value = "stream-max-files", comment = "The number of rotated timings stream files to keep.")
+    private int streamMaxFiles = 64;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -83,4 +96,24 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public boolean isStreamEnabled() {
+        return this.streamEnabled;
+    }
+
+    public void setStreamEnabled(boolean streamEnabled) {
+        this.streamEnabled = streamEnabled;
+    }
+
+    public String getStreamDirectory() {
+        return this.streamDirectory;
+    }
+
+    public int getStreamMaxFileSize() {
+        return this.streamMaxFileSize;
+    }
+
+    public int getStreamMaxFiles() {
+        return this.streamMaxFiles;
+    }
+
 }
\ No newline at end of file
@@ -36,6 +36,13 @@ public class WorldCategory extends ConfigCategory {
     @Setting(value = "auto-save-interval", comment = "The auto-save tick interval used to save all loaded chunks in a world. \nSet to 0 to disable. (Default: 900) \nNote: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "incremental-auto-save", comment = "Enable to spread auto-saves over multiple ticks instead of saving all loaded chunks at once. \n"
+            + "Chunks are serialized within 'auto-save-tick-budget' each tick and written to disk by a separate thread.")
+    private boolean incrementalAutoSave = true;
+
+    @Setting(value = "auto-save-tick-budget", comment = "The time in milliseconds an incremental auto-save may spend serializing chunks each tick. (Default: 5)")
+    private int autoSaveTickBudget = 5;
+
     @Setting(value = "infinite-water-source", comment = "Vanilla water source behavior - is infinite")
     private boolean infiniteWaterSource = false;
 
@@ -94,6 +101,14 @@ public class WorldCategory extends ConfigCategory {
                                                     + "\nareas for more items. Setting to a negative value is not supported!")
     private double itemMergeRadius = 2.5D;
 
+    @Setting(value = "player-move-distance-threshold", comment = "The distance in blocks a player must move before a move event is fired."
+                                                                 + "\nSmaller movements accumulate until they cross it. (Default: 0.0625)")
+    private double playerMoveDistanceThreshold = 1.0D / 16;
+
+    @Setting(value = "player-move-rotation-threshold", comment = "The change in rotation in degrees a player must make before a move event "
+                                                                 + "\nis fired. (Default: 0.15)")
+    private double playerMoveRotationThreshold = 0.15D;
+
     public WorldCategory() {
         this.portalAgents.put("minecraft:default_nether", "DIM-1");
         this.portalAgents.put("minecraft:default_the_end", "DIM1");
@@ -103,6 +118,14 @@ public int getAutoSaveInterval() {
         return this.autoSaveInterval;
     }
 
+    public boolean isIncrementalAutoSave() {
+        return this.incrementalAutoSave;
+    }
+
+    public int getAutoSaveTickBudget() {
+        return this.autoSaveTickBudget;
+    }
+
     public boolean hasInfiniteWaterSource() {
         return this.infiniteWaterSource;
     }
@@ -190,4 +213,12 @@ public int getMaxChunkUnloads() {
     public double getItemMergeRadius() {
         return itemMergeRadius;
     }
+
+    public double getPlayerMoveDistanceThreshold() {
+        return this.playerMoveDistanceThreshold;
+    }
+
+    public double getPlayerMoveRotationThreshold() {
+        return this.playerMoveRotationThreshold;
+    }
 }
\ No newline at end of file
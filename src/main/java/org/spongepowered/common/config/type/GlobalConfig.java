@@ -32,11 +32,14 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
+import org.spongepowered.common.config.category.EventCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
+import org.spongepowered.common.util.InetAddressTrie;
 import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
@@ -60,6 +63,10 @@ public class GlobalConfig extends ConfigBase {
     @Setting("ip-sets")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+    // Not mapped, rebuilt whenever the ip-sets map is replaced by a reload
+    private Map<String, List<IpSet>> ipSetTrieSource;
+    private InetAddressTrie<String> ipSetTrie;
+
     @Setting(value = "bungeecord")
     private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
@@ -69,6 +76,12 @@ public class GlobalConfig extends ConfigBase {
     @Setting(value = "optimizations")
     private OptimizationCategory optimizations = new OptimizationCategory();
 
+    @Setting(value = "events")
+    private EventCategory events = new EventCategory();
+
+    @Setting(value = "scheduler")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
     @Setting
     protected GlobalWorldCategory world = new GlobalWorldCategory();
 
@@ -111,6 +124,29 @@ public OptimizationCategory getOptimizations() {
         return this.optimizations;
     }
 
+    public EventCategory getEvents() {
+        return this.events;
+    }
+
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Gets a trie of the names of the ip sets containing an address.
+     *
+     * <p>The returned trie must not be modified.</p>
+     *
+     * @return The ip set trie
+     */
+    public synchronized InetAddressTrie<String> getIpSetTrie() {
+        if (this.ipSetTrie == null || this.ipSetTrieSource != this.ipSets) {
+            this.ipSetTrie = IpSet.toTrie(this.ipSets);
+            this.ipSetTrieSource = this.ipSets;
+        }
+        return this.ipSetTrie;
+    }
+
     public Predicate<InetAddress> getIpSet(String name) {
         return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
     }
@@ -28,7 +28,7 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.RemovalListener;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,26 +37,121 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class ImmutableDataCachingUtil {
 
     private ImmutableDataCachingUtil() {}
 
     public static final int CACHE_LIMIT_FOR_INDIVIDUAL_TYPE = 100;
-    public static final int MANIPULATOR_CACHE_LIMIT = 100000;
-    public static final int VALUE_CACHE_LIMIT = 100000;
+    public static final int MANIPULATOR_CACHE_LIMIT_PER_TYPE = 1000;
+    public static final int VALUE_CACHE_LIMIT_PER_KEY = 1000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
+    public static final CacheStats manipulatorStats = new CacheStats();
+    public static final CacheStats valueStats = new CacheStats();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    // Each manipulator class and each key of a value class gets its own
+    // cache, so a busy type can't evict the instances of every other type
+    // and the cache keys only have to tell arguments apart
+
+    private static final ClassValue<Cache<Object, ImmutableDataManipulator<?, ?>>> manipulatorCaches =
+            new ClassValue<Cache<Object, ImmutableDataManipulator<?, ?>>>() {
+                @Override
+                protected Cache<Object, ImmutableDataManipulator<?, ?>> computeValue(Class<?> type) {
+                    return manipulatorStats.register(MANIPULATOR_CACHE_LIMIT_PER_TYPE);
+                }
+            };
+
+    private static final ClassValue<ConcurrentMap<Key<?>, Cache<Object, ImmutableValue<?>>>> valueCaches =
+            new ClassValue<ConcurrentMap<Key<?>, Cache<Object, ImmutableValue<?>>>>() {
+                @Override
+                protected ConcurrentMap<Key<?>, Cache<Object, ImmutableValue<?>>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Hit, miss and eviction counts of all the caches of one kind.
+     */
+    public static final class CacheStats {
+
+        private final Collection<Cache<?, ?>> caches = new CopyOnWriteArrayList<>();
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        CacheStats() {
+        }
+
+        <V> Cache<Object, V> register(int limit) {
+            Cache<Object, V> cache = CacheBuilder.newBuilder()
+                    .maximumSize(limit)
+                    .removalListener((RemovalListener<Object, V>) notification -> {
+                        if (notification.wasEvicted()) {
+                            this.evictions.increment();
+                        }
+                    })
+                    .build();
+            this.caches.add(cache);
+            return cache;
+        }
+
+        public long getHits() {
+            return this.hits.sum();
+        }
+
+        public long getMisses() {
+            return this.misses.sum();
+        }
+
+        public long getEvictions() {
+            return this.evictions.sum();
+        }
+
+        public int getCaches() {
+            return this.caches.size();
+        }
+
+        public long getSize() {
+            long size = 0;
+            for (Cache<?, ?> cache : this.caches) {
+                size += cache.size();
+            }
+            return size;
+        }
+
+    }
+
+    /**
+     * The cache key of manipulators constructed with more than one argument.
+     * The hash is computed once, since it is needed for every lookup.
+     */
+    private static final class ArgumentsKey {
+
+        private final Object[] args;
+        private final int hash;
+
+        ArgumentsKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || obj instanceof ArgumentsKey && this.hash == ((ArgumentsKey) obj).hash
+                    && Arrays.deepEquals(this.args, ((ArgumentsKey) obj).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
 
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
@@ -75,56 +170,67 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
+        final Object key = getKey(args);
+        final Cache<Object, ImmutableDataManipulator<?, ?>> cache = manipulatorCaches.get(immutableClass);
+        ImmutableDataManipulator<?, ?> manipulator = cache.getIfPresent(key);
+        if (manipulator != null) {
+            manipulatorStats.hits.increment();
+            return (T) manipulator;
+        }
+        manipulatorStats.misses.increment();
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            manipulator = createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         } catch (Throwable e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
+        // Concurrent misses may both construct an instance, the first one
+        // cached wins
+        ImmutableDataManipulator<?, ?> existing = cache.asMap().putIfAbsent(key, manipulator);
+        return (T) (existing != null ? existing : manipulator);
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final Cache<Object, ImmutableValue<?>> cache = getValueCache(valueClass, usedKey);
+        ImmutableValue<?> value = cache.getIfPresent(arg);
+        if (value != null) {
+            valueStats.hits.increment();
+            return (T) value;
+        }
+        valueStats.misses.increment();
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            if (extraArgs == null || extraArgs.length == 0) {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            } else {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+            }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
+        ImmutableValue<?> existing = cache.asMap().putIfAbsent(arg, value);
+        return (T) (existing != null ? existing : value);
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
-            }
+    private static Cache<Object, ImmutableValue<?>> getValueCache(Class<?> valueClass, Key<?> usedKey) {
+        final ConcurrentMap<Key<?>, Cache<Object, ImmutableValue<?>>> caches = valueCaches.get(valueClass);
+        Cache<Object, ImmutableValue<?>> cache = caches.get(usedKey);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(usedKey, key -> valueStats.register(VALUE_CACHE_LIMIT_PER_KEY));
+        }
+        return cache;
+    }
+
+    private static Object getKey(final Object... args) {
+        // Most manipulators take a single argument, which is key enough
+        if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+            return args[0];
         }
-        return builder.toString();
+        return new ArgumentsKey(args);
     }
 }
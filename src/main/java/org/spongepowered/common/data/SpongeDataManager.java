@@ -239,7 +239,7 @@ public static void finalizeRegistration() {
             ImmutableList.Builder<DataProcessor<?, ?>> dataListBuilder = ImmutableList.builder();
             Collections.sort(entry.getValue(), ComparatorUtil.DATA_PROCESSOR_COMPARATOR);
             dataListBuilder.addAll(entry.getValue());
-            final DataProcessorDelegate<?, ?> delegate = new DataProcessorDelegate(dataListBuilder.build());
+            final DataProcessorDelegate<?, ?> delegate = new DataProcessorDelegate(entry.getKey(), dataListBuilder.build());
             registry.dataProcessorDelegates.put(entry.getKey(), delegate);
         });
         registry.processorMap.clear();
@@ -265,7 +265,7 @@ public static void finalizeRegistration() {
             ImmutableList.Builder<DataProcessor<?, ?>> dataListBuilder = ImmutableList.builder();
             Collections.sort(entry.getValue(), ComparatorUtil.DATA_PROCESSOR_COMPARATOR);
             dataListBuilder.addAll(entry.getValue());
-            final DataProcessorDelegate<?, ?> delegate = new DataProcessorDelegate(dataListBuilder.build());
+            final DataProcessorDelegate<?, ?> delegate = new DataProcessorDelegate(entry.getKey(), dataListBuilder.build());
             registry.immutableDataProcessorDelegates.put(entry.getKey(), delegate);
         });
         registry.immutableProcessorMap.clear();
@@ -22,30 +22,21 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.optimization.world;
+package org.spongepowered.common.data;
 
-import net.minecraft.world.ChunkCoordIntPair;
-import net.minecraft.world.chunk.Chunk;
-import org.spongepowered.asm.mixin.Final;
-import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.common.interfaces.IMixinCachable;
-
-@Mixin(Chunk.class)
-public class MixinChunk_Chunk_Cache implements IMixinCachable {
-
-    @Shadow @Final public int xPosition;
-    @Shadow @Final public int zPosition;
-
-    private long cacheKey = ChunkCoordIntPair.chunkXZ2Int(this.xPosition, this.zPosition);
+/**
+ * A {@link DataProcessor} or {@link ValueProcessor} that only supports
+ * holders of a single class. Holders that aren't an instance of the
+ * {@link #getTargetClass() target class} are never supported, which lets the
+ * processor delegates skip the processor for them entirely.
+ */
+public interface TargetedProcessor {
 
-    @Override
-    public long getCacheKey() {
-        return this.cacheKey;
-    }
+    /**
+     * Gets the class every supported holder is an instance of.
+     *
+     * @return The target class
+     */
+    Class<?> getTargetClass();
 
-    @Override
-    public void setCacheKey(long key) {
-        this.cacheKey = key;
-    }
 }
@@ -58,14 +58,13 @@ public DataContainer readFrom(InputStream input) throws InvalidDataFormatExcepti
 
     @Override
     public void writeTo(OutputStream output, DataView data) throws IOException {
-        NBTTagCompound tag = NbtTranslator.getInstance().translateData(data);
         DataOutputStream dos;
         if (output instanceof DataOutputStream) {
             dos = (DataOutputStream) output;
         } else {
             dos = new DataOutputStream(output);
         }
-        CompressedStreamTools.write(tag, dos);
+        NbtTranslator.getInstance().write(data, dos);
     }
 
 }
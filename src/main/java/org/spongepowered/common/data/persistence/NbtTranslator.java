@@ -30,6 +30,7 @@
 import static org.spongepowered.api.data.DataQuery.of;
 
 import com.google.common.collect.Lists;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagByte;
 import net.minecraft.nbt.NBTTagByteArray;
@@ -42,7 +43,6 @@
 import net.minecraft.nbt.NBTTagLong;
 import net.minecraft.nbt.NBTTagShort;
 import net.minecraft.nbt.NBTTagString;
-import org.apache.commons.lang3.ArrayUtils;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataSerializable;
@@ -51,6 +51,8 @@
 import org.spongepowered.api.data.translator.DataTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -83,7 +85,7 @@ private static void containerToCompound(final DataView container, final NBTTagCo
             String key = entry.getKey().asString('.');
             if (value instanceof DataView) {
                 NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else if (value instanceof Boolean) {
                 compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
@@ -113,9 +115,9 @@ private static NBTBase getBaseFromObject(Object value) {
         } else if (value instanceof String) {
             return new NBTTagString((String) value);
         } else if (value.getClass().isArray()) {
+            // Primitive arrays are shared, like the translation from NBT does
             if (value instanceof byte[]) {
-                byte[] array = ArrayUtils.clone((byte[]) value);
-                return new NBTTagByteArray(array);
+                return new NBTTagByteArray((byte[]) value);
             } else if (value instanceof Byte[]) {
                 byte[] array = new byte[((Byte[]) value).length];
                 int counter = 0;
@@ -124,8 +126,7 @@ private static NBTBase getBaseFromObject(Object value) {
                 }
                 return new NBTTagByteArray(array);
             } else if (value instanceof int[]) {
-                int[] array = ArrayUtils.clone((int[]) value);
-                return new NBTTagIntArray(array);
+                return new NBTTagIntArray((int[]) value);
             } else if (value instanceof Integer[]) {
                 int[] array = new int[((Integer[]) value).length];
                 int counter = 0;
@@ -166,6 +167,139 @@ private static NBTBase getBaseFromObject(Object value) {
         throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
     }
 
+    /**
+     * Writes the view as a named root compound to the output, in the same
+     * format {@link CompressedStreamTools#write(NBTTagCompound, DataOutput)}
+     * uses for the {@link #translateData(DataView) translated} compound,
+     * without creating the compound.
+     *
+     * @param container The view to write
+     * @param output The output to write to
+     * @throws IOException If the output could not be written
+     */
+    public void write(DataView container, DataOutput output) throws IOException {
+        checkNotNull(container);
+        checkNotNull(output);
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(container, output);
+    }
+
+    private static void writeView(DataView container, DataOutput output) throws IOException {
+        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
+            final Object value = entry.getValue();
+            final String key = entry.getKey().asString('.');
+            writeNamed(value instanceof Boolean ? key + BOOLEAN_IDENTIFER : key, value, output);
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeNamed(String key, Object value, DataOutput output) throws IOException {
+        output.writeByte(getTagType(value));
+        output.writeUTF(key);
+        writePayload(value, output);
+    }
+
+    private static byte getTagType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(Object value, DataOutput output) throws IOException {
+        if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            output.writeUTF((String) value);
+        } else if (value instanceof byte[]) {
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof Byte[]) {
+            output.writeInt(((Byte[]) value).length);
+            for (Byte data : (Byte[]) value) {
+                output.writeByte(data);
+            }
+        } else if (value instanceof int[]) {
+            output.writeInt(((int[]) value).length);
+            for (int data : (int[]) value) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof Integer[]) {
+            output.writeInt(((Integer[]) value).length);
+            for (Integer data : (Integer[]) value) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            // Like NBTTagList#appendTag, elements of another type than the first are dropped
+            final byte elementType = list.isEmpty() ? NbtDataUtil.TAG_END : getTagType(list.get(0));
+            int count = 0;
+            for (Object element : list) {
+                if (getTagType(element) == elementType) {
+                    count++;
+                }
+            }
+            output.writeByte(elementType);
+            output.writeInt(count);
+            for (Object element : list) {
+                if (getTagType(element) == elementType) {
+                    writePayload(element, output);
+                }
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                if (entry.getKey() instanceof DataQuery) {
+                    final String key = ((DataQuery) entry.getKey()).asString('.');
+                    writeNamed(entry.getValue() instanceof Boolean ? key + BOOLEAN_IDENTIFER : key, entry.getValue(), output);
+                } else {
+                    writeNamed(entry.getKey().toString(), entry.getValue(), output);
+                }
+            }
+            output.writeByte(NbtDataUtil.TAG_END);
+        } else if (value instanceof DataSerializable) {
+            writeView(((DataSerializable) value).toContainer(), output);
+        } else if (value instanceof DataView) {
+            writeView((DataView) value, output);
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static DataContainer getViewFromCompound(NBTTagCompound compound) {
         checkNotNull(compound);
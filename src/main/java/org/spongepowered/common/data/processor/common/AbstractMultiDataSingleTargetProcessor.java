@@ -35,13 +35,15 @@
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.TargetedProcessor;
 
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-public abstract class AbstractMultiDataSingleTargetProcessor<Holder, T extends DataManipulator<T, I>, I extends ImmutableDataManipulator<I, T>> extends AbstractMultiDataProcessor<T, I> {
+public abstract class AbstractMultiDataSingleTargetProcessor<Holder, T extends DataManipulator<T, I>, I extends ImmutableDataManipulator<I, T>> extends AbstractMultiDataProcessor<T, I>
+        implements TargetedProcessor {
 
     protected final Class<Holder> holderClass;
 
@@ -49,6 +51,11 @@ public AbstractMultiDataSingleTargetProcessor(Class<Holder> holderClass) {
         this.holderClass = checkNotNull(holderClass);
     }
 
+    @Override
+    public final Class<?> getTargetClass() {
+        return this.holderClass;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean supports(DataHolder dataHolder) {
@@ -38,13 +38,14 @@
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.TargetedProcessor;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.data.util.DataUtil;
 
 import java.util.Optional;
 
 public abstract class AbstractSingleDataSingleTargetProcessor<Holder, T, V extends BaseValue<T>, M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>>
-        extends AbstractSingleDataProcessor<T, V, M, I> implements ValueProcessor<T, V> {
+        extends AbstractSingleDataProcessor<T, V, M, I> implements ValueProcessor<T, V>, TargetedProcessor {
 
     protected final Class<Holder> holderClass;
 
@@ -53,6 +54,11 @@ protected AbstractSingleDataSingleTargetProcessor(Key<V> key, Class<Holder> hold
         this.holderClass = checkNotNull(holderClass);
     }
 
+    @Override
+    public final Class<?> getTargetClass() {
+        return this.holderClass;
+    }
+
     protected boolean supports(Holder dataHolder) {
         return true;
     }
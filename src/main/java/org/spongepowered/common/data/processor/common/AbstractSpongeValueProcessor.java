@@ -33,11 +33,12 @@
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.TargetedProcessor;
 import org.spongepowered.common.data.ValueProcessor;
 
 import java.util.Optional;
 
-public abstract class AbstractSpongeValueProcessor<C, E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
+public abstract class AbstractSpongeValueProcessor<C, E, V extends BaseValue<E>> implements ValueProcessor<E, V>, TargetedProcessor {
 
     private final Class<C> containerClass;
     protected final Key<V> key;
@@ -62,6 +63,11 @@ protected AbstractSpongeValueProcessor(Class<C> containerClass, Key<V> key) {
 
     protected abstract ImmutableValue<E> constructImmutableValue(E value);
 
+    @Override
+    public final Class<?> getTargetClass() {
+        return this.containerClass;
+    }
+
     protected boolean supports(C container) {
         return true;
     }
@@ -37,7 +37,6 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
-import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.DataProcessor;
 
@@ -45,14 +44,28 @@
 
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
-    private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ImmutableList<DataProcessor<M, I>> processors;
+    private final ProcessorResolver<DataProcessor<M, I>> resolver;
+    private final Timing timing;
 
-    public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
-        ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
-        for (DataProcessor<M, I> processor : processors) {
-            builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
+    public DataProcessorDelegate(Class<?> manipulatorClass, ImmutableList<DataProcessor<M, I>> processors) {
+        this.processors = processors;
+        this.resolver = new ProcessorResolver<>(processors);
+        this.timing = SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), "DataProcessor - " + manipulatorClass.getName());
+    }
+
+    private boolean startTiming() {
+        final MinecraftServer server = MinecraftServer.getServer();
+        if (server != null && server.isCallingFromMinecraftThread()) {
+            this.timing.startTiming();
+            return true;
         }
-        this.processors = builder.build();
+        return false;
+    }
+
+    private static <M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> boolean supports(
+            ProcessorResolver.Resolution<DataProcessor<M, I>> resolution, int index, DataHolder dataHolder) {
+        return resolution.isSupportKnown(index) || resolution.get(index).supports(dataHolder);
     }
 
     @Override
@@ -62,21 +75,20 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    tuple.getSecond().stopTiming();
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    return true;
                 }
-                return true;
             }
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return false;
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
         }
-        return false;
     }
 
     @Override
@@ -86,151 +98,143 @@ public boolean supports(EntityType entityType) {
 
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().from(dataHolder);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    tuple.getSecond().stopTiming();
-                }
-                if (optional.isPresent()) {
-                    return optional;
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    final Optional<M> optional = resolution.get(i).from(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return Optional.empty();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
-
         }
-        return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    tuple.getSecond().stopTiming();
-                }
-                if (optional.isPresent()) {
-                    return optional;
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    final Optional<M> optional = resolution.get(i).fill(dataHolder, manipulator, overlap);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return Optional.empty();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
-
         }
-        return Optional.empty();
     }
 
     @Override
     public Optional<M> fill(DataContainer container, M m) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            final Optional<M> optional = tuple.getFirst().fill(container, m);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+        final boolean timed = startTiming();
+        try {
+            for (DataProcessor<M, I> processor : this.processors) {
+                final Optional<M> optional = processor.fill(container, m);
+                if (optional.isPresent()) {
+                    return optional;
+                }
             }
-            if (optional.isPresent()) {
-                return optional;
+            return Optional.empty();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
         }
-        return Optional.empty();
     }
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                        tuple.getSecond().stopTiming();
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    final DataTransactionResult result = resolution.get(i).set(dataHolder, manipulator, function);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
                     }
-                    return result;
                 }
             }
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return DataTransactionResult.failResult(manipulator.asImmutable().getValues());
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
         }
-        return DataTransactionResult.failResult(manipulator.asImmutable().getValues());
     }
 
     @Override
     public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutable) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
+        final boolean timed = startTiming();
+        try {
+            for (DataProcessor<M, I> processor : this.processors) {
+                final Optional<I> optional = processor.with(key, value, immutable);
+                if (optional.isPresent()) {
+                    return optional;
+                }
             }
-            final Optional<I> optional = tuple.getFirst().with(key, value, immutable);
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
-            }
-            if (optional.isPresent()) {
-                return optional;
-
+            return Optional.empty();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
         }
-        return Optional.empty();
     }
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    tuple.getSecond().stopTiming();
-                }
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    return result;
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    final DataTransactionResult result = resolution.get(i).remove(dataHolder);
+                    if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                        return result;
+                    }
                 }
             }
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return DataTransactionResult.failNoData();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
-
         }
-        return DataTransactionResult.failNoData();
     }
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().startTiming();
-            }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
-                if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                    tuple.getSecond().stopTiming();
-                }
-                if (optional.isPresent()) {
-                    return optional;
+        final boolean timed = startTiming();
+        try {
+            final ProcessorResolver.Resolution<DataProcessor<M, I>> resolution = this.resolver.resolve(dataHolder);
+            for (int i = 0; i < resolution.size(); i++) {
+                if (supports(resolution, i, dataHolder)) {
+                    final Optional<M> optional = resolution.get(i).createFrom(dataHolder);
+                    if (optional.isPresent()) {
+                        return optional;
+                    }
                 }
             }
-            if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
-                tuple.getSecond().stopTiming();
+            return Optional.empty();
+        } finally {
+            if (timed) {
+                this.timing.stopTiming();
             }
         }
-        return Optional.empty();
     }
 
 }
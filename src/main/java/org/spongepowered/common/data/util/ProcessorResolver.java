@@ -0,0 +1,161 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.common.data.TargetedProcessor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Memoizes which of the processors of a delegate can handle holders of a
+ * given class.
+ *
+ * <p>A {@link TargetedProcessor} is left out for every holder class that
+ * isn't a subclass of its target. If it also doesn't override any of the
+ * {@code supports} methods of its base class, it supports every holder of
+ * the target class and its {@code supports} check can be skipped as well.
+ * All other processors are kept and still checked for every holder.</p>
+ *
+ * @param <P> The type of processor
+ */
+public final class ProcessorResolver<P> {
+
+    private final ImmutableList<P> processors;
+    private final Class<?>[] targets;
+    private final boolean[] staticSupport;
+    private final ConcurrentMap<Class<?>, Resolution<P>> resolutions = new ConcurrentHashMap<>();
+
+    public ProcessorResolver(ImmutableList<P> processors) {
+        this.processors = processors;
+        this.targets = new Class<?>[processors.size()];
+        this.staticSupport = new boolean[processors.size()];
+        for (int i = 0; i < processors.size(); i++) {
+            P processor = processors.get(i);
+            if (processor instanceof TargetedProcessor) {
+                this.targets[i] = ((TargetedProcessor) processor).getTargetClass();
+                this.staticSupport[i] = hasStaticSupport(processor);
+            }
+        }
+    }
+
+    /**
+     * Gets the processors that may support the holder, in priority order.
+     *
+     * @param holder The holder
+     * @return The processors
+     */
+    public Resolution<P> resolve(Object holder) {
+        final Class<?> holderClass = holder.getClass();
+        Resolution<P> resolution = this.resolutions.get(holderClass);
+        if (resolution == null) {
+            resolution = this.resolutions.computeIfAbsent(holderClass, this::computeResolution);
+        }
+        return resolution;
+    }
+
+    private Resolution<P> computeResolution(Class<?> holderClass) {
+        List<P> candidates = new ArrayList<>();
+        List<Boolean> supported = new ArrayList<>();
+        for (int i = 0; i < this.processors.size(); i++) {
+            @Nullable Class<?> target = this.targets[i];
+            if (target == null) {
+                candidates.add(this.processors.get(i));
+                supported.add(false);
+            } else if (target.isAssignableFrom(holderClass)) {
+                candidates.add(this.processors.get(i));
+                supported.add(this.staticSupport[i]);
+            }
+        }
+        boolean[] supportKnown = new boolean[supported.size()];
+        for (int i = 0; i < supportKnown.length; i++) {
+            supportKnown[i] = supported.get(i);
+        }
+        return new Resolution<>(candidates.toArray(), supportKnown);
+    }
+
+    /**
+     * Gets whether the support of the processor only depends on its target
+     * class, which is the case if no class below the one declaring
+     * {@link TargetedProcessor#getTargetClass()} declares a {@code supports}
+     * method.
+     */
+    private static boolean hasStaticSupport(Object processor) {
+        final Class<?> base;
+        try {
+            base = processor.getClass().getMethod("getTargetClass").getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        for (Class<?> type = processor.getClass(); type != null && type != base; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.getName().equals("supports") && method.getParameterCount() == 1 && method.getParameterTypes()[0] != EntityType.class) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static final class Resolution<P> {
+
+        private final Object[] processors;
+        private final boolean[] supportKnown;
+
+        Resolution(Object[] processors, boolean[] supportKnown) {
+            this.processors = processors;
+            this.supportKnown = supportKnown;
+        }
+
+        public int size() {
+            return this.processors.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public P get(int index) {
+            return (P) this.processors[index];
+        }
+
+        /**
+         * Gets whether the processor at the index is known to support the
+         * holder, so its {@code supports} method doesn't need to be called.
+         *
+         * @param index The index
+         * @return Whether support is known
+         */
+        public boolean isSupportKnown(int index) {
+            return this.supportKnown[index];
+        }
+
+    }
+
+}
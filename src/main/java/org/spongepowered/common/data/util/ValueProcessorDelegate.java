@@ -45,11 +45,16 @@
 public final class ValueProcessorDelegate<E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
 
     private final Key<V> key;
-    private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final ProcessorResolver<ValueProcessor<E, V>> resolver;
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
-        this.processors = processors;
+        this.resolver = new ProcessorResolver<>(processors);
+    }
+
+    private static <E, V extends BaseValue<E>> boolean supports(ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution, int index,
+            ValueContainer<?> container) {
+        return resolution.isSupportKnown(index) || resolution.get(index).supports(container);
     }
 
     @Override
@@ -64,9 +69,10 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
-                final Optional<E> optional = processor.getValueFromContainer(container);
+        final ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution = this.resolver.resolve(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
+                final Optional<E> optional = resolution.get(i).getValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
                 }
@@ -77,9 +83,10 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
-                final Optional<V> optional = processor.getApiValueFromContainer(container);
+        final ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution = this.resolver.resolve(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
+                final Optional<V> optional = resolution.get(i).getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
                 }
@@ -90,8 +97,9 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution = this.resolver.resolve(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
                 return true;
             }
         }
@@ -101,17 +109,18 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
-                final DataTransactionResult result = processor.offerToStore(container, value);
+        final ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution = this.resolver.resolve(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
+                final DataTransactionResult result = resolution.get(i).offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
-                final Optional<V> optional = processor.getApiValueFromContainer(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
+                final Optional<V> optional = resolution.get(i).getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     V mutable = optional.get();
                     ((Value<E>) mutable).set(value);
@@ -124,9 +133,10 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
-                final DataTransactionResult result = processor.removeFrom(container);
+        final ProcessorResolver.Resolution<ValueProcessor<E, V>> resolution = this.resolver.resolve(container);
+        for (int i = 0; i < resolution.size(); i++) {
+            if (supports(resolution, i, container)) {
+                final DataTransactionResult result = resolution.get(i).removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
                 }
@@ -0,0 +1,308 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+/**
+ * Stores the owner and notifier of the tracked block positions in a chunk.
+ *
+ * <p>Positions are packed into an int key relative to the chunk, and the
+ * owner and notifier indices of {@link net.minecraft.world.storage.WorldInfo}
+ * are packed into a single long value. Entries live in parallel primitive
+ * arrays with linear probing, so no objects are allocated per position.</p>
+ */
+public final class PlayerTrackerMap {
+
+    /**
+     * The index used when a position has no owner or notifier.
+     */
+    public static final int NONE = -1;
+
+    private static final long MISSING = pack(NONE, NONE);
+    private static final int FREE = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    // The free key marks empty slots, so its entry is stored separately
+    private boolean hasFreeKey;
+    private long freeValue = MISSING;
+
+    public PlayerTrackerMap() {
+    }
+
+    /**
+     * Packs a position relative to its chunk into a key.
+     *
+     * @param x The x coordinate, only the lowest 4 bits are used
+     * @param y The y coordinate, only the lowest 24 bits are used
+     * @param z The z coordinate, only the lowest 4 bits are used
+     * @return The key
+     */
+    public static int key(int x, int y, int z) {
+        return (y & 0xFFFFFF) << 8 | (z & 0xF) << 4 | x & 0xF;
+    }
+
+    public static int keyX(int key) {
+        return key & 0xF;
+    }
+
+    public static int keyY(int key) {
+        return key >>> 8;
+    }
+
+    public static int keyZ(int key) {
+        return key >>> 4 & 0xF;
+    }
+
+    private static long pack(int owner, int notifier) {
+        return (long) owner << 32 | notifier & 0xFFFFFFFFL;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int key) {
+        if (key == FREE) {
+            return this.hasFreeKey;
+        }
+        return this.keys != null && find(key) >= 0;
+    }
+
+    /**
+     * Gets the owner index of the given position.
+     *
+     * @param key The position key
+     * @return The owner index, or {@link #NONE}
+     */
+    public int getOwner(int key) {
+        return (int) (get(key) >> 32);
+    }
+
+    /**
+     * Gets the notifier index of the given position.
+     *
+     * @param key The position key
+     * @return The notifier index, or {@link #NONE}
+     */
+    public int getNotifier(int key) {
+        return (int) get(key);
+    }
+
+    private long get(int key) {
+        if (key == FREE) {
+            return this.freeValue;
+        }
+        if (this.keys == null) {
+            return MISSING;
+        }
+        int slot = find(key);
+        return slot >= 0 ? this.values[slot] : MISSING;
+    }
+
+    public void setOwner(int key, int owner) {
+        set(key, owner, getNotifier(key));
+    }
+
+    public void setNotifier(int key, int notifier) {
+        set(key, getOwner(key), notifier);
+    }
+
+    public void set(int key, int owner, int notifier) {
+        long value = pack(owner, notifier);
+        if (key == FREE) {
+            if (!this.hasFreeKey) {
+                this.hasFreeKey = true;
+                this.size++;
+            }
+            this.freeValue = value;
+            return;
+        }
+        if (this.keys == null) {
+            allocate(MIN_CAPACITY);
+        }
+        int slot = find(key);
+        if (slot >= 0) {
+            this.values[slot] = value;
+            return;
+        }
+        slot = -slot - 1;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        if (++this.size >= this.resizeAt) {
+            allocate(this.keys.length << 1);
+        }
+    }
+
+    public boolean remove(int key) {
+        if (key == FREE) {
+            if (!this.hasFreeKey) {
+                return false;
+            }
+            this.hasFreeKey = false;
+            this.freeValue = MISSING;
+            this.size--;
+            return true;
+        }
+        if (this.keys == null) {
+            return false;
+        }
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        // Shift following entries back so probing never needs tombstones
+        int last = slot;
+        slot = (slot + 1) & this.mask;
+        while (this.keys[slot] != FREE) {
+            int home = mix(this.keys[slot]) & this.mask;
+            if (last <= slot ? (home <= last || home > slot) : (home <= last && home > slot)) {
+                this.keys[last] = this.keys[slot];
+                this.values[last] = this.values[slot];
+                last = slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[last] = FREE;
+        this.values[last] = MISSING;
+        this.size--;
+        return true;
+    }
+
+    public void clear() {
+        this.keys = null;
+        this.values = null;
+        this.size = 0;
+        this.hasFreeKey = false;
+        this.freeValue = MISSING;
+    }
+
+    /**
+     * Gets the slot of the key, or {@code -(insertion slot + 1)} if it isn't
+     * present.
+     */
+    private int find(int key) {
+        int slot = mix(key) & this.mask;
+        while (true) {
+            int current = this.keys[slot];
+            if (current == FREE) {
+                return -slot - 1;
+            }
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    private void allocate(int capacity) {
+        int[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = capacity / 4 * 3;
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE) {
+                int slot = -find(key) - 1;
+                this.keys[slot] = key;
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Serializes the tracked positions as consecutive key, owner and
+     * notifier triples. Positions tracking neither are left out.
+     *
+     * @return The serialized positions
+     */
+    public int[] toIntArray() {
+        int[] data = new int[this.size * 3];
+        int index = 0;
+        if (this.hasFreeKey && this.freeValue != MISSING) {
+            data[index++] = FREE;
+            data[index++] = (int) (this.freeValue >> 32);
+            data[index++] = (int) this.freeValue;
+        }
+        if (this.keys != null) {
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.keys[i] != FREE && this.values[i] != MISSING) {
+                    data[index++] = this.keys[i];
+                    data[index++] = (int) (this.values[i] >> 32);
+                    data[index++] = (int) this.values[i];
+                }
+            }
+        }
+        return index == data.length ? data : Arrays.copyOf(data, index);
+    }
+
+    /**
+     * Reads positions serialized by {@link #toIntArray()}.
+     *
+     * @param data The serialized positions
+     * @return The map
+     */
+    public static PlayerTrackerMap fromIntArray(int[] data) {
+        checkArgument(data.length % 3 == 0, "Invalid tracked position data length %s", data.length);
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        int entries = data.length / 3;
+        if (entries > 0) {
+            int capacity = MIN_CAPACITY;
+            while (capacity / 4 * 3 <= entries) {
+                capacity <<= 1;
+            }
+            map.allocate(capacity);
+        }
+        for (int i = 0; i < data.length; i += 3) {
+            if (data[i + 1] != NONE || data[i + 2] != NONE) {
+                map.set(data[i], data[i + 1], data[i + 2]);
+            }
+        }
+        return map;
+    }
+
+}
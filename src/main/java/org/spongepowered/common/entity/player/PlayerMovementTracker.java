@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.player;
+
+/**
+ * Per-player scratch state for the movement packet handler.
+ *
+ * <p>Remembers the position a player was last reported at in a move event
+ * as primitives, so that small movements accumulate until they cross the
+ * world's thresholds without allocating positions for every packet.</p>
+ */
+public final class PlayerMovementTracker {
+
+    private boolean tracking;
+    private int dimensionId;
+    private double x;
+    private double y;
+    private double z;
+
+    /**
+     * Gets whether a position is tracked in the given dimension.
+     *
+     * @param dimensionId The dimension id of the player's world
+     * @return Whether the tracked position can be used
+     */
+    public boolean isTracking(int dimensionId) {
+        return this.tracking && this.dimensionId == dimensionId;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public double getZ() {
+        return this.z;
+    }
+
+    public void track(int dimensionId, double x, double y, double z) {
+        this.tracking = true;
+        this.dimensionId = dimensionId;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Gets whether a movement is large enough to fire a move event.
+     *
+     * @param dx The change in x
+     * @param dy The change in y
+     * @param dz The change in z
+     * @param dPitch The change in pitch
+     * @param dYaw The change in yaw
+     * @param distanceThreshold The distance in blocks to exceed
+     * @param rotationThreshold The rotation in degrees to exceed
+     * @return Whether either threshold is exceeded
+     */
+    public static boolean exceedsThreshold(double dx, double dy, double dz, double dPitch, double dYaw, double distanceThreshold,
+            double rotationThreshold) {
+        return dx * dx + dy * dy + dz * dz > distanceThreshold * distanceThreshold
+                || dPitch * dPitch + dYaw * dYaw > rotationThreshold * rotationThreshold;
+    }
+
+}
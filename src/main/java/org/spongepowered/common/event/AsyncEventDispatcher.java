@@ -0,0 +1,243 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.EventCategory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches events to listeners which were registered as asynchronous on a
+ * bounded pool of worker threads, after all synchronous listeners handled
+ * the event.
+ *
+ * <p>Asynchronous listeners can only observe events, any modification or
+ * cancellation they make has no effect on the outcome of the event.</p>
+ */
+public final class AsyncEventDispatcher {
+
+    /**
+     * What to do with an event if the queue of the dispatcher is full.
+     */
+    public enum SaturationPolicy {
+        /**
+         * The new event is not passed to the asynchronous listeners.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest queued event is discarded to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The asynchronous listeners handle the event on the posting thread.
+         */
+        CALLER_RUNS
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final SaturationPolicy saturationPolicy;
+    private final Map<PluginContainer, ListenerStats> stats = new ConcurrentHashMap<>();
+
+    AsyncEventDispatcher(int threads, int queueCapacity, SaturationPolicy saturationPolicy) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.saturationPolicy = saturationPolicy;
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 60L, TimeUnit.SECONDS, this.queue,
+                new ThreadFactoryBuilder().setNameFormat("Sponge-AsyncEventListener-%d").setDaemon(true).build());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    static AsyncEventDispatcher fromConfig() {
+        EventCategory config = SpongeImpl.getGlobalConfig().getConfig().getEvents();
+        return new AsyncEventDispatcher(config.getAsyncListenerThreads(), config.getAsyncListenerQueueCapacity(),
+                config.getAsyncListenerSaturationPolicy());
+    }
+
+    void dispatch(Event event, RegisteredListener<?>[] listeners) {
+        for (RegisteredListener<?> listener : listeners) {
+            getStats(listener.getPlugin()).dispatched.incrementAndGet();
+        }
+
+        if (this.queue.remainingCapacity() == 0) {
+            // The queue is saturated, the rejection of the executor itself is
+            // only a fallback for races between the check and the submission
+            if (this.saturationPolicy == SaturationPolicy.CALLER_RUNS) {
+                handle(event, listeners);
+                return;
+            } else if (this.saturationPolicy == SaturationPolicy.DROP_OLDEST) {
+                Runnable oldest = this.queue.poll();
+                if (oldest instanceof DispatchTask) {
+                    ((DispatchTask) oldest).drop();
+                }
+            } else {
+                drop(listeners);
+                return;
+            }
+        }
+
+        try {
+            this.executor.execute(new DispatchTask(event, listeners));
+        } catch (RejectedExecutionException e) {
+            drop(listeners);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(Event event, RegisteredListener<?>[] listeners) {
+        for (@SuppressWarnings("rawtypes") RegisteredListener listener : listeners) {
+            ListenerStats listenerStats = getStats(listener.getPlugin());
+            long start = System.nanoTime();
+            try {
+                listener.handle(event);
+            } catch (Throwable e) {
+                listenerStats.failed.incrementAndGet();
+                SpongeImpl.getLogger().error("Could not pass {} to {} asynchronously", event.getClass().getSimpleName(), listener.getPlugin(), e);
+            }
+            listenerStats.record(System.nanoTime() - start);
+        }
+    }
+
+    private void drop(RegisteredListener<?>[] listeners) {
+        for (RegisteredListener<?> listener : listeners) {
+            getStats(listener.getPlugin()).dropped.incrementAndGet();
+        }
+    }
+
+    private ListenerStats getStats(PluginContainer plugin) {
+        ListenerStats listenerStats = this.stats.get(plugin);
+        if (listenerStats == null) {
+            listenerStats = this.stats.computeIfAbsent(plugin, key -> new ListenerStats());
+        }
+        return listenerStats;
+    }
+
+    /**
+     * Gets the amount of events which are currently queued.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the statistics of the asynchronous listeners of every plugin.
+     *
+     * @return The statistics by plugin
+     */
+    public Map<PluginContainer, ListenerStats> getStats() {
+        return Collections.unmodifiableMap(this.stats);
+    }
+
+    private final class DispatchTask implements Runnable {
+
+        private final Event event;
+        private final RegisteredListener<?>[] listeners;
+
+        DispatchTask(Event event, RegisteredListener<?>[] listeners) {
+            this.event = event;
+            this.listeners = listeners;
+        }
+
+        void drop() {
+            AsyncEventDispatcher.this.drop(this.listeners);
+        }
+
+        @Override
+        public void run() {
+            handle(this.event, this.listeners);
+        }
+    }
+
+    /**
+     * Statistics of the asynchronous listeners of a single plugin.
+     */
+    public static final class ListenerStats {
+
+        final AtomicLong dispatched = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong handled = new AtomicLong();
+        final AtomicLong totalTime = new AtomicLong();
+        final AtomicLong maxTime = new AtomicLong();
+
+        void record(long time) {
+            this.handled.incrementAndGet();
+            this.totalTime.addAndGet(time);
+            long max;
+            while (time > (max = this.maxTime.get()) && !this.maxTime.compareAndSet(max, time)) {
+                // retry
+            }
+        }
+
+        public long getDispatched() {
+            return this.dispatched.get();
+        }
+
+        public long getDropped() {
+            return this.dropped.get();
+        }
+
+        public long getFailed() {
+            return this.failed.get();
+        }
+
+        public long getHandled() {
+            return this.handled.get();
+        }
+
+        /**
+         * Gets the total time spent in the listeners, in nanoseconds.
+         *
+         * @return The total time
+         */
+        public long getTotalTime() {
+            return this.totalTime.get();
+        }
+
+        /**
+         * Gets the longest time spent handling a single event, in
+         * nanoseconds.
+         *
+         * @return The maximum time
+         */
+        public long getMaxTime() {
+            return this.maxTime.get();
+        }
+    }
+
+}
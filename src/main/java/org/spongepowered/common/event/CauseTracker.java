@@ -136,12 +136,24 @@ public final class CauseTracker {
     private List<Transaction<BlockSnapshot>> invalidTransactions = new ArrayList<>();
     @Nullable private User currentNotifier;
     @Nullable private BlockSnapshot currentTickBlock;
+    // The snapshot of the current tick block is only created once requested
+    @Nullable private IBlockState currentTickBlockState;
+    @Nullable private BlockPos currentTickBlockPos;
+    // The cause of the current block or tile entity tick is only created once
+    // requested, most ticks never capture anything
+    private boolean pendingTickCause;
+    @Nullable private TileEntity pendingTickTileEntity;
+    @Nullable private User pendingTickNotifier;
     @Nullable private Entity currentTickEntity;
     @Nullable private TileEntity currentTickTileEntity;
     @Nullable public IMixinNextTickListEntry currentPendingBlockUpdate;
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
     private Deque<Cause> causeStack = new ArrayDeque<>();
+    // Reused between block capture passes, one set per nesting level since
+    // events of a pass can trigger a nested pass while their lists are in use
+    private final List<TransactionBuffers> transactionBuffers = new ArrayList<>();
+    private int blockCaptureDepth;
     private Packet<?> currentPlayerPacket;
     public final Timing causeTrackerBlockTimer;
     public final Timing causeTrackerBlockBreakTimer;
@@ -258,15 +270,46 @@ public void setCurrentNotifier(@Nullable User currentNotifier) {
     }
 
     public boolean hasTickingBlock() {
-        return this.currentTickBlock != null;
+        return this.currentTickBlock != null || this.currentTickBlockState != null;
     }
 
     public Optional<BlockSnapshot> getCurrentTickBlock() {
+        if (this.currentTickBlock == null && this.currentTickBlockState != null) {
+            // Measured as part of the block captures, wherever the snapshot is first needed
+            this.causeTrackerBlockTimer.startTiming();
+            IBlockState state = this.currentTickBlockState;
+            BlockPos pos = this.currentTickBlockPos;
+            this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state,
+                    state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
+            this.causeTrackerBlockTimer.stopTiming();
+        }
         return Optional.ofNullable(this.currentTickBlock);
     }
 
     public void setCurrentTickBlock(@Nullable BlockSnapshot currentTickBlock) {
         this.currentTickBlock = currentTickBlock;
+        this.currentTickBlockState = null;
+        this.currentTickBlockPos = null;
+    }
+
+    @Nullable
+    private BlockPos getCurrentTickBlockPos() {
+        if (this.currentTickBlockPos != null) {
+            return this.currentTickBlockPos;
+        }
+        return this.currentTickBlock == null ? null : ((SpongeBlockSnapshot) this.currentTickBlock).getBlockPos();
+    }
+
+    /**
+     * Called before a block change is captured, so that a lazily created
+     * snapshot of the current tick block still reflects its original state.
+     *
+     * @param pos The position of the changed block
+     */
+    public void preCaptureBlockChange(BlockPos pos) {
+        if (this.currentTickBlock == null && pos.equals(this.currentTickBlockPos)) {
+            this.getCurrentTickBlock();
+        }
     }
 
     public boolean hasTickingEntity() {
@@ -325,18 +368,40 @@ public void setChunkSpawnerRunning(boolean chunkSpawnerRunning) {
     }
 
     public Cause getCurrentCause() {
+        this.createPendingTickCause();
         return this.causeStack.peekFirst();
     }
 
     public void addCause(Cause cause) {
+        this.createPendingTickCause();
         this.causeStack.addFirst(cause);
     }
 
     public void removeCurrentCause() {
-        Cause currentCause = this.causeStack.peekFirst();
-        if (currentCause != null) {
-            this.causeStack.remove(currentCause);
+        if (this.pendingTickCause) {
+            // Nothing requested the cause, so it was never pushed
+            this.pendingTickCause = false;
+            this.pendingTickTileEntity = null;
+            this.pendingTickNotifier = null;
+            return;
         }
+        this.causeStack.pollFirst();
+    }
+
+    private void createPendingTickCause() {
+        if (!this.pendingTickCause) {
+            return;
+        }
+        this.pendingTickCause = false;
+
+        Object source = this.pendingTickTileEntity != null ? this.pendingTickTileEntity : this.getCurrentTickBlock().get();
+        if (this.pendingTickNotifier != null) {
+            this.causeStack.addFirst(Cause.of(NamedCause.source(source), NamedCause.notifier(this.pendingTickNotifier)));
+        } else {
+            this.causeStack.addFirst(Cause.of(NamedCause.source(source)));
+        }
+        this.pendingTickTileEntity = null;
+        this.pendingTickNotifier = null;
     }
 
     public Packet<?> getCurrentPlayerPacket() {
@@ -361,14 +426,12 @@ public void postTrackEntity() {
     }
 
     public void preTrackTileEntity(TileEntity tile) {
+        this.createPendingTickCause();
         this.currentTickTileEntity = tile;
         this.trackBlockPositionCausePreTick(((net.minecraft.tileentity.TileEntity) tile).getPos());
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickTileEntity));
-        if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
-        }
-        this.addCause(Cause.of(namedCauses));
+        this.pendingTickTileEntity = tile;
+        this.pendingTickNotifier = this.currentNotifier;
+        this.pendingTickCause = true;
     }
 
     public void postTrackTileEntity() {
@@ -379,20 +442,20 @@ public void postTrackTileEntity() {
     }
 
     public void preTrackBlock(IBlockState state, BlockPos pos) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
+        this.createPendingTickCause();
+        this.currentTickBlock = null;
+        this.currentTickBlockState = state;
+        this.currentTickBlockPos = pos;
         this.trackBlockPositionCausePreTick(pos);
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickBlock));
-        if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
-        }
-        this.addCause(Cause.of(namedCauses));
+        this.pendingTickTileEntity = null;
+        this.pendingTickNotifier = this.currentNotifier;
+        this.pendingTickCause = true;
     }
 
     public void postTrackBlock() {
         this.handlePostTickCaptures();
         this.removeCurrentCause();
-        this.currentTickBlock = null;
+        this.setCurrentTickBlock(null);
         this.currentNotifier = null;
     }
 
@@ -401,7 +464,7 @@ public void setSpecificCapture(boolean flag) {
     }
 
     public void handlePostTickCaptures() {
-        if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.causeStack.isEmpty()) {
+        if (this.getMinecraftWorld().isRemote || this.restoringBlocks || (this.causeStack.isEmpty() && !this.pendingTickCause)) {
             return;
         } else if (this.getCapturedSpawnedEntities().isEmpty() && this.getCapturedSpawnedEntityItems().isEmpty() && this.getCapturedSpongeBlockSnapshots().isEmpty()
                    && StaticMixinHelper.packetPlayer == null) {
@@ -447,6 +510,8 @@ public void handleSpawnedEntities() {
         }
 
         this.causeTrackerEntityTimer.startTiming();
+        // Skip creating snapshots and events if nothing listens to them
+        final boolean hasListeners = SpongeImpl.hasListeners(SpawnEntityEvent.class);
         Iterator<Entity> iter = capturedEntityList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -470,10 +535,6 @@ public void handleSpawnedEntities() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entitySingleSnapshotBuilder = new ImmutableList.Builder<>();
-                entitySingleSnapshotBuilder.add(currentEntity.createSnapshot());
-                List<Entity> entityList = new ArrayList<>();
-                entityList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
                 namedCauses.add(NamedCause.source(spawnCause));
                 User currentUser = StaticMixinHelper.packetPlayer != null ? (User) StaticMixinHelper.packetPlayer : this.currentNotifier;
@@ -482,6 +543,15 @@ public void handleSpawnedEntities() {
                 }
 
                 Cause cause = Cause.of(namedCauses);
+                if (!hasListeners) {
+                    spawnCapturedEntity(cause, (net.minecraft.entity.Entity) currentEntity);
+                    iter.remove();
+                    continue;
+                }
+                ImmutableList.Builder<EntitySnapshot> entitySingleSnapshotBuilder = new ImmutableList.Builder<>();
+                entitySingleSnapshotBuilder.add(currentEntity.createSnapshot());
+                List<Entity> entityList = new ArrayList<>();
+                entityList.add(currentEntity);
                 causeTrackerEntityTimer.stopTiming();
                 SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(cause, entityList, entitySingleSnapshotBuilder.build(), this.getWorld());
                 handlePostEntityEvent(cause, event);
@@ -489,7 +559,9 @@ public void handleSpawnedEntities() {
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityList.isEmpty()) {
@@ -505,6 +577,12 @@ public void handleSpawnedEntities() {
             cause = SpongeCommonEventFactory.getEntitySpawnCause((net.minecraft.entity.Entity) capturedEntityList.get(0));
         }
 
+        if (!hasListeners) {
+            spawnCapturedEntities(cause, capturedEntityList);
+            this.causeTrackerEntityTimer.stopTiming();
+            return;
+        }
+
         List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
         if (entitySnapshots.isEmpty()) {
             this.causeTrackerEntityTimer.stopTiming();
@@ -534,6 +612,9 @@ public void handleDroppedItems() {
         }
 
         this.causeTrackerEntityItemTimer.startTiming();
+        // Skip creating snapshots and events if nothing listens to them
+        final boolean hasDestructListeners = SpongeImpl.hasListeners(DropItemEvent.Destruct.class);
+        final boolean hasDispenseListeners = SpongeImpl.hasListeners(DropItemEvent.Dispense.class);
         Iterator<Entity> iter = capturedEntityItemList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -557,10 +638,6 @@ public void handleDroppedItems() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entityItemSnapshotBuilder = new ImmutableList.Builder<>();
-                entityItemSnapshotBuilder.add(currentEntity.createSnapshot());
-                List<Entity> entityItemList = new ArrayList<>();
-                entityItemList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
                 namedCauses.add(NamedCause.source(spawnCause));
                 User currentUser = StaticMixinHelper.packetPlayer != null ? (User) StaticMixinHelper.packetPlayer : this.currentNotifier;
@@ -569,6 +646,15 @@ public void handleDroppedItems() {
                 }
 
                 Cause cause = Cause.of(namedCauses);
+                if (!hasDestructListeners) {
+                    spawnCapturedEntity(cause, (net.minecraft.entity.Entity) currentEntity);
+                    iter.remove();
+                    continue;
+                }
+                ImmutableList.Builder<EntitySnapshot> entityItemSnapshotBuilder = new ImmutableList.Builder<>();
+                entityItemSnapshotBuilder.add(currentEntity.createSnapshot());
+                List<Entity> entityItemList = new ArrayList<>();
+                entityItemList.add(currentEntity);
                 this.causeTrackerEntityItemTimer.stopTiming();
                 DropItemEvent.Destruct event = SpongeEventFactory.createDropItemEventDestruct(cause, entityItemList, entityItemSnapshotBuilder.build(), this.getWorld());
                 if (handlePostEntityEvent(cause, event)) {
@@ -580,7 +666,9 @@ public void handleDroppedItems() {
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasDispenseListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityItemList.isEmpty()) {
@@ -588,10 +676,13 @@ public void handleDroppedItems() {
             return;
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
-            this.causeTrackerEntityItemTimer.stopTiming();
-            return;
+        List<EntitySnapshot> entitySnapshots = null;
+        if (hasDispenseListeners) {
+            entitySnapshots = entitySnapshotBuilder.build();
+            if (entitySnapshots.isEmpty()) {
+                this.causeTrackerEntityItemTimer.stopTiming();
+                return;
+            }
         }
 
         Cause cause = this.getCurrentCause();
@@ -602,6 +693,12 @@ public void handleDroppedItems() {
             cause = SpongeCommonEventFactory.getEntitySpawnCause((net.minecraft.entity.Entity) capturedEntityItemList.get(0));
         }
 
+        if (!hasDispenseListeners) {
+            spawnCapturedEntities(cause, capturedEntityItemList);
+            this.causeTrackerEntityItemTimer.stopTiming();
+            return;
+        }
+
         this.causeTrackerEntityItemTimer.stopTiming();
         DropItemEvent.Dispense event = SpongeEventFactory.createDropItemEventDispense(cause, capturedEntityItemList, entitySnapshots, this.getWorld());
         if (handlePostEntityEvent(cause, event)) {
@@ -623,17 +720,7 @@ private boolean handlePostEntityEvent(Cause cause, SpawnEntityEvent event) {
                     continue;
                 }
 
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                if (nmsEntity instanceof EntityWeatherEffect) {
-                    addWeatherEffect(nmsEntity, cause);
-                } else {
-                    int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                    int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                    this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                    this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                    this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                    SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                }
+                spawnCapturedEntity(cause, (net.minecraft.entity.Entity) entity);
                 iterator.remove();
             }
             return false;
@@ -642,6 +729,28 @@ private boolean handlePostEntityEvent(Cause cause, SpawnEntityEvent event) {
         return true;
     }
 
+    private void spawnCapturedEntity(Cause cause, net.minecraft.entity.Entity nmsEntity) {
+        if (nmsEntity instanceof EntityWeatherEffect) {
+            addWeatherEffect(nmsEntity, cause);
+        } else {
+            int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+            int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+            this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+            this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+            this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+            SpongeHooks.logEntitySpawn(cause, nmsEntity);
+        }
+    }
+
+    private void spawnCapturedEntities(Cause cause, List<Entity> entities) {
+        for (Entity entity : entities) {
+            if (!entity.isRemoved()) {
+                spawnCapturedEntity(cause, (net.minecraft.entity.Entity) entity);
+            }
+        }
+        entities.clear();
+    }
+
     private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause) {
         if (entity instanceof EntityLightningBolt) {
             LightningEvent.Pre event = SpongeEventFactory.createLightningEventPre(((IMixinEntityLightningBolt) entity).getCause());
@@ -708,24 +817,36 @@ public boolean handleBlockCaptures() {
             return false;
         }
 
+        if (!SpongeImpl.hasListeners(ChangeBlockEvent.class)) {
+            return handleBlockCapturesWithoutEvents(capturedBlockList);
+        }
+
+        if (this.blockCaptureDepth == this.transactionBuffers.size()) {
+            this.transactionBuffers.add(new TransactionBuffers());
+        }
+        TransactionBuffers buffers = this.transactionBuffers.get(this.blockCaptureDepth++);
+        try {
+            return handleBlockCaptures(capturedBlockList, buffers);
+        } finally {
+            buffers.clear();
+            this.blockCaptureDepth--;
+        }
+    }
+
+    private boolean handleBlockCaptures(List<BlockSnapshot> capturedBlockList, TransactionBuffers buffers) {
         this.causeTrackerBlockTimer.startTiming();
         Cause cause = this.getCurrentCause();
         EntityPlayerMP player = StaticMixinHelper.packetPlayer;
 
-        ImmutableList<Transaction<BlockSnapshot>> blockBreakTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockModifyTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockPlaceTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockDecayTransactions = null;
-        ImmutableList<Transaction<BlockSnapshot>> blockMultiTransactions = null;
-        ImmutableList.Builder<Transaction<BlockSnapshot>> breakBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> placeBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> decayBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> modifyBuilder = new ImmutableList.Builder<>();
-        ImmutableList.Builder<Transaction<BlockSnapshot>> multiBuilder = new ImmutableList.Builder<>();
+        List<Transaction<BlockSnapshot>> blockBreakTransactions;
+        List<Transaction<BlockSnapshot>> blockModifyTransactions;
+        List<Transaction<BlockSnapshot>> blockPlaceTransactions;
+        List<Transaction<BlockSnapshot>> blockDecayTransactions;
+        List<Transaction<BlockSnapshot>> blockMultiTransactions = null;
         ChangeBlockEvent.Break breakEvent = null;
         ChangeBlockEvent.Modify modifyEvent = null;
         ChangeBlockEvent.Place placeEvent = null;
-        List<ChangeBlockEvent> blockEvents = new ArrayList<>();
+        List<ChangeBlockEvent> blockEvents = new ArrayList<>(4);
 
         Iterator<BlockSnapshot> iterator = capturedBlockList.iterator();
         while (iterator.hasNext()) {
@@ -736,23 +857,29 @@ public boolean handleBlockCaptures() {
             Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, this.getMixinWorld().createSpongeBlockSnapshot(currentState, currentState.getBlock()
                 .getActualState(currentState, this.getMinecraftWorld(), pos), pos, 0));
             if (captureType == CaptureType.BREAK) {
-                breakBuilder.add(transaction);
+                buffers.breakTransactions.add(transaction);
             } else if (captureType == CaptureType.DECAY) {
-                decayBuilder.add(transaction);
+                buffers.decayTransactions.add(transaction);
             } else if (captureType == CaptureType.PLACE) {
-                placeBuilder.add(transaction);
+                buffers.placeTransactions.add(transaction);
             } else if (captureType == CaptureType.MODIFY) {
-                modifyBuilder.add(transaction);
+                buffers.modifyTransactions.add(transaction);
             }
-            multiBuilder.add(transaction);
+            buffers.multiTransactions.add(transaction);
             iterator.remove();
         }
 
-        blockBreakTransactions = breakBuilder.build();
-        blockDecayTransactions = decayBuilder.build();
-        blockModifyTransactions = modifyBuilder.build();
-        blockPlaceTransactions = placeBuilder.build();
-        blockMultiTransactions = multiBuilder.build();
+        // The buffers are cleared once this pass is done, listeners may keep the events so they get copies
+        blockBreakTransactions = transactionsOf(buffers.breakTransactions);
+        blockDecayTransactions = transactionsOf(buffers.decayTransactions);
+        blockModifyTransactions = transactionsOf(buffers.modifyTransactions);
+        blockPlaceTransactions = transactionsOf(buffers.placeTransactions);
+        int typeCount = (blockBreakTransactions.isEmpty() ? 0 : 1) + (blockModifyTransactions.isEmpty() ? 0 : 1)
+                + (blockPlaceTransactions.isEmpty() ? 0 : 1);
+        if (typeCount > 1) {
+            // The combined transactions are only needed for the post event
+            blockMultiTransactions = transactionsOf(buffers.multiTransactions);
+        }
         this.causeTrackerBlockTimer.stopTiming();
         ChangeBlockEvent changeBlockEvent;
         if (blockBreakTransactions.size() > 0) {
@@ -870,54 +997,150 @@ public boolean handleBlockCaptures() {
                 }
                 return false;
             } else {
-                for (Transaction<BlockSnapshot> transaction : blockEvent.getTransactions()) {
-                    if (!transaction.isValid()) {
-                        this.invalidTransactions.add(transaction);
-                    } else {
-                        if (captureType == CaptureType.BREAK && !(transaction.getOriginal().getState().getType() instanceof BlockLiquid) && cause.first(User.class).isPresent()) {
-                            BlockPos pos = VecHelper.toBlockPos(transaction.getOriginal().getPosition());
-                            for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.getMinecraftWorld(), pos)) {
-                                if (hanging != null) {
-                                    if (hanging instanceof EntityItemFrame) {
-                                        EntityItemFrame itemFrame = (EntityItemFrame) hanging;
-                                        net.minecraft.entity.Entity dropCause = null;
-                                        if (cause.root() instanceof net.minecraft.entity.Entity) {
-                                            dropCause = (net.minecraft.entity.Entity) cause.root();
-                                        }
-
-                                        itemFrame.dropItemOrSelf(dropCause, true);
-                                        itemFrame.setDead();
-                                    }
+                processBlockTransactions(captureType, blockEvent.getTransactions(), cause, player, packet);
+            }
+        }
+        this.causeTrackerBlockTimer.stopTiming();
+        return true;
+    }
+
+    private static List<Transaction<BlockSnapshot>> transactionsOf(List<Transaction<BlockSnapshot>> buffer) {
+        return ImmutableList.copyOf(buffer);
+    }
+
+    private static final class TransactionBuffers {
+
+        final List<Transaction<BlockSnapshot>> breakTransactions = new ArrayList<>();
+        final List<Transaction<BlockSnapshot>> placeTransactions = new ArrayList<>();
+        final List<Transaction<BlockSnapshot>> decayTransactions = new ArrayList<>();
+        final List<Transaction<BlockSnapshot>> modifyTransactions = new ArrayList<>();
+        final List<Transaction<BlockSnapshot>> multiTransactions = new ArrayList<>();
+
+        void clear() {
+            this.breakTransactions.clear();
+            this.placeTransactions.clear();
+            this.decayTransactions.clear();
+            this.modifyTransactions.clear();
+            this.multiTransactions.clear();
+        }
+    }
+
+    private void processBlockTransactions(CaptureType captureType, List<Transaction<BlockSnapshot>> transactions, Cause cause,
+            @Nullable EntityPlayerMP player, @Nullable C08PacketPlayerBlockPlacement packet) {
+        for (Transaction<BlockSnapshot> transaction : transactions) {
+            if (!transaction.isValid()) {
+                this.invalidTransactions.add(transaction);
+            } else {
+                if (captureType == CaptureType.BREAK && !(transaction.getOriginal().getState().getType() instanceof BlockLiquid) && cause.first(User.class).isPresent()) {
+                    BlockPos pos = VecHelper.toBlockPos(transaction.getOriginal().getPosition());
+                    for (EntityHanging hanging : SpongeHooks.findHangingEntities(this.getMinecraftWorld(), pos)) {
+                        if (hanging != null) {
+                            if (hanging instanceof EntityItemFrame) {
+                                EntityItemFrame itemFrame = (EntityItemFrame) hanging;
+                                net.minecraft.entity.Entity dropCause = null;
+                                if (cause.root() instanceof net.minecraft.entity.Entity) {
+                                    dropCause = (net.minecraft.entity.Entity) cause.root();
                                 }
-                            }
-                        }
 
-                        if (captureType == CaptureType.PLACE && player != null && this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
-                            BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
-                            IMixinChunk spongeChunk = (IMixinChunk) this.getMinecraftWorld().getChunkFromBlockCoords(pos);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
-                                (User) player, PlayerTracker.Type.OWNER);
-                            spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
-                                (User) player, PlayerTracker.Type.NOTIFIER);
+                                itemFrame.dropItemOrSelf(dropCause, true);
+                                itemFrame.setDead();
+                            }
                         }
                     }
                 }
 
-                if (this.invalidTransactions.size() > 0) {
-                    for (Transaction<BlockSnapshot> transaction : Lists.reverse(this.invalidTransactions)) {
-                        this.restoringBlocks = true;
-                        transaction.getOriginal().restore(true, false);
-                        this.restoringBlocks = false;
-                    }
-                    handlePostPlayerBlockEvent(captureType, this.invalidTransactions);
+                if (captureType == CaptureType.PLACE && player != null && this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
+                    BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
+                    IMixinChunk spongeChunk = (IMixinChunk) this.getMinecraftWorld().getChunkFromBlockCoords(pos);
+                    spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
+                        (User) player, PlayerTracker.Type.OWNER);
+                    spongeChunk.addTrackedBlockPosition((net.minecraft.block.Block) transaction.getFinal().getState().getType(), pos,
+                        (User) player, PlayerTracker.Type.NOTIFIER);
                 }
+            }
+        }
 
-                this.markAndNotifyBlockPost(blockEvent.getTransactions(), captureType);
+        if (this.invalidTransactions.size() > 0) {
+            for (Transaction<BlockSnapshot> transaction : Lists.reverse(this.invalidTransactions)) {
+                this.restoringBlocks = true;
+                transaction.getOriginal().restore(true, false);
+                this.restoringBlocks = false;
+            }
+            handlePostPlayerBlockEvent(captureType, this.invalidTransactions);
+        }
+
+        this.markAndNotifyBlockPost(transactions, captureType);
+
+        if (captureType == CaptureType.PLACE && player != null && packet != null && packet.getStack() != null) {
+            player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
+        }
+    }
 
-                if (captureType == CaptureType.PLACE && player != null && packet != null && packet.getStack() != null) {
-                    player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
+    /**
+     * Applies the captured block changes without constructing any
+     * {@link ChangeBlockEvent}s, used when nothing listens to them. The
+     * transactions are processed in the same order as the events would be.
+     *
+     * @param capturedBlockList The captured block snapshots
+     * @return Always true, as no event can cancel the changes
+     */
+    private boolean handleBlockCapturesWithoutEvents(List<BlockSnapshot> capturedBlockList) {
+        this.causeTrackerBlockTimer.startTiming();
+        Cause cause = this.getCurrentCause();
+        EntityPlayerMP player = StaticMixinHelper.packetPlayer;
+        C08PacketPlayerBlockPlacement packet = null;
+        if (this.currentPlayerPacket instanceof C08PacketPlayerBlockPlacement) {
+            packet = (C08PacketPlayerBlockPlacement) this.currentPlayerPacket;
+        }
+
+        List<Transaction<BlockSnapshot>> breakTransactions = null;
+        List<Transaction<BlockSnapshot>> modifyTransactions = null;
+        List<Transaction<BlockSnapshot>> placeTransactions = null;
+        List<Transaction<BlockSnapshot>> decayTransactions = null;
+
+        Iterator<BlockSnapshot> iterator = capturedBlockList.iterator();
+        while (iterator.hasNext()) {
+            SpongeBlockSnapshot blockSnapshot = (SpongeBlockSnapshot) iterator.next();
+            CaptureType captureType = blockSnapshot.captureType;
+            BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
+            IBlockState currentState = this.getMinecraftWorld().getBlockState(pos);
+            Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, this.getMixinWorld().createSpongeBlockSnapshot(currentState, currentState.getBlock()
+                .getActualState(currentState, this.getMinecraftWorld(), pos), pos, 0));
+            if (captureType == CaptureType.BREAK) {
+                if (breakTransactions == null) {
+                    breakTransactions = new ArrayList<>();
+                }
+                breakTransactions.add(transaction);
+            } else if (captureType == CaptureType.DECAY) {
+                if (decayTransactions == null) {
+                    decayTransactions = new ArrayList<>();
+                }
+                decayTransactions.add(transaction);
+            } else if (captureType == CaptureType.PLACE) {
+                if (placeTransactions == null) {
+                    placeTransactions = new ArrayList<>();
                 }
+                placeTransactions.add(transaction);
+            } else if (captureType == CaptureType.MODIFY) {
+                if (modifyTransactions == null) {
+                    modifyTransactions = new ArrayList<>();
+                }
+                modifyTransactions.add(transaction);
             }
+            iterator.remove();
+        }
+
+        if (breakTransactions != null) {
+            processBlockTransactions(CaptureType.BREAK, breakTransactions, cause, player, packet);
+        }
+        if (modifyTransactions != null) {
+            processBlockTransactions(CaptureType.MODIFY, modifyTransactions, cause, player, packet);
+        }
+        if (placeTransactions != null) {
+            processBlockTransactions(CaptureType.PLACE, placeTransactions, cause, player, packet);
+        }
+        if (decayTransactions != null) {
+            processBlockTransactions(CaptureType.DECAY, decayTransactions, cause, player, packet);
         }
         this.causeTrackerBlockTimer.stopTiming();
         return true;
@@ -1039,9 +1262,9 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
                     world.playerEntities.add(entityplayer);
                     world.updateAllPlayersSleepingFlag();
                 }
-                if (SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause, Lists.newArrayList(entity),
-                        Lists.newArrayList(entity.createSnapshot()), getWorld())) && !flag) {
-                    return false;
+                if (SpongeImpl.hasListeners(SpawnEntityEvent.class)) {
+                    SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause, Lists.newArrayList(entity),
+                            Lists.newArrayList(entity.createSnapshot()), getWorld()));
                 }
                 this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
                 this.getMinecraftWorld().loadedEntityList.add(entityIn);
@@ -1056,8 +1279,6 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
             }
 
             org.spongepowered.api.event.entity.SpawnEntityEvent event = null;
-            List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
-            ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
             EntityLivingBase entityLiving = null;
             net.minecraft.entity.Entity nonLivingEntity = null;
             if (this.currentTickEntity instanceof EntityLivingBase) {
@@ -1065,12 +1286,34 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
             } else if (this.currentTickEntity != null) {
                 nonLivingEntity = (net.minecraft.entity.Entity) this.currentTickEntity;
             }
+            Class<? extends SpawnEntityEvent> eventClass;
             if (entityIn instanceof EntityItem) {
                 if ((nonLivingEntity != null && nonLivingEntity.isDead) || entityIn instanceof EntityXPOrb || (entityLiving != null && (entityLiving.getHealth() <= 0 || entityLiving.isDead))) {
-                    event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventClass = DropItemEvent.Destruct.class;
                 } else {
-                    event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventClass = DropItemEvent.Dispense.class;
+                }
+            } else {
+                eventClass = SpawnEntityEvent.class;
+            }
+
+            if (!SpongeImpl.hasListeners(eventClass)) {
+                // Nothing could cancel or alter the spawn, skip creating the event
+                if (entityIn instanceof EntityWeatherEffect) {
+                    return addWeatherEffect(entityIn, cause);
                 }
+                this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
+                this.getMinecraftWorld().loadedEntityList.add(entityIn);
+                this.getMixinWorld().onSpongeEntityAdded(entityIn);
+                return true;
+            }
+
+            List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
+            ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
+            if (eventClass == DropItemEvent.Destruct.class) {
+                event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+            } else if (eventClass == DropItemEvent.Dispense.class) {
+                event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
             } else {
                 event = SpongeEventFactory.createSpawnEntityEvent(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
             }
@@ -1103,7 +1346,7 @@ public void randomTickBlock(Block block, BlockPos pos, IBlockState state, Random
 
     // By this point, currentPending(NextTickListEntry) should always be available
     public void updateTickBlock(Block block, BlockPos pos, IBlockState state, Random rand) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
+        this.setCurrentTickBlock(this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0));
         List<NamedCause> namedCauses = new ArrayList<>();
         namedCauses.add(NamedCause.source(this.currentTickBlock));
         if (this.currentPendingBlockUpdate.hasTickingBlock()) {
@@ -1146,7 +1389,7 @@ public void notifyBlockOfStateChange(BlockPos notifyPos, final Block sourceBlock
             try {
                 if (!this.tryAndTrackActiveUser(notifyPos, PlayerTracker.Type.NOTIFIER).isPresent()) {
                     if (this.hasTickingBlock()) {
-                        this.trackTargetBlockFromSource(((SpongeBlockSnapshot) this.currentTickBlock).getBlockPos(), sourcePos, iblockstate.getBlock(), notifyPos,
+                        this.trackTargetBlockFromSource(this.getCurrentTickBlockPos(), sourcePos, iblockstate.getBlock(), notifyPos,
                                 PlayerTracker.Type.NOTIFIER);
                     }
                 }
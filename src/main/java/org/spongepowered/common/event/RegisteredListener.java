@@ -29,13 +29,11 @@
 import co.aikar.timings.SpongeTimings;
 import co.aikar.timings.Timing;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.plugin.PluginContainer;
 
-import java.util.EnumMap;
 import java.util.List;
 
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
@@ -48,14 +46,21 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final boolean async;
     private Timing listenerTimer;
 
     RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications) {
+        this(plugin, eventClass, order, listener, beforeModifications, false);
+    }
+
+    RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications,
+            boolean async) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.async = async;
     }
 
     public PluginContainer getPlugin() {
@@ -74,6 +79,16 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets whether this listener is handled asynchronously by the
+     * {@link AsyncEventDispatcher} after all synchronous listeners.
+     *
+     * @return Whether this listener is asynchronous
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
     public Timing getTimingsHandler() {
         if (this.listenerTimer == null) {
             this.listenerTimer = SpongeTimings.getPluginTimings(plugin, getHandle().getClass().getSimpleName());
@@ -102,29 +117,77 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
-        private final List<RegisteredListener<?>> listeners;
-        private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
-
+        static final RegisteredListener<?>[] EMPTY = new RegisteredListener<?>[0];
         private static final Order[] ORDERS = Order.values();
 
+        private final RegisteredListener<?>[] listeners;
+        private final RegisteredListener<?>[][] listenersByOrder;
+        private final RegisteredListener<?>[] asyncListeners;
+
         Cache(List<RegisteredListener<?>> listeners) {
-            this.listeners = listeners;
+            List<RegisteredListener<?>> syncListeners = Lists.newArrayListWithCapacity(listeners.size());
+            List<RegisteredListener<?>> asyncListeners = Lists.newArrayList();
+            for (RegisteredListener<?> handler : listeners) {
+                (handler.isAsync() ? asyncListeners : syncListeners).add(handler);
+            }
+            this.listeners = toArray(syncListeners);
+            this.asyncListeners = toArray(asyncListeners);
 
-            this.listenersByOrder = Maps.newEnumMap(Order.class);
-            for (Order order : ORDERS) {
-                this.listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
+            this.listenersByOrder = new RegisteredListener<?>[ORDERS.length][];
+            List<List<RegisteredListener<?>>> byOrder = Lists.newArrayListWithCapacity(ORDERS.length);
+            for (int i = 0; i < ORDERS.length; i++) {
+                byOrder.add(Lists.<RegisteredListener<?>>newArrayList());
             }
-            for (RegisteredListener<?> handler : listeners) {
-                this.listenersByOrder.get(handler.getOrder()).add(handler);
+            for (RegisteredListener<?> handler : syncListeners) {
+                byOrder.get(handler.getOrder().ordinal()).add(handler);
+            }
+            for (int i = 0; i < ORDERS.length; i++) {
+                this.listenersByOrder[i] = toArray(byOrder.get(i));
             }
         }
 
-        public List<RegisteredListener<?>> getListeners() {
+        private static RegisteredListener<?>[] toArray(List<RegisteredListener<?>> listeners) {
+            return listeners.isEmpty() ? EMPTY : listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        }
+
+        /**
+         * Gets the synchronous listeners of this cache, sorted by
+         * {@link Order}.
+         *
+         * <p>The returned array is shared and must not be modified.</p>
+         *
+         * @return The listeners
+         */
+        public RegisteredListener<?>[] getListeners() {
             return this.listeners;
         }
 
-        public List<RegisteredListener<?>> getListenersByOrder(Order order) {
-            return this.listenersByOrder.get(checkNotNull(order, "order"));
+        /**
+         * Gets the synchronous listeners of this cache for the specified
+         * {@link Order}.
+         *
+         * <p>The returned array is shared and must not be modified.</p>
+         *
+         * @param order The order
+         * @return The listeners
+         */
+        public RegisteredListener<?>[] getListenersByOrder(Order order) {
+            return this.listenersByOrder[checkNotNull(order, "order").ordinal()];
+        }
+
+        /**
+         * Gets the asynchronous listeners of this cache.
+         *
+         * <p>The returned array is shared and must not be modified.</p>
+         *
+         * @return The asynchronous listeners
+         */
+        public RegisteredListener<?>[] getAsyncListeners() {
+            return this.asyncListeners;
+        }
+
+        public boolean isEmpty() {
+            return this.listeners.length == 0 && this.asyncListeners.length == 0;
         }
 
     }
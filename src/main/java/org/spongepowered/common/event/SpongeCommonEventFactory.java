@@ -511,8 +511,12 @@ private static void handleCustomSlot(EntityPlayerMP player, List<SlotTransaction
     }
 
     @SuppressWarnings("unchecked")
+    @Nullable
     public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.World world, @Nullable net.minecraft.entity.Entity sourceEntity,
                                                             List<net.minecraft.entity.Entity> entities) {
+        if (!SpongeImpl.hasListeners(CollideEntityEvent.class)) {
+            return null;
+        }
         IMixinWorld spongeWorld = (IMixinWorld) world;
         CauseTracker causeTracker = spongeWorld.getCauseTracker();
         ImmutableList<Entity> originalEntities = ImmutableList.copyOf((List<Entity>) (List<?>) entities);
@@ -661,9 +665,14 @@ public static DropItemEvent.Dispense callDropItemEventDispenseSingle(net.minecra
     }
 
     public static boolean handleCollideBlockEvent(Block block, net.minecraft.world.World world, BlockPos pos, IBlockState state, net.minecraft.entity.Entity entity, Direction direction) {
-        Cause cause = Cause.of(NamedCause.of(NamedCause.PHYSICAL, entity));
         IMixinWorld spongeWorld = (IMixinWorld) world;
         final CauseTracker causeTracker = spongeWorld.getCauseTracker();
+        if (!SpongeImpl.hasListeners(CollideBlockEvent.class)) {
+            trackCollidedBlock(block, world, pos, entity, causeTracker);
+            return false;
+        }
+
+        Cause cause = Cause.of(NamedCause.of(NamedCause.PHYSICAL, entity));
         if (!(entity instanceof EntityPlayer)) {
             if (causeTracker.hasNotifier()) {
                 cause = cause.with(NamedCause.source(causeTracker.getCurrentNotifier()));
@@ -674,21 +683,38 @@ public static boolean handleCollideBlockEvent(Block block, net.minecraft.world.W
         CollideBlockEvent event = SpongeEventFactory.createCollideBlockEvent(cause, (BlockState) state, new Location<World>((World) world, VecHelper.toVector(pos)), direction);
         boolean cancelled = SpongeImpl.postEvent(event);
         if (!cancelled) {
-            IMixinEntity spongeEntity = (IMixinEntity) entity;
-            if (!pos.equals(spongeEntity.getLastCollidedBlockPos())) {
-                if (causeTracker.hasNotifier()) {
-                    IMixinChunk spongeChunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
-                    spongeChunk.addTrackedBlockPosition(block, pos, causeTracker.getCurrentNotifier().get(), PlayerTracker.Type.NOTIFIER);
-                }
-            }
+            trackCollidedBlock(block, world, pos, entity, causeTracker);
         }
 
         return cancelled;
     }
 
+    private static void trackCollidedBlock(Block block, net.minecraft.world.World world, BlockPos pos, net.minecraft.entity.Entity entity,
+            CauseTracker causeTracker) {
+        IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (!pos.equals(spongeEntity.getLastCollidedBlockPos())) {
+            if (causeTracker.hasNotifier()) {
+                IMixinChunk spongeChunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
+                spongeChunk.addTrackedBlockPosition(block, pos, causeTracker.getCurrentNotifier().get(), PlayerTracker.Type.NOTIFIER);
+            }
+        }
+    }
+
     public static boolean handleCollideImpactEvent(net.minecraft.entity.Entity projectile, @Nullable ProjectileSource projectileSource,
             MovingObjectPosition movingObjectPosition) {
         MovingObjectType movingObjectType = movingObjectPosition.typeOfHit;
+        if (movingObjectType == MovingObjectType.BLOCK && !SpongeImpl.hasListeners(CollideBlockEvent.Impact.class)) {
+            final CauseTracker causeTracker = ((IMixinWorld) projectile.worldObj).getCauseTracker();
+            if (causeTracker.hasNotifier()) {
+                BlockPos targetPos = new BlockPos(movingObjectPosition.hitVec);
+                Block targetBlock = projectile.worldObj.getBlockState(movingObjectPosition.getBlockPos()).getBlock();
+                IMixinChunk spongeChunk = (IMixinChunk) projectile.worldObj.getChunkFromBlockCoords(targetPos);
+                spongeChunk.addTrackedBlockPosition(targetBlock, targetPos, causeTracker.getCurrentNotifier().get(), PlayerTracker.Type.NOTIFIER);
+            }
+            return false;
+        } else if (movingObjectType != MovingObjectType.BLOCK && !SpongeImpl.hasListeners(CollideEntityEvent.Impact.class)) {
+            return false;
+        }
         Cause cause = Cause.source(projectile).named("ProjectileSource", projectileSource == null ? ProjectileSource.UNKNOWN : projectileSource).build();
         IMixinWorld spongeWorld = (IMixinWorld) projectile.worldObj;
         final CauseTracker causeTracker = spongeWorld.getCauseTracker();
@@ -906,6 +932,9 @@ public static void handleEntityMovement(net.minecraft.entity.Entity entity) {
         if (entity instanceof Player) {
             return; // this is handled elsewhere
         }
+        if (!SpongeImpl.hasListeners(DisplaceEntityEvent.Move.class)) {
+            return;
+        }
         if (entity.lastTickPosX != entity.posX || entity.lastTickPosY != entity.posY || entity.lastTickPosZ != entity.posZ
             || entity.rotationPitch != entity.prevRotationPitch || entity.rotationYaw != entity.prevRotationYaw) {
             // yes we have a move event.
@@ -28,9 +28,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import co.aikar.timings.TimingsManager;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -53,10 +50,13 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -74,32 +74,56 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Entries are only ever replaced while holding {@link #lock}, reads are
+     * lock-free. When handlers are added or removed only the entries of the
+     * event types which are a subtype of the changed handler's event class
+     * are invalidated.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private final Map<Class<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>();
+
+    /**
+     * A cache of the {@link Event} super types of every event class which was
+     * baked before. The type hierarchy of a class never changes, so unlike
+     * {@link #handlersCache} this is never invalidated.
+     */
+    private final Map<Class<?>, Class<?>[]> eventTypesCache = new ConcurrentHashMap<>();
+
+    /**
+     * A cache of whether any handler could receive an event of a type, see
+     * {@link #hasListeners(Class)}. Invalidated together with
+     * {@link #handlersCache}.
+     */
+    private final Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+
+    @Nullable private volatile AsyncEventDispatcher asyncDispatcher;
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
     }
 
+    private Class<?>[] getEventTypes(Class<?> rootEvent) {
+        Class<?>[] types = this.eventTypesCache.get(rootEvent);
+        if (types == null) {
+            List<Class<?>> eventTypes = Lists.newArrayList();
+            for (Class<?> type : TypeToken.of(rootEvent).getTypes().rawTypes()) {
+                if (Event.class.isAssignableFrom(type)) {
+                    eventTypes.add(type);
+                }
+            }
+            types = eventTypes.toArray(new Class<?>[eventTypes.size()]);
+            this.eventTypesCache.put(rootEvent, types);
+        }
+        return types;
+    }
+
     RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
+        Class<?>[] types = getEventTypes(rootEvent);
 
         synchronized (this.lock) {
             for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+                handlers.addAll(this.handlersByEvent.get(type));
             }
         }
 
@@ -107,6 +131,42 @@ RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
         return new RegisteredListener.Cache(handlers);
     }
 
+    /**
+     * Invalidates the cached handlers of all event types which are affected
+     * by a change of the handlers of the given event classes.
+     *
+     * <p>Must be called while holding {@link #lock}.</p>
+     *
+     * @param changedTypes The event classes which handlers changed
+     */
+    private void invalidateHandlers(Set<Class<?>> changedTypes) {
+        if (changedTypes.isEmpty()) {
+            return;
+        }
+
+        Iterator<Class<?>> hasListenersItr = this.hasListenersCache.keySet().iterator();
+        while (hasListenersItr.hasNext()) {
+            Class<?> eventClass = hasListenersItr.next();
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(changedType)) {
+                    hasListenersItr.remove();
+                    break;
+                }
+            }
+        }
+
+        Iterator<Class<?>> itr = this.handlersCache.keySet().iterator();
+        while (itr.hasNext()) {
+            Class<?> eventClass = itr.next();
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventClass)) {
+                    itr.remove();
+                    break;
+                }
+            }
+        }
+    }
+
     private static boolean isValidHandler(Method method) {
         int modifiers = method.getModifiers();
         if (Modifier.isStatic(modifiers) || !Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers)
@@ -125,17 +185,15 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changedTypes = Sets.newHashSet();
 
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    changedTypes.add(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
+            invalidateHandlers(changedTypes);
         }
     }
 
@@ -189,6 +247,11 @@ private static <T extends Event> RegisteredListener<T> createRegistration(Plugin
         return new RegisteredListener<>(plugin, eventClass, order, handler, beforeModifications);
     }
 
+    private static <T extends Event> RegisteredListener<T> createAsyncRegistration(PluginContainer plugin, Class<T> eventClass,
+            EventListener<? super T> handler) {
+        return new RegisteredListener<>(plugin, eventClass, Order.DEFAULT, handler, false, true);
+    }
+
     private PluginContainer getPlugin(Object plugin) {
         Optional<PluginContainer> container = this.pluginManager.fromInstance(plugin);
         checkArgument(container.isPresent(), "Unknown plugin: %s", plugin);
@@ -216,22 +279,69 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
         register(createRegistration(getPlugin(plugin), eventClass, order, beforeModifications, handler));
     }
 
+    /**
+     * Registers a listener which only observes events and is therefore safe
+     * to be called on another thread. The listener is passed the event on a
+     * worker thread of the {@link AsyncEventDispatcher} after all synchronous
+     * listeners handled it.
+     *
+     * <p>Cancelling or modifying the event from such a listener has no effect
+     * on its outcome, and the event may be dropped entirely if the dispatcher
+     * is saturated, depending on the configured saturation policy.</p>
+     *
+     * @param plugin The plugin instance
+     * @param eventClass The event class to listen to
+     * @param handler The listener
+     * @param <T> The type of the event
+     */
+    public <T extends Event> void registerAsyncListener(Object plugin, Class<T> eventClass, EventListener<? super T> handler) {
+        getAsyncDispatcher();
+        register(createAsyncRegistration(getPlugin(plugin), eventClass, handler));
+    }
+
+    /**
+     * Gets the dispatcher of asynchronous listeners, creating it if it
+     * doesn't exist yet.
+     *
+     * @return The dispatcher
+     */
+    public AsyncEventDispatcher getAsyncDispatcher() {
+        AsyncEventDispatcher dispatcher = this.asyncDispatcher;
+        if (dispatcher == null) {
+            synchronized (this.lock) {
+                dispatcher = this.asyncDispatcher;
+                if (dispatcher == null) {
+                    this.asyncDispatcher = dispatcher = AsyncEventDispatcher.fromConfig();
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Gets the dispatcher of asynchronous listeners, if any asynchronous
+     * listener was ever registered.
+     *
+     * @return The dispatcher, if present
+     */
+    public Optional<AsyncEventDispatcher> getAsyncDispatcherIfPresent() {
+        return Optional.ofNullable(this.asyncDispatcher);
+    }
+
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changedTypes = Sets.newHashSet();
 
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
-            }
+            invalidateHandlers(changedTypes);
         }
     }
 
@@ -249,11 +359,62 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
+    }
+
+    protected RegisteredListener.Cache getHandlerCache(Class<?> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            // Bake while holding the lock, otherwise a concurrent invalidation
+            // could be overwritten by a cache baked from the old handlers
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(eventClass);
+                    this.handlersCache.put(eventClass, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Checks whether any registered handler could receive an event of the
+     * given type, or of any of its sub types.
+     *
+     * <p>This is meant to be used before constructing expensive events, if
+     * it returns {@code false} the construction and posting of the event can
+     * be skipped entirely. The answer is cached per event class and only
+     * invalidated if handlers related to the event class change.</p>
+     *
+     * @param eventClass The event class
+     * @return Whether there is any handler for the event type
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        Boolean hasListeners = this.hasListenersCache.get(checkNotNull(eventClass, "eventClass"));
+        if (hasListeners == null) {
+            synchronized (this.lock) {
+                hasListeners = this.hasListenersCache.get(eventClass);
+                if (hasListeners == null) {
+                    hasListeners = false;
+                    for (Class<?> type : this.handlersByEvent.keySet()) {
+                        if (type.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(type)) {
+                            hasListeners = true;
+                            break;
+                        }
+                    }
+                    this.hasListenersCache.put(eventClass, hasListeners);
+                }
+            }
+        }
+        return hasListeners;
     }
 
     @SuppressWarnings("unchecked")
-    protected static boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    protected static boolean post(Event event, RegisteredListener<?>[] handlers) {
+        if (handlers.length == 0) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
             try {
@@ -269,17 +430,43 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    // Posts the event to the synchronous listeners, then hands it to the asynchronous ones
+    private boolean post(Event event, RegisteredListener<?>[] listeners, RegisteredListener<?>[] asyncListeners) {
+        boolean cancelled = post(event, listeners);
+        if (asyncListeners.length != 0) {
+            getAsyncDispatcher().dispatch(event, asyncListeners);
+        }
+        return cancelled;
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        return post(event, cache.getListeners(), cache.getAsyncListeners());
     }
     
     public boolean post(Event event, boolean allowClientThread) {
         return post(event);
     }
 
+    /**
+     * Posts the event to the listeners of a single {@link Order}. The
+     * asynchronous listeners are only dispatched when posting
+     * {@link Order#POST}, after the synchronous listeners of every order
+     * handled the event.
+     *
+     * @param event The event
+     * @param order The order
+     * @return True if the event is cancelled
+     */
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        return post(event, cache.getListenersByOrder(order), getAsyncListenersAfter(cache, order));
+    }
+
+    // The event may still be changed by the synchronous listeners of later orders until the last order was posted
+    static RegisteredListener<?>[] getAsyncListenersAfter(RegisteredListener.Cache cache, Order order) {
+        return order == Order.POST ? cache.getAsyncListeners() : RegisteredListener.Cache.EMPTY;
     }
 
 }
@@ -24,10 +24,18 @@
  */
 package org.spongepowered.common.interfaces;
 
-public interface IMixinCachable {
+import org.spongepowered.common.util.IpSet;
 
-    long getCacheKey();
+import java.util.Optional;
 
-    void setCacheKey(long key);
+public interface IMixinIPBanEntry {
+
+    /**
+     * Gets the range of addresses this ban applies to, if it was created
+     * for a CIDR range rather than a single address.
+     *
+     * @return The banned range
+     */
+    Optional<IpSet> getRange();
 
 }
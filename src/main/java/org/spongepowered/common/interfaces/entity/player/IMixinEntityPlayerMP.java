@@ -44,6 +44,8 @@ default boolean usesCustomClient() {
 
     void setVelocityOverride(@Nullable Vector3d velocity);
 
+    void setVelocityOverride(double x, double y, double z);
+
     MessageChannel getDeathMessageChannel();
 
     ItemStack getPacketItem();
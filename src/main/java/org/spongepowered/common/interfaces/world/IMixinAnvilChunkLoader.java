@@ -24,10 +24,14 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface IMixinAnvilChunkLoader {
 
     // Forge method
@@ -35,4 +39,55 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets whether the chunk was saved, but not yet written to its region
+     * file.
+     *
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return True if the chunk is waiting to be written
+     */
+    boolean hasPendingChunk(int x, int z);
+
+    /**
+     * Gets the saved data of the chunk, if it was not yet written to its
+     * region file.
+     *
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return The chunk data, or null if the chunk isn't waiting to be
+     *     written
+     */
+    @Nullable
+    NBTTagCompound getPendingChunk(int x, int z);
+
+    /**
+     * Gets the amount of chunks that were saved, but not yet written to
+     * their region files.
+     *
+     * @return The amount of pending chunks
+     */
+    int getPendingChunkCount();
+
+    /**
+     * Sets the incremental saver whose chunk save thread writes the chunks
+     * of this loader instead of the vanilla file IO thread. This must be set
+     * before the first chunk is saved, so only one thread writes the region
+     * files of the loader.
+     *
+     * @param saver The incremental saver, or null to use the file IO thread
+     */
+    void setChunkSaver(@Nullable IncrementalChunkSaver saver);
+
+    /**
+     * Writes the next chunk that is waiting to be written to its region
+     * file. The chunk stays pending until it is written, so it is read from
+     * memory when loaded in the meantime. Must only be called by the thread
+     * writing the chunks of this loader.
+     *
+     * @return The amount of uncompressed bytes written, or -1 if no chunk
+     *     was waiting to be written
+     */
+    long writeNextChunk();
+
 }
@@ -30,6 +30,7 @@
 import org.spongepowered.api.world.PortalAgentType;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.world.storage.PlayerIdTable;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -44,6 +45,8 @@ public interface IMixinWorldInfo {
 
     Optional<UUID> getUniqueIdForIndex(int index);
 
+    PlayerIdTable getPlayerIdTable();
+
     int getDimensionId();
 
     boolean getIsMod();
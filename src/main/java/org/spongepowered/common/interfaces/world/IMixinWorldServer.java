@@ -24,7 +24,11 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
+
 public interface IMixinWorldServer {
 
     int getChunkGCTickInterval();
+
+    IncrementalChunkSaver getIncrementalSaver();
 }
@@ -24,7 +24,16 @@
  */
 package org.spongepowered.common.interfaces.world.gen;
 
+import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.api.data.DataContainer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
 
@@ -42,4 +51,40 @@ public interface IMixinChunkProviderServer {
     Chunk getChunkIfLoaded(int x, int z);
 
     void setMaxChunkUnloads(int maxUnloads);
+
+    /**
+     * Gets the chunk loader used to save chunks of this provider.
+     *
+     * @return The chunk loader
+     */
+    IChunkLoader getChunkLoader();
+
+    /**
+     * Serializes the chunk and queues it to be written by its chunk loader,
+     * if it was modified since it was last saved.
+     *
+     * @param chunk The chunk to save
+     * @return True if the chunk needed to be saved
+     */
+    boolean saveChunk(Chunk chunk);
+
+    /**
+     * Checks which of the chunks exist in the world storage, reading every
+     * region file header involved only once.
+     *
+     * @param chunkCoords The chunk coordinates
+     * @return Whether each chunk exists
+     */
+    CompletableFuture<Map<Vector3i, Boolean>> doChunksExist(Collection<Vector3i> chunkCoords);
+
+    /**
+     * Reads the data of the chunks from the world storage, grouped by region
+     * file. The consumer receives the data of every chunk as soon as it was
+     * read, from the thread that read it.
+     *
+     * @param chunkCoords The chunk coordinates
+     * @param consumer The thread safe consumer of the chunk data
+     * @return A future completed once all chunks were read
+     */
+    CompletableFuture<Void> getChunksData(Collection<Vector3i> chunkCoords, BiConsumer<Vector3i, Optional<DataContainer>> consumer);
 }
@@ -34,19 +34,25 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinIPBanEntry;
+import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Date;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
 
 @Mixin(IPBanEntry.class)
-public abstract class MixinIPBanEntry extends BanEntry<String> implements Ban.Ip {
+public abstract class MixinIPBanEntry extends BanEntry<String> implements Ban.Ip, IMixinIPBanEntry {
 
     public MixinIPBanEntry(String valueIn, Date startDate, String banner, Date endDate, String banReason) {
         super(valueIn, startDate, banner, endDate, banReason);
     }
 
     private InetAddress address;
+    @Nullable private IpSet range;
 
     @Inject(method = "<init>(Ljava/lang/String;Ljava/util/Date;Ljava/lang/String;Ljava/util/Date;Ljava/lang/String;)V", at = @At("RETURN"))
     public void onInit(CallbackInfo ci) {
@@ -59,6 +65,15 @@ public void onInit(JsonObject object, CallbackInfo ci) {
     }
 
     private void setAddress() {
+        if (this.value.indexOf('/') != -1) {
+            try {
+                this.range = IpSet.fromCidr(this.value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Error parsing Ban IP range!", e);
+            }
+            this.address = this.range.getNetworkAddress();
+            return;
+        }
         try {
             this.address = InetAddress.getByName(this.value);
         } catch (UnknownHostException e) {
@@ -75,4 +90,9 @@ public BanType getType() {
     public InetAddress getAddress() {
         return this.address;
     }
+
+    @Override
+    public Optional<IpSet> getRange() {
+        return Optional.ofNullable(this.range);
+    }
 }
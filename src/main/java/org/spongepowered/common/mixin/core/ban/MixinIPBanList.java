@@ -36,6 +36,9 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.IMixinIPBanEntry;
+import org.spongepowered.common.service.ban.SpongeBanService;
+import org.spongepowered.common.util.IpSet;
 
 import java.io.File;
 import java.net.InetAddress;
@@ -44,6 +47,7 @@
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Mixin(BanList.class) // This is a bad MCP name, it's really IPBanList
 public abstract class MixinIPBanList extends UserList<String, IPBanEntry> {
@@ -97,7 +101,8 @@ public void removeEntry(String object) {
     public String[] getKeys() {
         List<String> ips = new ArrayList<>();
         for (Ban.Ip ban: Sponge.getServiceManager().provideUnchecked(BanService.class).getIpBans()) {
-            ips.add(this.addressToString(new InetSocketAddress(ban.getAddress(), 0)));
+            Optional<IpSet> range = ((IMixinIPBanEntry) ban).getRange();
+            ips.add(range.isPresent() ? SpongeBanService.toRangeKey(range.get()) : this.addressToString(new InetSocketAddress(ban.getAddress(), 0)));
         }
         return ips.toArray(new String[ips.size()]);
     }
@@ -198,6 +198,11 @@ public abstract class MixinEntityPlayerMP extends MixinEntityPlayer implements P
     private Scoreboard spongeScoreboard = Sponge.getGame().getServer().getServerScoreboard().get();
 
     @Nullable private Vector3d velocityOverride = null;
+    // Set for every movement packet, the vector is only created when asked for
+    private boolean hasVelocityOverride = false;
+    private double velocityOverrideX;
+    private double velocityOverrideY;
+    private double velocityOverrideZ;
 
     @Inject(method = "removeEntity", at = @At(value = "INVOKE",
             target = "Lnet/minecraft/network/NetHandlerPlayServer;sendPacket(Lnet/minecraft/network/Packet;)V"))
@@ -616,7 +621,10 @@ public void setSleepingIgnored(boolean sleepingIgnored) {
 
     @Override
     public Vector3d getVelocity() {
-        if (this.velocityOverride != null) {
+        if (this.hasVelocityOverride) {
+            if (this.velocityOverride == null) {
+                this.velocityOverride = new Vector3d(this.velocityOverrideX, this.velocityOverrideY, this.velocityOverrideZ);
+            }
             return this.velocityOverride;
         }
         return super.getVelocity();
@@ -626,11 +634,22 @@ public Vector3d getVelocity() {
     public void setImplVelocity(Vector3d velocity) {
         super.setImplVelocity(velocity);
         this.velocityOverride = null;
+        this.hasVelocityOverride = false;
     }
 
     @Override
     public void setVelocityOverride(@Nullable Vector3d velocity) {
         this.velocityOverride = velocity;
+        this.hasVelocityOverride = velocity != null;
+    }
+
+    @Override
+    public void setVelocityOverride(double x, double y, double z) {
+        this.velocityOverride = null;
+        this.hasVelocityOverride = true;
+        this.velocityOverrideX = x;
+        this.velocityOverrideY = y;
+        this.velocityOverrideZ = z;
     }
 
     @SuppressWarnings("unchecked")
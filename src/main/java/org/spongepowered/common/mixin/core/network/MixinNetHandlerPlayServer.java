@@ -112,6 +112,8 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.WorldCategory;
+import org.spongepowered.common.entity.player.PlayerMovementTracker;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
@@ -150,7 +152,7 @@ public abstract class MixinNetHandlerPlayServer implements PlayerConnection, IMi
     @Shadow public abstract void kickPlayerFromServer(String reason);
 
     private boolean justTeleported = false;
-    private Location<World> lastMoveLocation = null;
+    private final PlayerMovementTracker lastMove = new PlayerMovementTracker();
 
     private final Map<String, ResourcePack> sentResourcePacks = new HashMap<>();
 
@@ -361,68 +363,76 @@ public void setPlayerLocation(double x, double y, double z, float yaw, float pit
     @Inject(method = "processPlayer", at = @At(value = "FIELD", target = "net.minecraft.network.NetHandlerPlayServer.hasMoved:Z", ordinal = 2), cancellable = true)
     public void proccesPlayerMoved(C03PacketPlayer packetIn, CallbackInfo ci){
         if (packetIn.isMoving() || packetIn.getRotating() && !this.playerEntity.isDead) {
-            Player player = (Player) this.playerEntity;
-            IMixinEntity spongeEntity = (IMixinEntity) this.playerEntity;
-            Vector3d fromrot = player.getRotation();
-
-            // If Sponge used the player's current location, the delta might never be triggered which could be exploited
-            Location<World> from = player.getLocation();
-            if (this.lastMoveLocation != null) {
-                from = this.lastMoveLocation;
-            }
-
-            Vector3d torot = new Vector3d(packetIn.getPitch(), packetIn.getYaw(), 0);
-            Location<World> to = new Location<>(player.getWorld(), packetIn.getPositionX(), packetIn.getPositionY(), packetIn.getPositionZ());
+            // Positions are compared as primitives, objects are only created once the move event is fired
+            final EntityPlayerMP playerMP = this.playerEntity;
+            final int dimensionId = playerMP.worldObj.provider.getDimensionId();
 
             // Minecraft sends a 0, 0, 0 position when rotation only update occurs, this needs to be recognized and corrected
             boolean rotationOnly = !packetIn.isMoving() && packetIn.getRotating();
-            if (rotationOnly) {
-                // Correct the to location so it's not misrepresented to plugins, only when player rotates without moving
-                // In this case it's only a rotation update, which isn't related to the to location
-                from = player.getLocation();
-                to = from;
-            }
-
             // Minecraft does the same with rotation when it's only a positional update
             boolean positionOnly = packetIn.isMoving() && !packetIn.getRotating();
-            if (positionOnly) {
-                // Correct the new rotation to match the old rotation
-                torot = fromrot;
-            }
-
-            ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(to.getPosition().sub(from.getPosition()));
 
-            double deltaSquared = to.getPosition().distanceSquared(from.getPosition());
-            double deltaAngleSquared = fromrot.distanceSquared(torot);
+            // If Sponge used the player's current location, the delta might never be triggered which could be exploited.
+            // When only rotating, the from location is the current one and isn't related to the packet's position
+            final boolean useLastMove = !rotationOnly && this.lastMove.isTracking(dimensionId);
+            final double fromX = useLastMove ? this.lastMove.getX() : playerMP.posX;
+            final double fromY = useLastMove ? this.lastMove.getY() : playerMP.posY;
+            final double fromZ = useLastMove ? this.lastMove.getZ() : playerMP.posZ;
+            final double fromPitch = playerMP.rotationPitch;
+            final double fromYaw = playerMP.rotationYaw;
+
+            final double toX = rotationOnly ? fromX : packetIn.getPositionX();
+            final double toY = rotationOnly ? fromY : packetIn.getPositionY();
+            final double toZ = rotationOnly ? fromZ : packetIn.getPositionZ();
+            // Correct the new rotation to match the old rotation
+            final double toPitch = positionOnly ? fromPitch : packetIn.getPitch();
+            final double toYaw = positionOnly ? fromYaw : packetIn.getYaw();
+
+            ((IMixinEntityPlayerMP) playerMP).setVelocityOverride(toX - fromX, toY - fromY, toZ - fromZ);
+
+            // Sub-threshold moves are left out to prevent excessive lag from this event
+            final WorldCategory worldConfig = ((IMixinWorld) playerMP.worldObj).getActiveConfig().getConfig().getWorld();
+            if (!PlayerMovementTracker.exceedsThreshold(toX - fromX, toY - fromY, toZ - fromZ, toPitch - fromPitch, toYaw - fromYaw,
+                    worldConfig.getPlayerMoveDistanceThreshold(), worldConfig.getPlayerMoveRotationThreshold())) {
+                return;
+            }
 
-            // These magic numbers are sad but help prevent excessive lag from this event.
-            // eventually it would be nice to not have them
-            if (deltaSquared > ((1f / 16) * (1f / 16)) || deltaAngleSquared > (.15f * .15f)) {
-                Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
-                Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
+            if (SpongeImpl.hasListeners(DisplaceEntityEvent.Move.TargetPlayer.class)) {
+                Player player = (Player) playerMP;
+                IMixinEntity spongeEntity = (IMixinEntity) playerMP;
+                Transform<World> fromTransform = player.getTransform().setLocation(new Location<>(player.getWorld(), fromX, fromY, fromZ))
+                        .setRotation(new Vector3d(fromPitch, fromYaw, 0));
+                Transform<World> toTransform = player.getTransform().setLocation(new Location<>(player.getWorld(), toX, toY, toZ))
+                        .setRotation(new Vector3d(toPitch, toYaw, 0));
                 DisplaceEntityEvent.Move.TargetPlayer event =
                         SpongeEventFactory.createDisplaceEntityEventMoveTargetPlayer(Cause.of(NamedCause.source(player)), fromTransform, toTransform, player);
                 SpongeImpl.postEvent(event);
                 if (event.isCancelled()) {
                     spongeEntity.setLocationAndAngles(fromTransform);
-                    this.lastMoveLocation = from;
-                    ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
+                    this.lastMove.track(dimensionId, fromX, fromY, fromZ);
+                    ((IMixinEntityPlayerMP) playerMP).setVelocityOverride(null);
                     ci.cancel();
+                    return;
                 } else if (!event.getToTransform().equals(toTransform)) {
-                    spongeEntity.setLocationAndAngles(event.getToTransform());
-                    this.lastMoveLocation = event.getToTransform().getLocation();
-                    ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
-                    ci.cancel();
-                } else if (!from.equals(player.getLocation()) && this.justTeleported) {
-                    this.lastMoveLocation = player.getLocation();
-                    // Prevent teleports during the move event from causing odd behaviors
-                    this.justTeleported = false;
-                    ((IMixinEntityPlayerMP) this.playerEntity).setVelocityOverride(null);
+                    Transform<World> eventTo = event.getToTransform();
+                    spongeEntity.setLocationAndAngles(eventTo);
+                    this.lastMove.track(((net.minecraft.world.World) eventTo.getExtent()).provider.getDimensionId(), eventTo.getPosition().getX(),
+                            eventTo.getPosition().getY(), eventTo.getPosition().getZ());
+                    ((IMixinEntityPlayerMP) playerMP).setVelocityOverride(null);
                     ci.cancel();
-                } else {
-                    this.lastMoveLocation = event.getToTransform().getLocation();
+                    return;
                 }
             }
+
+            if (this.justTeleported && (fromX != playerMP.posX || fromY != playerMP.posY || fromZ != playerMP.posZ)) {
+                this.lastMove.track(playerMP.worldObj.provider.getDimensionId(), playerMP.posX, playerMP.posY, playerMP.posZ);
+                // Prevent teleports during the move event from causing odd behaviors
+                this.justTeleported = false;
+                ((IMixinEntityPlayerMP) playerMP).setVelocityOverride(null);
+                ci.cancel();
+            } else {
+                this.lastMove.track(dimensionId, toX, toY, toZ);
+            }
         }
     }
 
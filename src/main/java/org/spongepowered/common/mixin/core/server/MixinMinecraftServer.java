@@ -95,6 +95,7 @@
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
@@ -109,6 +110,8 @@
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.WorldMigrator;
+import org.spongepowered.common.world.gen.AsyncTerrainGenerator;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 import org.spongepowered.common.world.storage.WorldServerMultiAdapterWorldInfo;
 
@@ -324,6 +327,9 @@ public void shutdown(Text kickMessage) {
 
     @Inject(method = "stopServer()V", at = @At("HEAD"))
     public void onServerStopping(CallbackInfo ci) {
+        // Stop the terrain generation thread rather than holding the server lock, stopServer may
+        // run on the shutdown hook thread while the main thread still needs the lock
+        AsyncTerrainGenerator.shutdown();
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
     }
 
@@ -1083,6 +1089,7 @@ public String toString() {
 
     @Inject(method = "tick", at = @At(value = "HEAD"))
     public void onServerTickStart(CallbackInfo ci) {
+        AsyncTerrainGenerator.lockServer();
         TimingsManager.FULL_SERVER_TICK.startTiming();
     }
 
@@ -1098,6 +1105,7 @@ public void onServerTickEnd(CallbackInfo ci) {
         }
         StaticMixinHelper.lastAnimationPacketTick = 0;
         TimingsManager.FULL_SERVER_TICK.stopTiming();
+        AsyncTerrainGenerator.unlockServer();
     }
 
     @ModifyConstant(method = "tick", constant = @Constant(intValue = 900))
@@ -1135,6 +1143,11 @@ protected void saveAllWorlds(boolean dontLog)
                     // Sponge start - check auto save interval in world config
                     if (this.isDedicatedServer() && !this.serverStopped) {
                         IMixinWorld spongeWorld = (IMixinWorld) worldserver;
+                        IncrementalChunkSaver incrementalSaver = ((IMixinWorldServer) worldserver).getIncrementalSaver();
+                        if (dontLog) {
+                            // Called every tick by getSaveTickInterval, continue the running auto-save
+                            incrementalSaver.tick();
+                        }
                         int autoSaveInterval = spongeWorld.getActiveConfig().getConfig().getWorld().getAutoSaveInterval();
                         boolean logAutoSave = spongeWorld.getActiveConfig().getConfig().getLogging().worldAutoSaveLogging();
                         if (autoSaveInterval <= 0) {
@@ -1152,6 +1165,16 @@ protected void saveAllWorlds(boolean dontLog)
                             logger.info("Auto-saving chunks for level \'" + worldserver.getWorldInfo().getWorldName() + "\'/"
                                     + worldserver.provider.getDimensionName());
                          }
+                        if (dontLog && spongeWorld.getActiveConfig().getConfig().getWorld().isIncrementalAutoSave()) {
+                            // Save the level data and a few chunks right away, the rest is spread over the next ticks
+                            try {
+                                worldserver.saveAllChunks(false, (IProgressUpdate) null);
+                            } catch (MinecraftException minecraftexception) {
+                                logger.warn(minecraftexception.getMessage());
+                            }
+                            incrementalSaver.start();
+                            continue;
+                        }
                     } else if (!dontLog) {
                         logger.info("Saving chunks for level \'" + worldserver.getWorldInfo().getWorldName() + "\'/"
                                 + worldserver.provider.getDimensionName());
@@ -1106,7 +1106,7 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
             // Don't capture if we are restoring blocks
             final CauseTracker causeTracker = this.getCauseTracker();
             if (!this.isRemote && causeTracker.isCapturingBlocks()) {
-                originalBlockSnapshot = null;
+                causeTracker.preCaptureBlockChange(pos);
                 originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState,
                         (IBlockAccess) this, pos), pos, flags);
 
@@ -54,6 +54,7 @@
 import net.minecraft.world.WorldSettings;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.ChunkProviderServer;
 import org.apache.logging.log4j.Level;
 import org.spongepowered.api.block.ScheduledBlockUpdate;
@@ -110,6 +111,8 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.gen.SpongeChunkProvider;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -145,6 +148,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private int chunkGCLoadThreshold = 0;
     private int chunkGCTickInterval = 600;
     private boolean isCapturingBlocks = false;
+    private IncrementalChunkSaver incrementalSaver;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     public void onConstruct(CallbackInfo ci) {
@@ -166,6 +170,10 @@ public void onConstruct(CallbackInfo ci) {
         updateWorldGenerator();
         this.chunkGCLoadThreshold = this.getActiveConfig().getConfig().getWorld().getChunkLoadThreadhold();
         this.chunkGCTickInterval = this.getActiveConfig().getConfig().getWorld().getTickInterval();
+        this.incrementalSaver = new IncrementalChunkSaver((WorldServer) (Object) this);
+        if (this.getActiveConfig().getConfig().getWorld().isIncrementalAutoSave()) {
+            this.incrementalSaver.attach();
+        }
     }
 
     @Inject(method = "createSpawnPosition(Lnet/minecraft/world/WorldSettings;)V", at = @At("HEAD"), cancellable = true)
@@ -317,6 +325,11 @@ public void onTickEnd(CallbackInfo ci) {
         this.getCauseTracker().setCurrentNotifier(null);
         // Clean up any leaked chunks
         this.doChunkGC();
+        // Generate the terrain in front of moving players while the server is idle
+        IChunkProvider chunkGenerator = ((ChunkProviderServer) this.getChunkProvider()).serverChunkGenerator;
+        if (chunkGenerator instanceof SpongeChunkProvider) {
+            ((SpongeChunkProvider) chunkGenerator).getAsyncTerrainGenerator().tick(this.playerEntities);
+        }
     }
 
     // Chunk GC
@@ -353,6 +366,14 @@ public void onSaveAllChunks(boolean saveAllChunks, IProgressUpdate progressCallb
         }
     }
 
+    @Inject(method = "saveAllChunks", at = @At("RETURN"))
+    public void onSaveAllChunksReturn(boolean saveAllChunks, IProgressUpdate progressCallback, CallbackInfo ci) {
+        // Make sure chunks of an incremental save aren't still being written after a full save
+        if (saveAllChunks) {
+            IncrementalChunkSaver.flush();
+        }
+    }
+
     /**
      * @author blood - May 26th, 2016
      *
@@ -879,4 +900,9 @@ public void setActiveConfig(SpongeConfig<?> config) {
     public int getChunkGCTickInterval() {
         return this.chunkGCTickInterval;
     }
+
+    @Override
+    public IncrementalChunkSaver getIncrementalSaver() {
+        return this.incrementalSaver;
+    }
 }
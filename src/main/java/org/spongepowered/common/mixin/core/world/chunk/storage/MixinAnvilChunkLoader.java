@@ -25,16 +25,19 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Maps;
+import com.google.common.io.CountingOutputStream;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.chunk.storage.RegionFileCache;
+import net.minecraft.world.storage.IThreadedFileIO;
+import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.Transform;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -55,59 +58,49 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
+    private static final String QUEUE_IO =
+            "Lnet/minecraft/world/storage/ThreadedFileIOBase;queueIO(Lnet/minecraft/world/storage/IThreadedFileIO;)V";
 
     @Shadow private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
     @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
     @Shadow @Final private File chunkSaveLocation;
 
+    @Nullable private IncrementalChunkSaver chunkSaver;
+
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
-            NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
-            compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
+        if (!chunk.getTrackedPlayerPositions().isEmpty()) {
+            int[] positions = chunk.getTrackedPlayerPositions().toIntArray();
+            if (positions.length > 0) {
+                NBTTagCompound trackedNbt = new NBTTagCompound();
+                trackedNbt.setIntArray(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE, positions);
+                compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
             }
         }
     }
@@ -115,34 +108,52 @@ public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World wor
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
             IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE, NbtDataUtil.TAG_INT_ARRAY)) {
+                int[] positions = trackedNbt.getIntArray(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE);
+                if (positions.length % 3 == 0) {
+                    chunk.setTrackedPlayerPositions(PlayerTrackerMap.fromIntArray(positions));
                 }
+            } else if (trackedNbt.hasKey(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_LIST)) {
+                chunk.setTrackedPlayerPositions(readLegacyTrackedPositions(
+                        trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND)));
+            }
+        }
+    }
+
+    // Migrates the list of compounds used before the compact int array,
+    // remove in future
+    private static PlayerTrackerMap readLegacyTrackedPositions(NBTTagList positions) {
+        PlayerTrackerMap trackedPositions = new PlayerTrackerMap();
+        for (int i = 0; i < positions.tagCount(); i++) {
+            NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int owner = PlayerTrackerMap.NONE;
+            int notifier = PlayerTrackerMap.NONE;
+            if (valueNbt.hasKey("owner")) {
+                owner = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                owner = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifier = valueNbt.getInteger("notifier");
+            }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
+            if (notifier != PlayerTrackerMap.NONE || owner != PlayerTrackerMap.NONE) {
+                int key;
+                if (valueNbt.hasKey("pos")) {
+                    // x in bits 0-3, y in bits 4-11 and z in bits 12-15
+                    short pos = valueNbt.getShort("pos");
+                    key = PlayerTrackerMap.key(pos & 0xF, pos >> 4 & 0xFF, pos >> 12 & 0xF);
+                } else {
+                    // x in bits 0-3, y in bits 4-27 and z in bits 28-31
+                    int pos = valueNbt.getInteger("ipos");
+                    key = PlayerTrackerMap.key(pos & 0xF, pos >> 4 & 0xFFFFFF, pos >>> 28);
                 }
+                trackedPositions.set(key, owner, notifier);
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
+        return trackedPositions;
     }
 
     /**
@@ -204,4 +215,69 @@ public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Override
+    public boolean hasPendingChunk(int x, int z) {
+        return this.chunksToRemove.containsKey(new ChunkCoordIntPair(x, z));
+    }
+
+    @Nullable
+    @Override
+    public NBTTagCompound getPendingChunk(int x, int z) {
+        return this.chunksToRemove.get(new ChunkCoordIntPair(x, z));
+    }
+
+    @Override
+    public int getPendingChunkCount() {
+        return this.chunksToRemove.size();
+    }
+
+    @Override
+    public void setChunkSaver(@Nullable IncrementalChunkSaver saver) {
+        this.chunkSaver = saver;
+    }
+
+    @Redirect(method = "addChunkToPending", at = @At(value = "INVOKE", target = QUEUE_IO))
+    private void onQueueIO(ThreadedFileIOBase fileIO, IThreadedFileIO threadedFileIO) {
+        // The chunk save thread must be the only writer of this loader
+        if (this.chunkSaver != null) {
+            this.chunkSaver.queueWrites();
+        } else {
+            fileIO.queueIO(threadedFileIO);
+        }
+    }
+
+    @Inject(method = "saveExtraData", at = @At("HEAD"))
+    private void onSaveExtraData(CallbackInfo ci) {
+        // Let the chunk save thread finish first, so the loop in saveExtraData doesn't write concurrently
+        if (this.chunkSaver != null) {
+            IncrementalChunkSaver.flush();
+        }
+    }
+
+    @Override
+    public long writeNextChunk() {
+        final Iterator<Map.Entry<ChunkCoordIntPair, NBTTagCompound>> it = this.chunksToRemove.entrySet().iterator();
+        if (!it.hasNext()) {
+            return -1;
+        }
+        final Map.Entry<ChunkCoordIntPair, NBTTagCompound> entry = it.next();
+        final ChunkCoordIntPair pos = entry.getKey();
+        final NBTTagCompound compound = entry.getValue();
+        long bytes = 0;
+        try {
+            final CountingOutputStream counter =
+                    new CountingOutputStream(RegionFileCache.getChunkOutputStream(this.chunkSaveLocation, pos.chunkXPos, pos.chunkZPos));
+            try (DataOutputStream out = new DataOutputStream(counter)) {
+                CompressedStreamTools.write(compound, out);
+            }
+            bytes = counter.getCount();
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Failed to save chunk " + pos, e);
+        }
+        // Only drop the compound once it is written, unless the chunk was saved again in the meantime. Chunks loaded
+        // during the write read the pending compound and a newer compound is written by the next call.
+        this.chunksToRemove.remove(pos, compound);
+        return bytes;
+    }
+
 }
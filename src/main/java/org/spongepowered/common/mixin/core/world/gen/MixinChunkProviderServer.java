@@ -53,9 +53,12 @@
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
 
@@ -70,6 +73,8 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     @Shadow private Chunk dummyChunk;
 
     @Shadow public abstract Chunk loadChunk(int chunkX, int chunkZ);
+    @Shadow protected abstract void saveChunkData(Chunk chunkIn);
+    @Shadow protected abstract void saveChunkExtraData(Chunk chunkIn);
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void onConstruct(WorldServer world, IChunkLoader chunkLoader, IChunkProvider serverChunkGenerator, CallbackInfo ci) {
@@ -132,6 +137,16 @@ public CompletableFuture<Optional<DataContainer>> getChunkData(Vector3i chunkCoo
         return WorldStorageUtil.getChunkData(this.worldObj, this.chunkLoader, chunkCoords);
     }
 
+    @Override
+    public CompletableFuture<Map<Vector3i, Boolean>> doChunksExist(Collection<Vector3i> chunkCoords) {
+        return WorldStorageUtil.doChunksExist(this.chunkLoader, chunkCoords);
+    }
+
+    @Override
+    public CompletableFuture<Void> getChunksData(Collection<Vector3i> chunkCoords, BiConsumer<Vector3i, Optional<DataContainer>> consumer) {
+        return WorldStorageUtil.getChunksData(this.chunkLoader, chunkCoords, consumer);
+    }
+
     @Override
     public WorldProperties getWorldProperties() {
         return (WorldProperties) this.worldObj.getWorldInfo();
@@ -184,4 +199,21 @@ private int modifyUnloadCount(int original) {
     public void setMaxChunkUnloads(int maxUnloads) {
         this.maxChunkUnloads = maxUnloads;
     }
+
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
+    @Override
+    public boolean saveChunk(Chunk chunk) {
+        // Same as a single iteration of saveChunks(true, null)
+        this.saveChunkExtraData(chunk);
+        if (!chunk.needsSaving(true)) {
+            return false;
+        }
+        this.saveChunkData(chunk);
+        chunk.setModified(false);
+        return true;
+    }
 }
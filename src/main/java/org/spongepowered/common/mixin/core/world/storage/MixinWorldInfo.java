@@ -28,8 +28,6 @@
 
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
@@ -79,12 +77,10 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.persistence.JsonTranslator;
+import org.spongepowered.common.world.storage.PlayerIdTable;
 
 import java.nio.file.Files;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -101,9 +97,7 @@ public abstract class MixinWorldInfo implements WorldProperties, IMixinWorldInfo
     private NBTTagCompound spongeRootLevelNbt;
     private NBTTagCompound spongeNbt;
     private NBTTagList playerUniqueIdNbt;
-    private BiMap<Integer, UUID> playerUniqueIdMap = HashBiMap.create();
-    private List<UUID> pendingUniqueIds = new ArrayList<>();
-    private int trackedUniqueIdCount = 0;
+    private final PlayerIdTable playerIdTable = new PlayerIdTable();
     private SpongeConfig<WorldConfig> worldConfig;
     @SuppressWarnings("unused")
     private ServerScoreboard scoreboard;
@@ -661,18 +655,17 @@ public void setPropertySection(DataQuery path, DataView data) {
 
     @Override
     public int getIndexForUniqueId(UUID uuid) {
-        if (this.playerUniqueIdMap.inverse().get(uuid) == null) {
-            this.playerUniqueIdMap.put(this.trackedUniqueIdCount, uuid);
-            this.pendingUniqueIds.add(uuid);
-            return this.trackedUniqueIdCount++;
-        } else {
-            return this.playerUniqueIdMap.inverse().get(uuid);
-        }
+        return this.playerIdTable.getOrCreateIndex(uuid);
     }
 
     @Override
     public Optional<UUID> getUniqueIdForIndex(int index) {
-        return Optional.ofNullable(this.playerUniqueIdMap.get(index));
+        return Optional.ofNullable(this.playerIdTable.getUniqueId(index));
+    }
+
+    @Override
+    public PlayerIdTable getPlayerIdTable() {
+        return this.playerIdTable;
     }
 
     @Override
@@ -715,13 +708,7 @@ public void readSpongeNbt(NBTTagCompound nbt) {
         DimensionRegistryModule.getInstance().getAll().stream().filter(type -> type.getId().equalsIgnoreCase(nbt.getString(NbtDataUtil.DIMENSION_TYPE)))
                 .forEach(type -> this.dimensionType = type);
         this.portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(NbtDataUtil.PORTAL_AGENT_TYPE), this.levelName);
-        this.trackedUniqueIdCount = 0;
-        for (int i = 0; i < this.playerUniqueIdNbt.tagCount(); i++) {
-            NBTTagCompound valueNbt = this.playerUniqueIdNbt.getCompoundTagAt(i);
-            UUID uuid = new UUID(valueNbt.getLong(NbtDataUtil.WORLD_UUID_MOST), valueNbt.getLong(NbtDataUtil.WORLD_UUID_LEAST));
-            this.playerUniqueIdMap.put(this.trackedUniqueIdCount, uuid);
-            this.trackedUniqueIdCount++;
-        }
+        this.playerIdTable.read(this.playerUniqueIdNbt);
     }
 
     private void writeSpongeNbt() {
@@ -741,15 +728,7 @@ private void writeSpongeNbt() {
             this.spongeNbt.setBoolean(NbtDataUtil.IS_MOD, true);
         }
 
-        Iterator<UUID> iterator = this.pendingUniqueIds.iterator();
-        while (iterator.hasNext()) {
-            UUID uuidToAdd = iterator.next();
-            NBTTagCompound valueNbt = new NBTTagCompound();
-            valueNbt.setLong(NbtDataUtil.WORLD_UUID_MOST, uuidToAdd.getMostSignificantBits());
-            valueNbt.setLong(NbtDataUtil.WORLD_UUID_LEAST, uuidToAdd.getLeastSignificantBits());
-            this.playerUniqueIdNbt.appendTag(valueNbt);
-            iterator.remove();
-        }
+        this.playerIdTable.writePending(this.playerUniqueIdNbt);
     }
 
     @Override
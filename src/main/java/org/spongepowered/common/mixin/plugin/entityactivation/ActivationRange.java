@@ -27,6 +27,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityCreature;
 import net.minecraft.entity.EntityLivingBase;
@@ -53,7 +54,9 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -67,7 +70,10 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ActivationRange {
@@ -81,11 +87,6 @@ public class ActivationRange {
             .build();
 
     static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
     @SuppressWarnings("serial") static Map<Byte, Integer> maxActivationRanges = new HashMap<Byte, Integer>() {
 
         {
@@ -216,20 +217,26 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Players are first grouped by the loaded chunks that fall within
+     * their maximum activation range, so that every chunk holding entities
+     * is visited exactly once no matter how many players are nearby.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        for (EntityPlayer player : world.playerEntities) {
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
 
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
-            }
+        final int maxRange = getMaxActivationRange();
+        final long currentTick = world.getWorldInfo().getWorldTotalTime();
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).theChunkProviderServer;
+        final TLongObjectHashMap<List<EntityPlayer>> playersByChunk = new TLongObjectHashMap<>();
+        final List<Chunk> activeChunks = new ArrayList<>();
+        final List<List<EntityPlayer>> activePlayers = new ArrayList<>();
 
-            maxRange = Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
             growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
 
             int i = MathHelper.floor_double(maxBB.minX / 16.0D);
@@ -239,94 +246,128 @@ public static void activateEntities(World world) {
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) worldserver.theChunkProviderServer;
-                    Chunk chunk = chunkProvider.getChunkIfLoaded(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+                    long key = ChunkCoordIntPair.chunkXZ2Int(i1, j1);
+                    List<EntityPlayer> players = playersByChunk.get(key);
+                    if (players == null) {
+                        Chunk chunk = chunkProvider.getChunkIfLoaded(i1, j1);
+                        if (chunk == null || !hasEntities(chunk)) {
+                            // Remember unloaded and empty chunks so other players skip the lookup
+                            playersByChunk.put(key, Collections.<EntityPlayer>emptyList());
+                            continue;
+                        }
+                        players = new ArrayList<>(4);
+                        playersByChunk.put(key, players);
+                        activeChunks.add(chunk);
+                        activePlayers.add(players);
+                    } else if (players.isEmpty()) {
+                        continue;
                     }
+                    players.add(player);
                 }
             }
         }
+
+        for (int index = 0; index < activeChunks.size(); index++) {
+            activateChunkEntities(activeChunks.get(index), activePlayers.get(index), currentTick);
+        }
     }
 
     /**
-     * Checks for the activation state of all entities in this chunk.
+     * Gets the largest activation range of all activation types, capped by
+     * the server view distance.
+     *
+     * @return The maximum activation range
+     */
+    private static int getMaxActivationRange() {
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
+            }
+        }
+
+        return Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
+    }
+
+    private static boolean hasEntities(Chunk chunk) {
+        for (ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            if (!entityList.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks for the activation state of all entities in this chunk against
+     * every player whose maximum activation range covers it.
      *
      * @param chunk Chunk to check for activation
+     * @param players The players in range of the chunk
+     * @param currentTick The current world tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
+    private static void activateChunkEntities(Chunk chunk, List<EntityPlayer> players, long currentTick) {
+        SpongeConfig<?> config = ((IMixinWorld) chunk.getWorld()).getActiveConfig();
+        if (config == null) {
+            return;
+        }
+
+        for (ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            if (entityList.isEmpty()) {
+                continue;
+            }
+
+            for (Entity entity : entityList) {
+                IModData_Activation spongeEntity = (IModData_Activation) entity;
+                if (currentTick <= spongeEntity.getActivatedTick()) {
+                    continue;
+                }
 
-            for (Object o : chunk.getEntityLists()[i]) {
-                Entity entity = (Entity) o;
-                SpongeConfig<?> config = ((IMixinWorld) entity.worldObj).getActiveConfig();
                 SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (config == null || type == null) {
+                if (type == null) {
                     continue;
                 }
 
-                long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
-                        continue;
-                    }
+                if (spongeEntity.getDefaultActivationState()) {
+                    spongeEntity.setActivatedTick(currentTick);
+                    continue;
+                }
 
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
-                    // check if activation cache needs to be updated
-                    if (spongeEntity.requiresCacheRefresh()) {
-                        ActivationRange.initializeEntityActivationState(entity);
-                        spongeEntity.requiresCacheRefresh(false);
-                    }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
+                // check if activation cache needs to be updated
+                if (spongeEntity.requiresCacheRefresh()) {
+                    ActivationRange.initializeEntityActivationState(entity);
+                    spongeEntity.requiresCacheRefresh(false);
+                }
 
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
+                int activationRange = spongeEntity.getActivationRange();
+                AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                for (int i = 0; i < players.size(); i++) {
+                    if (isInActivationRange(players.get(i).getEntityBoundingBox(), entityBB, activationRange)) {
+                        spongeEntity.setActivatedTick(currentTick);
+                        break;
                     }
                 }
             }
         }
     }
 
+    /**
+     * Checks whether the given entity bounds intersect the player bounds
+     * grown by the activation range. This is equivalent to growing a
+     * bounding box with {@link #growBb} and testing for intersection, without
+     * having to write to a shared box for every entity.
+     *
+     * @param playerBB The player bounding box
+     * @param entityBB The entity bounding box
+     * @param range The activation range of the entity
+     * @return Whether the entity is within range of the player
+     */
+    private static boolean isInActivationRange(AxisAlignedBB playerBB, AxisAlignedBB entityBB, int range) {
+        return entityBB.maxX > playerBB.minX - range && entityBB.minX < playerBB.maxX + range
+                && entityBB.maxY > playerBB.minY - 256 && entityBB.minY < playerBB.maxY + 256
+                && entityBB.maxZ > playerBB.minZ - range && entityBB.minZ < playerBB.maxZ + range;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
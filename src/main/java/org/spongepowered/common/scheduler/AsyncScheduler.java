@@ -24,10 +24,9 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -37,17 +36,23 @@
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // The wheel advances in milliseconds, one revolution covers ~1 second
+    private static final long WHEEL_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WHEEL_SLOTS = 1024;
+
+    // The time the wheel ticks are counted from
+    private final long origin = System.nanoTime();
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The bounded executor of asynchronous tasks, limiting each plugin.
+    private final AsyncTaskExecutor executor = AsyncTaskExecutor.fromConfig();
+    // Work of the implementation itself, kept apart so saturated plugins can't starve it
+    private final ExecutorService internalExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("Sponge-AsyncInternal-%d").setDaemon(true).build());
 
     AsyncScheduler() {
-        super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
+        super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, WHEEL_SLOTS);
 
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
@@ -56,60 +61,46 @@ public class AsyncScheduler extends SchedulerBase {
     }
 
     ExecutorService getExecutor() {
+        return this.internalExecutor;
+    }
+
+    AsyncTaskExecutor getTaskExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
+    @Override
+    protected long getWheelTick() {
+        return (System.nanoTime() - this.origin) / WHEEL_RESOLUTION;
+    }
 
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
-        }
+    @Override
+    protected long toWheelTicks(long remaining, boolean isTicks) {
+        // Async tasks are always in nanoseconds, round up to whole wheel ticks
+        return (remaining + WHEEL_RESOLUTION - 1) / WHEEL_RESOLUTION;
     }
 
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Tasks added while the lock was not held would have missed the signal
+            if (!this.hasAddedTasks()) {
+                long nextTick = this.wheel.nextTick();
+                if (nextTick == Long.MAX_VALUE) {
+                    this.condition.await();
+                } else {
+                    long timeout = this.origin + nextTick * WHEEL_RESOLUTION - System.nanoTime();
+                    if (timeout > 0) {
+                        this.condition.await(timeout, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -118,19 +109,19 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        this.executor.execute(task.getOwner(), runnable, () -> {
+            // Let a dropped repeating task carry on with its next period
+            if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            }
+        });
     }
 
     @Override
@@ -0,0 +1,397 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs asynchronous tasks on a bounded pool of threads, limiting how many
+ * tasks of a single plugin may run and wait at the same time.
+ *
+ * <p>Tasks of a plugin which has reached its concurrency limit wait in a
+ * queue of that plugin, so a plugin flooding the scheduler (for example
+ * while its database is unreachable) only delays its own tasks. Once the
+ * queue of a plugin is full, the {@link SaturationPolicy} decides what
+ * happens to further tasks.</p>
+ */
+public final class AsyncTaskExecutor {
+
+    private static final long DROP_WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * What to do with a task if the queue of its plugin is full.
+     */
+    public enum SaturationPolicy {
+        /**
+         * The new task is not run.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest waiting task of the plugin is discarded to make room
+         * for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The new task runs on a single overflow thread shared by all
+         * plugins, rather than on the scheduler thread which can't accept
+         * new tasks while it runs one. Each plugin may have as many tasks on
+         * the overflow thread as its concurrency limit, and the overflow
+         * queue is bounded, further tasks are discarded like with
+         * {@link #DROP_NEWEST}.
+         */
+        OVERFLOW
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final ThreadPoolExecutor overflow;
+    private final int pluginConcurrency;
+    private final int pluginQueueCapacity;
+    private final SaturationPolicy saturationPolicy;
+    private final Map<PluginContainer, PluginQueue> queues = new ConcurrentHashMap<>();
+
+    AsyncTaskExecutor(int threads, int pluginConcurrency, int pluginQueueCapacity, SaturationPolicy saturationPolicy) {
+        this.pluginConcurrency = Math.max(1, pluginConcurrency);
+        this.pluginQueueCapacity = Math.max(0, pluginQueueCapacity);
+        this.saturationPolicy = saturationPolicy;
+        // The queue of the pool never holds more than the concurrency limit
+        // of every plugin, the plugin queues are where tasks wait
+        this.pool = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge-AsyncScheduler-%d").setDaemon(true).build());
+        this.pool.allowCoreThreadTimeOut(true);
+        this.overflow = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, this.pluginQueueCapacity)),
+                new ThreadFactoryBuilder().setNameFormat("Sponge-AsyncScheduler-Overflow-%d").setDaemon(true).build());
+        this.overflow.allowCoreThreadTimeOut(true);
+    }
+
+    static AsyncTaskExecutor fromConfig() {
+        SchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+        return new AsyncTaskExecutor(config.getAsyncThreads(), config.getAsyncPluginConcurrency(), config.getAsyncPluginQueueCapacity(),
+                config.getAsyncSaturationPolicy());
+    }
+
+    /**
+     * Runs the runnable as a task of the plugin, as soon as the plugin is
+     * below its concurrency limit.
+     *
+     * @param plugin The plugin owning the task
+     * @param runnable The runnable to run
+     * @param onDrop Called if the task is discarded due to saturation
+     */
+    void execute(PluginContainer plugin, Runnable runnable, Runnable onDrop) {
+        PluginQueue queue = getQueue(plugin);
+        queue.stats.submitted.incrementAndGet();
+        Job job = new Job(queue, runnable, onDrop);
+        Job dropped = null;
+        boolean start = false;
+        boolean overflow = false;
+        synchronized (queue) {
+            if (queue.running < this.pluginConcurrency) {
+                queue.running++;
+                start = true;
+            } else if (queue.waiting.size() < this.pluginQueueCapacity) {
+                queue.waiting.add(job);
+            } else if (this.saturationPolicy == SaturationPolicy.OVERFLOW && queue.overflowing < this.pluginConcurrency) {
+                queue.overflowing++;
+                job.overflow = true;
+                overflow = true;
+            } else if (this.saturationPolicy == SaturationPolicy.DROP_OLDEST && !queue.waiting.isEmpty()) {
+                dropped = queue.waiting.poll();
+                queue.waiting.add(job);
+            } else {
+                dropped = job;
+            }
+        }
+
+        if (start) {
+            this.pool.execute(job);
+        } else if (overflow) {
+            try {
+                this.overflow.execute(job);
+            } catch (RejectedExecutionException e) {
+                // The overflow queue is full
+                synchronized (queue) {
+                    queue.overflowing--;
+                }
+                dropped = job;
+            }
+        }
+        if (dropped != null) {
+            dropped.drop();
+        }
+    }
+
+    private PluginQueue getQueue(PluginContainer plugin) {
+        PluginQueue queue = this.queues.get(plugin);
+        if (queue == null) {
+            queue = this.queues.computeIfAbsent(plugin, PluginQueue::new);
+        }
+        return queue;
+    }
+
+    /**
+     * Gets the amount of tasks of all plugins waiting to be run.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (PluginQueue queue : this.queues.values()) {
+            synchronized (queue) {
+                depth += queue.waiting.size();
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Gets the amount of threads currently running tasks.
+     *
+     * @return The active threads
+     */
+    public int getActiveThreads() {
+        return this.pool.getActiveCount();
+    }
+
+    /**
+     * Gets the statistics of the asynchronous tasks of the plugin.
+     *
+     * @param plugin The plugin
+     * @return The statistics, if the plugin submitted any task
+     */
+    public Optional<TaskStats> getStats(PluginContainer plugin) {
+        PluginQueue queue = this.queues.get(plugin);
+        return queue == null ? Optional.empty() : Optional.of(queue.stats);
+    }
+
+    /**
+     * Gets the statistics of the asynchronous tasks of every plugin.
+     *
+     * @return The statistics by plugin
+     */
+    public Map<PluginContainer, TaskStats> getStats() {
+        Map<PluginContainer, TaskStats> stats = new HashMap<>();
+        for (PluginQueue queue : this.queues.values()) {
+            stats.put(queue.plugin, queue.stats);
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private final class PluginQueue {
+
+        final PluginContainer plugin;
+        final TaskStats stats = new TaskStats(this);
+        // Guarded by this queue
+        final ArrayDeque<Job> waiting = new ArrayDeque<>();
+        int running;
+        // Tasks queued or running on the overflow thread
+        int overflowing;
+        long lastDropWarning;
+
+        PluginQueue(PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        void finished(Job job) {
+            if (job.overflow) {
+                synchronized (this) {
+                    this.overflowing--;
+                }
+                return;
+            }
+            Job next;
+            synchronized (this) {
+                next = this.waiting.poll();
+                if (next == null) {
+                    this.running--;
+                }
+            }
+            if (next != null) {
+                AsyncTaskExecutor.this.pool.execute(next);
+            }
+        }
+
+        void dropped() {
+            long dropped = this.stats.dropped.incrementAndGet();
+            long now = System.nanoTime();
+            boolean warn = false;
+            synchronized (this) {
+                if (this.lastDropWarning == 0 || now - this.lastDropWarning > DROP_WARNING_INTERVAL) {
+                    this.lastDropWarning = now;
+                    warn = true;
+                }
+            }
+            if (warn) {
+                SpongeImpl.getLogger().warn("{} is scheduling asynchronous tasks faster than they can run, {} tasks were discarded so far",
+                        this.plugin.getName(), dropped);
+            }
+        }
+    }
+
+    private static final class Job implements Runnable {
+
+        private final PluginQueue queue;
+        private final Runnable runnable;
+        private final Runnable onDrop;
+        private final long submitted = System.nanoTime();
+        // Set before the job is submitted to the overflow thread
+        boolean overflow;
+
+        Job(PluginQueue queue, Runnable runnable, Runnable onDrop) {
+            this.queue = queue;
+            this.runnable = runnable;
+            this.onDrop = onDrop;
+        }
+
+        void drop() {
+            this.queue.dropped();
+            this.onDrop.run();
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            this.queue.stats.latency.record(start - this.submitted);
+            try {
+                this.runnable.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An asynchronous task of {} failed", this.queue.plugin.getName(), t);
+            } finally {
+                this.queue.stats.time.record(System.nanoTime() - start);
+                this.queue.finished(this);
+            }
+        }
+    }
+
+    /**
+     * Statistics of the asynchronous tasks of a single plugin.
+     */
+    public static final class TaskStats {
+
+        private final PluginQueue queue;
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final Duration latency = new Duration();
+        final Duration time = new Duration();
+
+        TaskStats(PluginQueue queue) {
+            this.queue = queue;
+        }
+
+        public long getSubmitted() {
+            return this.submitted.get();
+        }
+
+        public long getDropped() {
+            return this.dropped.get();
+        }
+
+        public long getCompleted() {
+            return this.time.count.get();
+        }
+
+        public int getRunning() {
+            synchronized (this.queue) {
+                return this.queue.running;
+            }
+        }
+
+        public int getQueued() {
+            synchronized (this.queue) {
+                return this.queue.waiting.size();
+            }
+        }
+
+        /**
+         * Gets the total time tasks waited before they started running, in
+         * nanoseconds.
+         *
+         * @return The total latency
+         */
+        public long getTotalLatency() {
+            return this.latency.total.get();
+        }
+
+        /**
+         * Gets the longest time a task waited before it started running, in
+         * nanoseconds.
+         *
+         * @return The maximum latency
+         */
+        public long getMaxLatency() {
+            return this.latency.max.get();
+        }
+
+        /**
+         * Gets the total time spent running tasks, in nanoseconds.
+         *
+         * @return The total time
+         */
+        public long getTotalTime() {
+            return this.time.total.get();
+        }
+
+        /**
+         * Gets the longest time spent running a single task, in nanoseconds.
+         *
+         * @return The maximum time
+         */
+        public long getMaxTime() {
+            return this.time.max.get();
+        }
+    }
+
+    static final class Duration {
+
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long time) {
+            this.count.incrementAndGet();
+            this.total.addAndGet(time);
+            long current;
+            while (time > (current = this.max.get()) && !this.max.compareAndSet(current, time)) {
+                // retry
+            }
+        }
+    }
+
+}
@@ -49,6 +49,8 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    // The wheel tick at which the scheduler looks at this task again
+    long wheelDeadline;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -30,20 +30,29 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 abstract class SchedulerBase {
 
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks added since the last tick, waiting to be placed on the wheel
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<>();
+    // The pending tasks ordered by when they are due, only touched by the
+    // thread running the ticks
+    protected final TimerWheel wheel;
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
-    protected SchedulerBase(ScheduledTask.TaskSynchronicity type) {
+    protected SchedulerBase(ScheduledTask.TaskSynchronicity type, int wheelSlots) {
         this.taskNameFmt = "%s-" + (type == ScheduledTask.TaskSynchronicity.SYNCHRONOUS ? "S" : "A") + "-%d";
+        this.wheel = new TimerWheel(wheelSlots, 0L);
     }
 
     protected String nextName(PluginContainer plugin) {
@@ -65,6 +74,26 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets the current position of the scheduler in ticks of its
+     * {@link TimerWheel}, counting from zero when the scheduler was created.
+     *
+     * @return The current wheel tick
+     */
+    protected abstract long getWheelTick();
+
+    /**
+     * Converts the time left until a task is due into the number of wheel
+     * ticks to wait before looking at the task again. Waiting less than the
+     * remaining time is fine, the task is checked again and rescheduled if
+     * it is not due yet.
+     *
+     * @param remaining The remaining time, in ticks or nanoseconds
+     * @param isTicks Whether the remaining time is in ticks
+     * @return The number of wheel ticks to wait
+     */
+    protected abstract long toWheelTicks(long remaining, boolean isTicks);
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -74,6 +103,16 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.addedTasks.add(task);
+    }
+
+    /**
+     * Gets whether tasks were added since the last tick.
+     *
+     * @return Whether there are added tasks
+     */
+    protected boolean hasAddedTasks() {
+        return !this.addedTasks.isEmpty();
     }
 
     /**
@@ -86,22 +125,39 @@ protected void removeTask(ScheduledTask task) {
     }
 
     protected Optional<Task> getTask(UUID id) {
-        return Optional.<Task>ofNullable(this.taskMap.get(id));
+        ScheduledTask task = this.taskMap.get(id);
+        // Cancelled tasks only leave the map once they would have been due
+        if (task == null || task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            return Optional.empty();
+        }
+        return Optional.of(task);
     }
 
     protected Set<Task> getScheduledTasks() {
-        synchronized (this.taskMap) {
-            return Sets.<Task>newHashSet(this.taskMap.values());
+        Set<Task> tasks = Sets.newHashSet();
+        for (ScheduledTask task : this.taskMap.values()) {
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                tasks.add(task);
+            }
         }
+        return tasks;
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that were added since the last tick, and all tasks
+     * the wheel holds that are due by now.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            List<ScheduledTask> expired = this.wheel.advance(this.getWheelTick());
+            ScheduledTask added;
+            while ((added = this.addedTasks.poll()) != null) {
+                this.processTask(added);
+            }
+            for (int i = 0; i < expired.size(); i++) {
+                this.processTask(expired.get(i));
+            }
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -128,7 +184,8 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes the task, either starting it if it is due or putting it back
+     * on the wheel until it is.
      *
      * @param task The task to process
      */
@@ -139,14 +196,16 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        long threshold = Long.MAX_VALUE;
+        if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+            // The previous run is still waiting to begin, rather than piling
+            // up runs skip this one and look again after another period
+            this.wheel.schedule(task, this.toWheelTicks(task.period, task.intervalIsTicks));
+            return;
+        }
         // Figure out if we start a delayed Task after threshold ticks or, start
         // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
+        boolean waiting = task.getState() == ScheduledTask.ScheduledTaskState.WAITING;
+        long threshold = waiting ? task.offset : task.period;
         // This moment is 'now'
         long now = this.getTimestamp(task);
         // So, if the current time minus the timestamp of the task is greater
@@ -154,14 +213,19 @@ protected void processTask(ScheduledTask task) {
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
+        long remaining = threshold - (now - task.getTimestamp());
+        if (remaining <= 0) {
             task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
             task.setTimestamp(this.getTimestamp(task));
             startTask(task);
             // If task is one time shot, remove it from the map.
             if (task.period == 0L) {
                 this.removeTask(task);
+            } else {
+                this.wheel.schedule(task, this.toWheelTicks(task.period, task.intervalIsTicks));
             }
+        } else {
+            this.wheel.schedule(task, this.toWheelTicks(remaining, waiting ? task.delayIsTicks : task.intervalIsTicks));
         }
     }
 
@@ -171,7 +235,7 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             try {
                 task.getConsumer().accept(task);
@@ -185,8 +249,9 @@ protected void startTask(final ScheduledTask task) {
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task being started
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -191,6 +191,15 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the executor running the tasks of the asynchronous scheduler.
+     *
+     * @return The executor
+     */
+    public AsyncTaskExecutor getAsyncTaskExecutor() {
+        return this.asyncScheduler.getTaskExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
@@ -26,11 +26,14 @@
 
 public class SyncScheduler extends SchedulerBase {
 
+    // One revolution of the wheel covers 25.6 seconds of ticks
+    private static final int WHEEL_SLOTS = 512;
+
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
 
     SyncScheduler() {
-        super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
+        super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, WHEEL_SLOTS);
     }
 
     /**
@@ -62,7 +65,24 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected long getWheelTick() {
+        return this.counter;
+    }
+
+    @Override
+    protected long toWheelTicks(long remaining, boolean isTicks) {
+        if (isTicks) {
+            return remaining;
+        }
+        // Real time tasks are due on the first tick after their time has
+        // passed, but ticks take longer than they should while the server is
+        // lagging. Wait half the remaining time at most and check again, so
+        // the task is never run late by more than a tick.
+        return remaining / SpongeScheduler.TICK_DURATION_NS / 2;
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
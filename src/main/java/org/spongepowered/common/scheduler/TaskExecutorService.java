@@ -31,6 +31,7 @@
 import org.spongepowered.api.scheduler.Task;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Delayed;
@@ -86,6 +87,19 @@ public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedE
         return false;
     }
 
+    /**
+     * Gets the statistics of the asynchronous tasks of the plugin owning this
+     * service, if it runs its tasks asynchronously.
+     *
+     * @return The statistics
+     */
+    public Optional<AsyncTaskExecutor.TaskStats> getAsyncStats() {
+        if (!(this.scheduler instanceof AsyncScheduler)) {
+            return Optional.empty();
+        }
+        return ((AsyncScheduler) this.scheduler).getTaskExecutor().getStats(this.plugin);
+    }
+
     @Override
     public void execute(Runnable command) {
         this.createTask(command).submit(this.plugin);
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel holding the pending tasks of a scheduler, so that
+ * each step only has to look at the tasks hashed to the slots that passed
+ * instead of every pending task.
+ *
+ * <p>The wheel knows nothing about real time, it is driven by the scheduler
+ * in abstract wheel ticks. Each task remembers the absolute tick it is due
+ * at, so tasks further away than one revolution simply stay in their slot
+ * until a later visit. The wheel is not thread safe, and must only be used
+ * from the thread processing the scheduler.</p>
+ */
+final class TimerWheel {
+
+    private final List<ScheduledTask>[] slots;
+    private final int mask;
+    private final List<ScheduledTask> expired = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param slotCount The number of slots, must be a power of two
+     * @param startTick The wheel tick to start at
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(int slotCount, long startTick) {
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            this.slots[i] = new ArrayList<>();
+        }
+        this.mask = slotCount - 1;
+        this.currentTick = startTick;
+    }
+
+    long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules the task to expire the given number of ticks from now. Tasks
+     * are never due before the next tick.
+     *
+     * @param task The task
+     * @param ticks The number of wheel ticks from now
+     */
+    void schedule(ScheduledTask task, long ticks) {
+        long deadline = this.currentTick + Math.max(1L, ticks);
+        task.wheelDeadline = deadline;
+        this.slots[(int) deadline & this.mask].add(task);
+        this.size++;
+    }
+
+    /**
+     * Moves the wheel forward to the given tick, collecting all tasks that
+     * are due by then. The returned list is reused by the next call.
+     *
+     * @param tick The tick to advance to
+     * @return The expired tasks
+     */
+    List<ScheduledTask> advance(long tick) {
+        this.expired.clear();
+        if (tick <= this.currentTick) {
+            return this.expired;
+        }
+        // Past one full revolution every slot has been passed once
+        long from = Math.max(this.currentTick + 1, tick - this.slots.length + 1);
+        this.currentTick = tick;
+        if (this.size == 0) {
+            return this.expired;
+        }
+        for (long t = from; t <= tick; t++) {
+            List<ScheduledTask> slot = this.slots[(int) t & this.mask];
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                ScheduledTask task = slot.get(i);
+                if (task.wheelDeadline <= tick) {
+                    // Swap with the last element to remove without shifting
+                    int last = slot.size() - 1;
+                    slot.set(i, slot.get(last));
+                    slot.remove(last);
+                    this.expired.add(task);
+                }
+            }
+        }
+        this.size -= this.expired.size();
+        return this.expired;
+    }
+
+    /**
+     * Gets the first tick after the current one at which a task may be due.
+     * This may be earlier than any task is actually due, if the nearest
+     * occupied slot only holds tasks for a later revolution.
+     *
+     * @return The next tick with pending tasks, or {@link Long#MAX_VALUE} if
+     *     the wheel is empty
+     */
+    long nextTick() {
+        if (this.size == 0) {
+            return Long.MAX_VALUE;
+        }
+        for (int i = 1; i <= this.slots.length; i++) {
+            if (!this.slots[(int) (this.currentTick + i) & this.mask].isEmpty()) {
+                return this.currentTick + i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+}
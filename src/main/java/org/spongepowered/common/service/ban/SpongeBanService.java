@@ -26,6 +26,7 @@
 
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanList;
+import net.minecraft.server.management.IPBanEntry;
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListEntry;
 import org.spongepowered.api.Sponge;
@@ -37,12 +38,18 @@
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
+import org.spongepowered.common.ban.SpongeBanBuilder;
+import org.spongepowered.common.interfaces.IMixinIPBanEntry;
+import org.spongepowered.common.util.InetAddressTrie;
+import org.spongepowered.common.util.IpSet;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -54,9 +61,19 @@
  * function normally when the default {@link BanService} has not been replaced,
  * while allowing plugin-provided {@link BanService}s to be used for all aspects
  * of Vanilla bans.</p>
+ *
+ * <p>IP bans may also cover a CIDR range, see
+ * {@link SpongeBanBuilder#range(IpSet)}. Range bans are stored in the
+ * Vanilla IP ban list keyed by their range, and are indexed in a prefix
+ * trie so that checking an address does not scan every range.</p>
  */
 public class SpongeBanService implements BanService {
 
+    // Keys of the range bans in the IP ban list, rebuilt lazily after changes.
+    // The list is only read from disk at startup, so starting out stale covers it.
+    private final InetAddressTrie<String> rangeBans = new InetAddressTrie<>();
+    private boolean rangeBansStale = true;
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban> getBans() {
@@ -93,7 +110,33 @@ public Optional<Ban.Ip> getBanFor(InetAddress address) {
         BanList bans = this.getIPBanList();
 
         bans.removeExpired();
-        return Optional.ofNullable((Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)))));
+        Ban.Ip ban = (Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+        return ban != null ? Optional.of(ban) : this.getRangeBanFor(bans, address);
+    }
+
+    /**
+     * Gets the ban for the most specific banned range containing the
+     * given address, ignoring bans for the single address.
+     *
+     * @param address The address
+     * @return The range ban, if any
+     */
+    public Optional<Ban.Ip> getRangeBanFor(InetAddress address) {
+        BanList bans = this.getIPBanList();
+
+        bans.removeExpired();
+        return this.getRangeBanFor(bans, address);
+    }
+
+    /**
+     * Gets all bans for CIDR ranges.
+     *
+     * @return The range bans
+     */
+    public Collection<Ban.Ip> getRangeBans() {
+        Collection<Ban.Ip> bans = this.getIpBans();
+        bans.removeIf(ban -> !((IMixinIPBanEntry) ban).getRange().isPresent());
+        return bans;
     }
 
     @Override
@@ -109,7 +152,8 @@ public boolean isBanned(InetAddress address) {
         BanList bans = this.getIPBanList();
 
         bans.removeExpired();
-        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))))
+                || this.getRangeBanFor(bans, address).isPresent();
     }
 
     @Override
@@ -131,12 +175,31 @@ public boolean pardon(InetAddress address) {
         return hadBan;
     }
 
+    /**
+     * Removes the ban for the given range. Bans for single addresses or
+     * other ranges overlapping it are left in place.
+     *
+     * @param range The range
+     * @return Whether the range was banned
+     */
+    public boolean pardon(IpSet range) {
+        BanList banList = this.getIPBanList();
+
+        banList.removeExpired();
+        String key = toRangeKey(range);
+        boolean hadBan = banList.getValues().containsKey(key);
+        UserListUtils.removeEntry(banList, key);
+        this.invalidateRangeBans();
+        return hadBan;
+    }
+
     @Override
     public boolean removeBan(Ban ban) {
         if (ban.getType().equals(BanTypes.PROFILE)) {
             return this.pardon(((Ban.Profile) ban).getProfile());
         } else if (ban.getType().equals(BanTypes.IP)) {
-            return this.pardon(((Ban.Ip) ban).getAddress());
+            Optional<IpSet> range = getRange(ban);
+            return range.isPresent() ? this.pardon(range.get()) : this.pardon(((Ban.Ip) ban).getAddress());
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
@@ -153,11 +216,21 @@ public Optional<? extends Ban> addBan(Ban ban) {
 
             UserListUtils.addEntry(this.getUserBanList(), (UserListEntry) ban);
         } else if (ban.getType().equals(BanTypes.IP)) {
-            prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
+            Optional<IpSet> range = getRange(ban);
+            if (range.isPresent()) {
+                BanList bans = this.getIPBanList();
+                bans.removeExpired();
+                prevBan = Optional.ofNullable((Ban.Ip) bans.getValues().get(toRangeKey(range.get())));
+            } else {
+                prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
+            }
 
             Sponge.getEventManager().post(SpongeEventFactory.createBanIpEvent(Cause.source(this).build(), (Ban.Ip) ban));
 
             UserListUtils.addEntry(this.getIPBanList(), (UserListEntry) ban);
+            if (range.isPresent()) {
+                this.invalidateRangeBans();
+            }
         } else {
             throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
         }
@@ -169,11 +242,65 @@ public boolean hasBan(Ban ban) {
         if (ban.getType().equals(BanTypes.PROFILE)) {
             return this.isBanned(((Ban.Profile) ban).getProfile());
         } else if (ban.getType().equals(BanTypes.IP)) {
+            Optional<IpSet> range = getRange(ban);
+            if (range.isPresent()) {
+                BanList bans = this.getIPBanList();
+                bans.removeExpired();
+                return bans.getValues().containsKey(toRangeKey(range.get()));
+            }
             return this.isBanned(((Ban.Ip) ban).getAddress());
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
 
+    /**
+     * Marks the range ban index as stale, to be rebuilt from the IP ban
+     * list on the next lookup.
+     */
+    public synchronized void invalidateRangeBans() {
+        this.rangeBansStale = true;
+    }
+
+    private synchronized Optional<Ban.Ip> getRangeBanFor(BanList bans, InetAddress address) {
+        Map<String, IPBanEntry> values = bans.getValues();
+        if (this.rangeBansStale) {
+            this.rangeBans.clear();
+            for (Map.Entry<String, IPBanEntry> entry : values.entrySet()) {
+                Optional<IpSet> range = ((IMixinIPBanEntry) entry.getValue()).getRange();
+                if (range.isPresent()) {
+                    this.rangeBans.put(range.get(), entry.getKey());
+                }
+            }
+            this.rangeBansStale = false;
+        }
+        if (this.rangeBans.isEmpty()) {
+            return Optional.empty();
+        }
+        // Most specific first, skipping entries that have expired or were removed behind our back
+        List<String> keys = this.rangeBans.getAll(address);
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            IPBanEntry entry = values.get(keys.get(i));
+            if (entry != null) {
+                return Optional.of((Ban.Ip) entry);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<IpSet> getRange(Ban ban) {
+        return ban instanceof IMixinIPBanEntry ? ((IMixinIPBanEntry) ban).getRange() : Optional.empty();
+    }
+
+    /**
+     * Gets the key a range ban is stored under in the IP ban list.
+     *
+     * @param range The range
+     * @return The key
+     */
+    public static String toRangeKey(IpSet range) {
+        return range.getNetworkAddress().getHostAddress() + "/" + range.getPrefixLength();
+    }
+
     private UserListBans getUserBanList() {
         return MinecraftServer.getServer().getConfigurationManager().getBannedPlayers();
     }
@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -35,6 +34,7 @@
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 import org.spongepowered.common.service.permission.base.SpongeSubjectCollection;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -105,13 +105,15 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
-            if (ret == Tristate.UNDEFINED) {
-                ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaultData(), permission);
-            }
-            return ret;
+        protected SpongePermissionService getPermissionService() {
+            return DataFactoryCollection.this.service;
+        }
 
+        @Override
+        protected boolean collectPermissionSources(SpongePermissionService service, List<Function<String, Tristate>> sources,
+                Set<Object> visited) {
+            boolean cacheable = super.collectPermissionSources(service, sources, visited);
+            return collectDataSources(service, service.getDefaultData(), sources, visited) && cacheable;
         }
     }
 }
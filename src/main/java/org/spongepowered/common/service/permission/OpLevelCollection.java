@@ -105,6 +105,11 @@ public int getOpLevel() {
             return this.level;
         }
 
+        @Override
+        protected SpongePermissionService getPermissionService() {
+            return this.service;
+        }
+
         @Override
         public String getIdentifier() {
             return "op_" + this.level;
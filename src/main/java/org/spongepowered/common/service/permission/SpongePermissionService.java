@@ -50,6 +50,8 @@
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -65,6 +67,9 @@ public class SpongePermissionService implements PermissionService {
     private Collection<PermissionDescription> descriptions;
     private final ConcurrentMap<String, SubjectCollection> subjects = new ConcurrentHashMap<>();
     private final MemorySubjectData defaultData;
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     public SpongePermissionService(Game game) {
         this.game = game;
@@ -92,6 +97,51 @@ static UserListOps getOps() {
         return MinecraftServer.getServer().getConfigurationManager().getOppedPlayers();
     }
 
+    /**
+     * Gets the generation of the resolved permission cache, it changes when
+     * the subject data of any subject of this service changes.
+     *
+     * @return The cache generation
+     */
+    public long getCacheGeneration() {
+        return this.cacheGeneration.get();
+    }
+
+    /**
+     * Invalidates the resolved permissions of all subjects.
+     */
+    public void invalidateCache() {
+        this.cacheGeneration.incrementAndGet();
+    }
+
+    public void recordCacheHit() {
+        this.cacheHits.increment();
+    }
+
+    public void recordCacheMiss() {
+        this.cacheMisses.increment();
+    }
+
+    public long getCacheHits() {
+        return this.cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return this.cacheMisses.sum();
+    }
+
+    /**
+     * Gets the fraction of permission checks that were answered by the
+     * resolved permission cache.
+     *
+     * @return The hit rate, between 0 and 1
+     */
+    public double getCacheHitRate() {
+        final long hits = this.cacheHits.sum();
+        final long total = hits + this.cacheMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
     int getServerOpLevel() {
         return MinecraftServer.getServer().getOpPermissionLevel();
     }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission;
 
+import com.google.common.cache.CacheBuilder;
 import com.mojang.authlib.GameProfile;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -32,6 +33,7 @@
 import org.spongepowered.common.service.permission.base.SpongeSubjectCollection;
 
 import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * User collection keeping track of opped users.
@@ -39,6 +41,8 @@
 public class UserCollection extends SpongeSubjectCollection {
 
     private final SpongePermissionService service;
+    // Subjects are reused while something holds on to them, like the player
+    private final ConcurrentMap<UUID, UserSubject> subjects = CacheBuilder.newBuilder().weakValues().<UUID, UserSubject>build().asMap();
 
     public UserCollection(SpongePermissionService service) {
         super(PermissionService.SUBJECTS_USER);
@@ -51,11 +55,22 @@ public Subject get(String identifier) {
         if (uid == null) {
             throw new IllegalArgumentException("Provided identifier must be a uuid, was " + identifier);
         }
+        UserSubject subject = this.subjects.get(uid);
+        if (subject != null) {
+            return subject;
+        }
         return get(uuidToGameProfile(uid));
     }
 
     protected Subject get(GameProfile profile) {
-        return new UserSubject(profile, this);
+        UserSubject subject = this.subjects.get(profile.getId());
+        if (subject == null) {
+            UserSubject existing = this.subjects.putIfAbsent(profile.getId(), (subject = new UserSubject(profile, this)));
+            if (existing != null) {
+                subject = existing;
+            }
+        }
+        return subject;
     }
 
     private GameProfile uuidToGameProfile(UUID uniqueId) {
@@ -63,7 +78,8 @@ private GameProfile uuidToGameProfile(UUID uniqueId) {
             return (GameProfile) Sponge.getServer().getGameProfileManager().get(uniqueId, true).get();
         } catch (Exception e) {
             SpongeImpl.getLogger().warn("Failed to lookup game profile for {}", uniqueId, e);
-            return null;
+            // The ops list only needs the unique id
+            return new GameProfile(uniqueId, null);
         }
     }
 
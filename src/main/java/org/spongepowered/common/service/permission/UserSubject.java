@@ -27,7 +27,6 @@
 import com.mojang.authlib.GameProfile;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.UserListOpsEntry;
-import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
@@ -36,8 +35,10 @@
 import org.spongepowered.common.service.permission.base.SingleParentMemorySubjectData;
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * An implementation of vanilla minecraft's 4 op groups.
@@ -113,15 +114,23 @@ public MemorySubjectData getSubjectData() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
-        if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
-        }
-        if (ret == Tristate.UNDEFINED && getOpLevel() >= this.collection.getService().getServerOpLevel()) {
-            ret = Tristate.TRUE;
-        }
-        return ret;
+    protected SpongePermissionService getPermissionService() {
+        return this.collection.getService();
+    }
+
+    @Override
+    protected int getResolutionKey() {
+        // The op list isn't part of the subject data, resolve again when the op level changes
+        return getOpLevel() + 1;
+    }
 
+    @Override
+    protected boolean collectPermissionSources(SpongePermissionService service, List<Function<String, Tristate>> sources, Set<Object> visited) {
+        boolean cacheable = super.collectPermissionSources(service, sources, visited);
+        cacheable &= collectDataSources(service, service.getDefaultData(), sources, visited);
+        if (getOpLevel() >= service.getServerOpLevel()) {
+            sources.add(permission -> Tristate.TRUE);
+        }
+        return cacheable;
     }
 }
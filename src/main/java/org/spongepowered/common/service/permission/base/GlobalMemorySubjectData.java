@@ -30,6 +30,7 @@
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,8 @@
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    private final PermissionService service;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -44,8 +47,22 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
      */
     public GlobalMemorySubjectData(PermissionService service) {
         super(service);
+        this.service = service;
     }
 
+    /**
+     * Invalidates the resolved permissions of the service if the data was
+     * changed.
+     *
+     * @param changed Whether the data was changed
+     * @return Whether the data was changed
+     */
+    protected final boolean invalidate(boolean changed) {
+        if (changed && this.service instanceof SpongePermissionService) {
+            ((SpongePermissionService) this.service).invalidateCache();
+        }
+        return changed;
+    }
 
     @Override
     public Map<Set<Context>, List<Subject>> getAllParents() {
@@ -57,7 +74,7 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidate(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -65,7 +82,12 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return invalidate(super.clearPermissions(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return invalidate(super.clearPermissions());
     }
 
     @Override
@@ -73,7 +95,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return invalidate(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +103,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return invalidate(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +111,11 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return invalidate(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearParents() {
+        return invalidate(super.clearParents());
     }
 }
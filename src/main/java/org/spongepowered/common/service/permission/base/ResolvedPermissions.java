@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * The flattened inheritance of a {@link SpongeSubject}.
+ *
+ * <p>The node trees of the subject and all its parents are stored in the
+ * order they are checked, so resolving a permission doesn't have to walk the
+ * parents again. Resolved values are cached until the subject data of any
+ * subject of the service changes.</p>
+ */
+final class ResolvedPermissions {
+
+    final long generation;
+    final int key;
+    private final List<Function<String, Tristate>> sources;
+    @Nullable private final ConcurrentMap<String, Tristate> values;
+
+    ResolvedPermissions(long generation, int key, List<Function<String, Tristate>> sources, boolean cacheable) {
+        this.generation = generation;
+        this.key = key;
+        this.sources = ImmutableList.copyOf(sources);
+        this.values = cacheable ? new ConcurrentHashMap<>() : null;
+    }
+
+    Tristate get(SpongePermissionService service, String permission) {
+        if (this.values == null) {
+            return resolve(permission);
+        }
+        Tristate value = this.values.get(permission);
+        if (value != null) {
+            service.recordCacheHit();
+            return value;
+        }
+        service.recordCacheMiss();
+        value = resolve(permission);
+        this.values.put(permission, value);
+        return value;
+    }
+
+    private Tristate resolve(String permission) {
+        for (Function<String, Tristate> source : this.sources) {
+            Tristate value = source.apply(permission);
+            if (value != Tristate.UNDEFINED) {
+                return value;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+}
@@ -26,15 +26,25 @@
 
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.NodeTree;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeSubject implements Subject {
 
+    @Nullable private volatile ResolvedPermissions resolved;
+
     @Override
     public SubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -43,6 +53,29 @@ public SubjectData getTransientSubjectData() {
     @Override
     public abstract MemorySubjectData getSubjectData();
 
+    /**
+     * Gets the service that invalidates the resolved permissions of this
+     * subject when subject data changes.
+     *
+     * @return The service, or null if the subject data isn't tracked and
+     *     permissions are resolved on every check
+     */
+    @Nullable
+    protected SpongePermissionService getPermissionService() {
+        return null;
+    }
+
+    /**
+     * Gets a key for state outside of the subject data that changes the
+     * resolved permissions, the permissions are resolved again when it
+     * changes.
+     *
+     * @return The key
+     */
+    protected int getResolutionKey() {
+        return 0;
+    }
+
     @Override
     public boolean hasPermission(Set<Context> contexts, String permission) {
         return getPermissionValue(contexts, permission) == Tristate.TRUE;
@@ -50,7 +83,60 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return getDataPermissionValue(getSubjectData(), permission);
+        final SpongePermissionService service = getPermissionService();
+        if (service == null) {
+            return getDataPermissionValue(getSubjectData(), permission);
+        }
+        // Only global permissions are supported, so the contexts aren't part of the key
+        final long generation = service.getCacheGeneration();
+        final int key = getResolutionKey();
+        ResolvedPermissions resolved = this.resolved;
+        if (resolved == null || resolved.generation != generation || resolved.key != key) {
+            final List<Function<String, Tristate>> sources = new ArrayList<>();
+            final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            visited.add(this);
+            final boolean cacheable = collectPermissionSources(service, sources, visited);
+            resolved = new ResolvedPermissions(generation, key, sources, cacheable);
+            this.resolved = resolved;
+        }
+        return resolved.get(service, permission);
+    }
+
+    /**
+     * Adds the sources of this subject's permissions in the order they are
+     * checked, the first defined value is the permission value.
+     *
+     * @param service The service of this subject
+     * @param sources The sources to add to
+     * @param visited The node trees and subjects that are already added
+     * @return Whether the values of the sources can be cached until the
+     *     subject data of the service changes
+     */
+    protected boolean collectPermissionSources(SpongePermissionService service, List<Function<String, Tristate>> sources, Set<Object> visited) {
+        return collectDataSources(service, getSubjectData(), sources, visited);
+    }
+
+    protected final boolean collectDataSources(SpongePermissionService service, MemorySubjectData data, List<Function<String, Tristate>> sources,
+            Set<Object> visited) {
+        boolean cacheable = true;
+        final NodeTree tree = data.getNodeTree(SubjectData.GLOBAL_CONTEXT);
+        if (visited.add(tree)) {
+            sources.add(tree::get);
+        }
+        for (Subject parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            if (parent instanceof SpongeSubject && ((SpongeSubject) parent).getPermissionService() == service
+                    && ((SpongeSubject) parent).getResolutionKey() == 0) {
+                // A subject that was checked before can't define the permission
+                if (visited.add(parent)) {
+                    cacheable &= ((SpongeSubject) parent).collectPermissionSources(service, sources, visited);
+                }
+            } else {
+                // Changes to this parent aren't tracked, ask it every time
+                sources.add(permission -> parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission));
+                cacheable = false;
+            }
+        }
+        return cacheable;
     }
 
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
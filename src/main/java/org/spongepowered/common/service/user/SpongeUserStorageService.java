@@ -36,6 +36,7 @@
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class SpongeUserStorageService implements UserStorageService {
 
@@ -58,6 +59,35 @@ public Optional<User> get(GameProfile profile) {
         return Optional.ofNullable(UserDiscoverer.findByUuid(checkNotNull(checkNotNull(profile, "profile").getUniqueId(), "profile id")));
     }
 
+    /**
+     * Gets the data of a {@link User} without blocking the calling thread on
+     * reading their stored player data.
+     *
+     * <p>Users that are online or were recently looked up are returned
+     * immediately. The future must not be waited on from the main thread, as
+     * part of the lookup completes there.</p>
+     *
+     * @param uniqueId The UUID of the user
+     * @return A future completing with the {@link User} if found
+     */
+    public CompletableFuture<Optional<User>> getAsync(UUID uniqueId) {
+        return UserDiscoverer.findByUuidAsync(checkNotNull(uniqueId, "uniqueId"));
+    }
+
+    /**
+     * Gets the data of a {@link User} by their last known name without
+     * blocking the calling thread on reading their stored player data.
+     *
+     * @param lastKnownName The user's last known name
+     * @return A future completing with the {@link User} if found
+     * @see #getAsync(UUID)
+     */
+    public CompletableFuture<Optional<User>> getAsync(String lastKnownName) {
+        checkNotNull(lastKnownName, "lastKnownName");
+        checkArgument(lastKnownName.length() >= 3 && lastKnownName.length() <= 16, "Invalid username %s", lastKnownName);
+        return UserDiscoverer.findByUsernameAsync(lastKnownName);
+    }
+
     @Override
     public User getOrCreate(GameProfile profile) {
         if (profile.getUniqueId() == null) {
@@ -43,6 +43,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
@@ -51,18 +52,30 @@
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 class UserDiscoverer {
 
+    // Online players are always reachable, so this only bounds how many
+    // offline users are kept around after plugins have looked them up
+    private static final int MAX_CACHED_USERS = 5000;
+
     private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
             .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumSize(MAX_CACHED_USERS)
             .build();
+    private static final Map<UUID, CompletableFuture<Optional<User>>> pendingLookups = new ConcurrentHashMap<>();
+    private static final Executor mainThreadExecutor = command -> SpongeImpl.getGame().getScheduler().createTaskBuilder()
+            .execute(command)
+            .submit(SpongeImpl.getPlugin());
 
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
@@ -70,6 +83,15 @@ static User create(GameProfile profile) {
         return user;
     }
 
+    /**
+     * Caches a user loaded off the main thread, unless another lookup got
+     * there first in which case that user is returned instead.
+     */
+    private static User cache(User user) {
+        User existing = userCache.asMap().putIfAbsent(user.getUniqueId(), user);
+        return existing != null ? existing : user;
+    }
+
     /**
      * Searches for user data from a variety of places, in order of preference.
      * A user that has data in sponge may not necessarily have been online
@@ -100,18 +122,75 @@ static User findByUuid(UUID uniqueId) {
         return user;
     }
 
+    /**
+     * Searches for user data in the same order as {@link #findByUuid(UUID)},
+     * without blocking the calling thread on file or network I/O.
+     *
+     * <p>Cached and online users complete immediately. Stored player data is
+     * read on the async scheduler, and the white and ban lists are consulted
+     * on the main thread, so the returned future must not be waited on from
+     * the main thread.</p>
+     *
+     * @param uniqueId The user's UUID
+     * @return A future completing with the user data, if found
+     */
+    static CompletableFuture<Optional<User>> findByUuidAsync(UUID uniqueId) {
+        User user = userCache.getIfPresent(uniqueId);
+        if (user == null) {
+            user = getOnlinePlayer(uniqueId);
+        }
+        if (user != null) {
+            return CompletableFuture.completedFuture(Optional.of(user));
+        }
+        // Concurrent lookups of the same user share a single load. Every
+        // stage below is asynchronous, so the future can't complete (and
+        // remove itself) before it has been put in the map.
+        return pendingLookups.computeIfAbsent(uniqueId, id -> {
+            CompletableFuture<Optional<User>> future = SpongeScheduler.getInstance().submitAsyncTask(() -> getFromStoredData(id))
+                    .thenApplyAsync(stored -> Optional.ofNullable(stored != null ? stored : findInLists(id)), mainThreadExecutor);
+            future.whenComplete((result, throwable) -> pendingLookups.remove(id, future));
+            return future;
+        });
+    }
+
+    static CompletableFuture<Optional<User>> findByUsernameAsync(String username) {
+        // The profile cache is an in-memory lookup, only the user is async
+        GameProfile profile = getCachedProfile(username);
+        if (profile == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return findByUuidAsync(profile.getId());
+    }
+
     static User findByUsername(String username) {
+        GameProfile profile = getCachedProfile(username);
+        if (profile != null) {
+            return findByUuid(profile.getId());
+        }
+        return null;
+    }
+
+    private static GameProfile getCachedProfile(String username) {
         PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
         HashSet<String> names = Sets.newHashSet(cache.getUsernames());
         if (names.contains(username.toLowerCase(Locale.ROOT))) {
-            GameProfile profile = cache.getGameProfileForUsername(username);
-            if (profile != null) {
-                return findByUuid(profile.getId());
-            }
+            return cache.getGameProfileForUsername(username);
         }
         return null;
     }
 
+    private static User findInLists(UUID uniqueId) {
+        User user = userCache.getIfPresent(uniqueId);
+        if (user != null) {
+            return user;
+        }
+        user = getFromWhitelist(uniqueId);
+        if (user != null) {
+            return user;
+        }
+        return getFromBanlist(uniqueId);
+    }
+
     static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         Set<org.spongepowered.api.profile.GameProfile> profiles = Sets.newHashSet();
 
@@ -121,17 +200,12 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         }
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-
-            // Some mods store other files in the 'playerdata' folder, so
-            // we need to ensure that the filename is a valid UUID
-            if (playerUuid.split("-").length != 5) {
-                continue;
+        PlayerProfileCache profileCache = MinecraftServer.getServer().getPlayerProfileCache();
+        for (Map.Entry<UUID, String> entry : UserIndex.getUsers().entrySet()) {
+            GameProfile profile = profileCache.getProfileByUUID(entry.getKey());
+            if (profile == null && !entry.getValue().isEmpty()) {
+                profile = new GameProfile(entry.getKey(), entry.getValue());
             }
-
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
             if (profile != null) {
                 profiles.add((org.spongepowered.api.profile.GameProfile) profile);
             }
@@ -156,6 +230,8 @@ static boolean delete(UUID uniqueId) {
             // Don't delete online player's data
             return false;
         }
+        userCache.invalidate(uniqueId);
+        UserIndex.remove(uniqueId);
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
@@ -188,13 +264,13 @@ private static User getFromStoredData(UUID uniqueId) {
         Optional<org.spongepowered.api.profile.GameProfile> profile = getProfileFromServer(uniqueId);
 
         if (profile.isPresent()) {
-            User user = create((GameProfile) profile.get());
-            try {
-                ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
+            SpongeUser user = new SpongeUser((GameProfile) profile.get());
+            try (FileInputStream in = new FileInputStream(dataFile)) {
+                user.readFromNbt(CompressedStreamTools.readCompressed(in));
             } catch (IOException e) {
                 SpongeImpl.getLogger().warn("Corrupt user file {}", dataFile, e);
             }
-            return user;
+            return cache((User) user);
         } else {
             return null;
         }
@@ -245,13 +321,8 @@ private static User getFromBanlist(UUID uniqueId) {
     private static File getPlayerDataFile(UUID uniqueId) {
         // Note: Uses the overworld's player data
         SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
+        File dataFile = new File(saveHandler.playersDirectory, uniqueId.toString() + ".dat");
+        return dataFile.isFile() ? dataFile : null;
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
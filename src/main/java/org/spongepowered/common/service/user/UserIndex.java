@@ -0,0 +1,226 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.world.DimensionManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of every user that has stored player data in the
+ * current save, mapping their unique id to their last known name.
+ *
+ * <p>The index is kept in {@code data/sponge_users.dat} and is only rebuilt
+ * from the {@code playerdata} directory when that file is missing. After
+ * that it is updated incrementally whenever player data is written, so
+ * listing all known users never has to touch the player data files.</p>
+ */
+public final class UserIndex {
+
+    private static final String INDEX_FILE = "sponge_users.dat";
+    private static final String USERS_TAG = "Users";
+    private static final String NAME_TAG = "Name";
+
+    @Nullable private static Index index;
+
+    private UserIndex() {
+    }
+
+    /**
+     * Records the name of a user whose player data has just been written.
+     * Only new users and name changes cause the index to be saved again.
+     *
+     * @param uniqueId The user's unique id
+     * @param name The user's current name
+     */
+    public static void update(UUID uniqueId, @Nullable String name) {
+        checkNotNull(uniqueId, "uniqueId");
+        Index current = get();
+        String value = name == null ? "" : name;
+        String previous = current.users.put(uniqueId, value);
+        if (!value.equals(previous)) {
+            current.markDirty();
+        }
+    }
+
+    static void remove(UUID uniqueId) {
+        Index current = get();
+        if (current.users.remove(uniqueId) != null) {
+            current.markDirty();
+        }
+    }
+
+    /**
+     * Gets a snapshot of every indexed user and their last known name. The
+     * name is empty if it was never known.
+     *
+     * @return The indexed users
+     */
+    static Map<UUID, String> getUsers() {
+        return ImmutableMap.copyOf(get().users);
+    }
+
+    private static synchronized Index get() {
+        @Nullable File root = DimensionManager.getCurrentSaveRootDirectory();
+        if (index == null || !Objects.equals(index.root, root)) {
+            index = new Index(root);
+        }
+        return index;
+    }
+
+    private static final class Index {
+
+        @Nullable final File root;
+        @Nullable private final File file;
+        final Map<UUID, String> users = new ConcurrentHashMap<>();
+        private final AtomicBoolean savePending = new AtomicBoolean();
+
+        Index(@Nullable File root) {
+            this.root = root;
+            this.file = root == null ? null : new File(new File(root, "data"), INDEX_FILE);
+            if (this.file == null) {
+                return;
+            }
+            if (this.file.isFile()) {
+                read();
+            } else {
+                rebuild(new File(root, "playerdata"));
+                markDirty();
+            }
+        }
+
+        private void read() {
+            try (InputStream in = new FileInputStream(this.file)) {
+                NBTTagList list = CompressedStreamTools.readCompressed(in).getTagList(USERS_TAG, NbtDataUtil.TAG_COMPOUND);
+                for (int i = 0; i < list.tagCount(); i++) {
+                    NBTTagCompound entry = list.getCompoundTagAt(i);
+                    this.users.put(new UUID(entry.getLong(NbtDataUtil.UUID_MOST), entry.getLong(NbtDataUtil.UUID_LEAST)),
+                            entry.getString(NAME_TAG));
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Corrupt user index {}, rebuilding it", this.file, e);
+                this.users.clear();
+                rebuild(new File(this.root, "playerdata"));
+                markDirty();
+            }
+        }
+
+        private void rebuild(File playerDirectory) {
+            String[] files = playerDirectory.list((dir, name) -> name.endsWith(".dat"));
+            if (files == null) {
+                return;
+            }
+            MinecraftServer server = MinecraftServer.getServer();
+            for (String fileName : files) {
+                UUID uniqueId;
+                try {
+                    // Some mods store other files in the 'playerdata' folder,
+                    // so we need to ensure that the filename is a valid UUID
+                    uniqueId = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                GameProfile profile = server == null ? null : server.getPlayerProfileCache().getProfileByUUID(uniqueId);
+                this.users.put(uniqueId, profile == null || profile.getName() == null ? "" : profile.getName());
+            }
+        }
+
+        void markDirty() {
+            if (this.file == null || !this.savePending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                SpongeScheduler.getInstance().submitAsyncTask(() -> {
+                    save();
+                    return null;
+                });
+            } catch (RejectedExecutionException e) {
+                // The async pool is gone during shutdown, write it out here
+                save();
+            }
+        }
+
+        private void save() {
+            // Clear the flag before taking the snapshot so that any change
+            // made while writing schedules another save
+            this.savePending.set(false);
+            NBTTagList list = new NBTTagList();
+            for (Map.Entry<UUID, String> entry : this.users.entrySet()) {
+                NBTTagCompound compound = new NBTTagCompound();
+                compound.setLong(NbtDataUtil.UUID_MOST, entry.getKey().getMostSignificantBits());
+                compound.setLong(NbtDataUtil.UUID_LEAST, entry.getKey().getLeastSignificantBits());
+                compound.setString(NAME_TAG, entry.getValue());
+                list.appendTag(compound);
+            }
+            NBTTagCompound root = new NBTTagCompound();
+            root.setTag(USERS_TAG, list);
+
+            File tmp = new File(this.file.getParentFile(), INDEX_FILE + ".tmp");
+            synchronized (this) {
+                try {
+                    Files.createDirectories(tmp.toPath().getParent());
+                    try (OutputStream out = new FileOutputStream(tmp)) {
+                        CompressedStreamTools.writeCompressed(root, out);
+                    }
+                    try {
+                        Files.move(tmp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tmp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().warn("Unable to save the user index to {}", this.file, e);
+                }
+            }
+        }
+    }
+
+}
@@ -27,10 +27,17 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.common.util.OptionalUtils.asSet;
 
+import co.aikar.timings.SpongeTimings;
+import co.aikar.timings.Timing;
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -60,17 +67,22 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.entity.SpongeEntityType;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -82,6 +94,8 @@ public class SelectorResolver {
     private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+    // Vertical bounds of a search box when the selector doesn't limit y
+    private static final double UNBOUNDED_Y = 1.0E6;
 
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
@@ -116,6 +130,8 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Optional<CommandSource> original;
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
+    private final Class<? extends net.minecraft.entity.Entity> searchClass;
+    @Nullable private final AxisAlignedBB searchBox;
     private final boolean alwaysUsePosition;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
@@ -137,6 +153,8 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
         this.selectorFilter = makeFilter();
+        this.searchClass = makeSearchClass();
+        this.searchBox = makeSearchBox();
         this.alwaysUsePosition = force;
     }
 
@@ -154,18 +172,78 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
+        if (isPlayerOnlySelector()) {
+            // insert at the start so it applies first
+            filters.add(0, requireTypePredicate(Entity.class, Player.class));
+        }
+        return Functional.predicateAnd(filters);
+    }
+
+    private boolean isPlayerOnlySelector() {
+        final Selector sel = this.selector;
         SelectorType selectorType = sel.getType();
         Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
         // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
                 || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
                 && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
-            // insert at the start so it applies first
-            filters.add(0, requireTypePredicate(Entity.class, Player.class));
+    }
+
+    /**
+     * Gets the most specific entity class every selected entity must be an
+     * instance of, so candidates can be narrowed before the filter runs.
+     */
+    private Class<? extends net.minecraft.entity.Entity> makeSearchClass() {
+        if (isPlayerOnlySelector()) {
+            return EntityPlayer.class;
         }
-        return Functional.predicateAnd(filters);
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (type.isPresent() && !type.get().isInverted() && type.get().getValue() instanceof SpongeEntityType) {
+            Class<? extends net.minecraft.entity.Entity> entityClass = ((SpongeEntityType) type.get().getValue()).entityClass;
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        return net.minecraft.entity.Entity.class;
+    }
+
+    /**
+     * Gets a box containing every position the radius and volume arguments
+     * accept, or null if they leave the horizontal axes unbounded.
+     */
+    @Nullable
+    private AxisAlignedBB makeSearchBox() {
+        final Selector sel = this.selector;
+        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        Vector3d min = new Vector3d(Double.NEGATIVE_INFINITY, -UNBOUNDED_Y, Double.NEGATIVE_INFINITY);
+        Vector3d max = new Vector3d(Double.POSITIVE_INFINITY, UNBOUNDED_Y, Double.POSITIVE_INFINITY);
+        Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            int radius = Math.abs(radiusMax.get());
+            min = position.sub(radius, radius, radius);
+            max = position.add(radius, radius, radius);
+        }
+        Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        Vector3d boxMin = position.min(position.add(boxDimensions));
+        Vector3d boxMax = position.max(position.add(boxDimensions));
+        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+            min = new Vector3d(Math.max(min.getX(), boxMin.getX()), min.getY(), min.getZ());
+            max = new Vector3d(Math.min(max.getX(), boxMax.getX()), max.getY(), max.getZ());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+            min = new Vector3d(min.getX(), Math.max(min.getY(), boxMin.getY()), min.getZ());
+            max = new Vector3d(max.getX(), Math.min(max.getY(), boxMax.getY()), max.getZ());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+            min = new Vector3d(min.getX(), min.getY(), Math.max(min.getZ(), boxMin.getZ()));
+            max = new Vector3d(max.getX(), max.getY(), Math.min(max.getZ(), boxMax.getZ()));
+        }
+        if (Double.isInfinite(min.getX()) || Double.isInfinite(max.getX()) || Double.isInfinite(min.getZ()) || Double.isInfinite(max.getZ())) {
+            return null;
+        }
+        // Entities are found by their bounding boxes, which can touch the
+        // edge of the box without intersecting it. The filter does the exact checks.
+        return new AxisAlignedBB(min.getX() - 1, min.getY() - 1, min.getZ() - 1, max.getX() + 1, max.getY() + 1, max.getZ() + 1);
     }
 
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
@@ -341,37 +419,103 @@ public String getName() {
     }
 
     public Set<Entity> resolve() {
+        Timing timing = SpongeTimings.getSelectorTiming(this.selector.getType());
+        timing.startTimingIfSync();
+        try {
+            return resolveEntities();
+        } finally {
+            timing.stopTimingIfSync();
+        }
+    }
+
+    private Set<Entity> resolveEntities() {
         SelectorType selectorType = this.selector.getType();
         int defaultCount = 1;
         if (INFINITE_TYPES.contains(selectorType)) {
             defaultCount = 0;
         }
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
+        int limit = maxToSelect == 0 ? Integer.MAX_VALUE : Math.abs(maxToSelect);
         Set<? extends Extent> extents = getExtentSet();
+        if (selectorType == SelectorTypes.RANDOM) {
+            return ImmutableSet.copyOf(sample(extents, limit));
+        }
         int count = 0;
         ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
-
-            for (Entity e : allEntities) {
+            for (Entity e : getCandidates(extent)) {
                 if (!this.selectorFilter.test(e)) {
                     continue;
                 }
                 entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                if (++count >= limit) {
+                    return entities.build();
                 }
             }
         }
         return entities.build();
     }
 
+    /**
+     * Picks up to {@code limit} matching entities uniformly at random with
+     * reservoir sampling, rather than copying and shuffling every entity.
+     */
+    private List<Entity> sample(Set<? extends Extent> extents, int limit) {
+        Random random = ThreadLocalRandom.current();
+        List<Entity> reservoir = new ArrayList<>();
+        int matched = 0;
+        for (Extent extent : extents) {
+            for (Entity e : getCandidates(extent)) {
+                if (!this.selectorFilter.test(e)) {
+                    continue;
+                }
+                matched++;
+                if (reservoir.size() < limit) {
+                    reservoir.add(e);
+                } else {
+                    int index = random.nextInt(matched);
+                    if (index < limit) {
+                        reservoir.set(index, e);
+                    }
+                }
+            }
+        }
+        Collections.shuffle(reservoir, random);
+        return reservoir;
+    }
+
+    /**
+     * Gets the entities of an extent that could match the selector, using
+     * the chunk entity lists when the selector is bounded and the player
+     * list or a class check when it is limited to a type.
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<Entity> getCandidates(Extent extent) {
+        if (!(extent instanceof net.minecraft.world.World)) {
+            return extent.getEntities();
+        }
+        net.minecraft.world.World world = (net.minecraft.world.World) extent;
+        if (this.searchBox != null && isSmallerThanLoadedArea(world, this.searchBox)) {
+            // The default filter of this method skips spectators, selectors don't
+            return (Collection<Entity>) (Object) world.getEntitiesWithinAABB(this.searchClass, this.searchBox, Predicates.alwaysTrue());
+        }
+        if (this.searchClass == EntityPlayer.class) {
+            return (Collection<Entity>) (Object) world.playerEntities;
+        }
+        if (this.searchClass != net.minecraft.entity.Entity.class) {
+            final Class<? extends net.minecraft.entity.Entity> searchClass = this.searchClass;
+            return (Collection<Entity>) (Object) Collections2.filter(world.loadedEntityList, searchClass::isInstance);
+        }
+        return (Collection<Entity>) (Object) world.loadedEntityList;
+    }
+
+    private static boolean isSmallerThanLoadedArea(net.minecraft.world.World world, AxisAlignedBB box) {
+        // Matches the chunk range World#getEntitiesWithinAABB visits
+        long chunksX = MathHelper.floor_double((box.maxX + 2.0D) / 16.0D) - MathHelper.floor_double((box.minX - 2.0D) / 16.0D) + 1L;
+        long chunksZ = MathHelper.floor_double((box.maxZ + 2.0D) / 16.0D) - MathHelper.floor_double((box.minZ - 2.0D) / 16.0D) + 1L;
+        return chunksX * chunksZ <= world.getChunkProvider().getLoadedChunkCount();
+    }
+
     private Set<? extends Extent> getExtentSet() {
         if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
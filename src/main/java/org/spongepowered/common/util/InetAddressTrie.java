@@ -0,0 +1,311 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A compressed binary radix trie mapping IPv4 and IPv6 prefixes to values.
+ *
+ * <p>Each node stores the full (masked) prefix it represents, and nodes
+ * with a single child and no values are never created, so a lookup visits
+ * at most one node per stored prefix on the path and compares at most the
+ * prefix length of the address in bits, regardless of how many prefixes
+ * are stored.</p>
+ *
+ * <p>IPv4 and IPv6 prefixes are kept in separate trees, an address never
+ * matches a prefix of the other family.</p>
+ *
+ * <p>This class is not thread safe, callers sharing an instance between
+ * threads must synchronize mutations themselves.</p>
+ *
+ * @param <V> The value type
+ */
+public final class InetAddressTrie<V> {
+
+    private final Node<V> ipv4Root = new Node<>(new byte[4], 0);
+    private final Node<V> ipv6Root = new Node<>(new byte[16], 0);
+    private int size;
+
+    /**
+     * Associates the value with the given {@link IpSet}'s prefix.
+     *
+     * @param set The prefix
+     * @param value The value
+     */
+    public void put(IpSet set, V value) {
+        this.put(set.getAddress(), set.getPrefixLength(), value);
+    }
+
+    /**
+     * Associates the value with the prefix made of the first
+     * {@code prefixLen} bits of the given address.
+     *
+     * @param address The address
+     * @param prefixLen The number of significant bits
+     * @param value The value
+     */
+    public void put(InetAddress address, int prefixLen, V value) {
+        checkNotNull(value, "value");
+        final byte[] key = mask(checkNotNull(address, "address").getAddress(), prefixLen);
+        Node<V> node = this.getRoot(address);
+        while (true) {
+            if (node.prefixLen == prefixLen) {
+                node.values.add(value);
+                this.size++;
+                return;
+            }
+            final int bit = bitAt(key, node.prefixLen);
+            final Node<V> child = node.children[bit];
+            if (child == null) {
+                node.children[bit] = new Node<>(key, prefixLen, value);
+                this.size++;
+                return;
+            }
+            final int common = commonPrefixLength(child.key, key, node.prefixLen, Math.min(child.prefixLen, prefixLen));
+            if (common == child.prefixLen) {
+                node = child;
+                continue;
+            }
+            // Split the edge to the child at the first differing bit
+            final Node<V> split;
+            if (common == prefixLen) {
+                split = new Node<>(key, prefixLen, value);
+            } else {
+                split = new Node<>(mask(key, common), common);
+                split.children[bitAt(key, common)] = new Node<>(key, prefixLen, value);
+            }
+            split.children[bitAt(child.key, common)] = child;
+            node.children[bit] = split;
+            this.size++;
+            return;
+        }
+    }
+
+    /**
+     * Removes the value from the given prefix.
+     *
+     * @param address The address
+     * @param prefixLen The number of significant bits
+     * @param value The value
+     * @return Whether the value was present
+     */
+    public boolean remove(InetAddress address, int prefixLen, V value) {
+        final byte[] key = mask(checkNotNull(address, "address").getAddress(), prefixLen);
+        Node<V> parent = null;
+        Node<V> node = this.getRoot(address);
+        while (node.prefixLen < prefixLen) {
+            final Node<V> child = node.children[bitAt(key, node.prefixLen)];
+            if (child == null || child.prefixLen > prefixLen || !matches(child, key, node.prefixLen)) {
+                return false;
+            }
+            parent = node;
+            node = child;
+        }
+        if (!node.values.remove(value)) {
+            return false;
+        }
+        this.size--;
+        // Collapse nodes that no longer carry values or branch
+        if (parent != null && node.values.isEmpty()) {
+            final Node<V> left = node.children[0];
+            final Node<V> right = node.children[1];
+            if (left == null || right == null) {
+                parent.children[bitAt(key, parent.prefixLen)] = left != null ? left : right;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the values of every stored prefix containing the address to the
+     * target collection, from the shortest prefix to the longest.
+     *
+     * @param address The address
+     * @param target The collection to add to
+     * @param <C> The collection type
+     * @return The target collection
+     */
+    public <C extends Collection<? super V>> C collect(InetAddress address, C target) {
+        final byte[] key = checkNotNull(address, "address").getAddress();
+        Node<V> node = this.getRoot(address);
+        target.addAll(node.values);
+        while (node.prefixLen < key.length * 8) {
+            final Node<V> child = node.children[bitAt(key, node.prefixLen)];
+            if (child == null || !matches(child, key, node.prefixLen)) {
+                break;
+            }
+            target.addAll(child.values);
+            node = child;
+        }
+        return target;
+    }
+
+    /**
+     * Gets the values of every stored prefix containing the address, from
+     * the shortest prefix to the longest.
+     *
+     * @param address The address
+     * @return The matching values
+     */
+    public List<V> getAll(InetAddress address) {
+        return this.collect(address, new ArrayList<>());
+    }
+
+    /**
+     * Gets a value of the longest stored prefix containing the address.
+     *
+     * @param address The address
+     * @return The value, or null if no prefix contains the address
+     */
+    @Nullable
+    public V getLongestMatch(InetAddress address) {
+        final byte[] key = checkNotNull(address, "address").getAddress();
+        Node<V> node = this.getRoot(address);
+        V match = node.values.isEmpty() ? null : node.values.get(0);
+        while (node.prefixLen < key.length * 8) {
+            final Node<V> child = node.children[bitAt(key, node.prefixLen)];
+            if (child == null || !matches(child, key, node.prefixLen)) {
+                break;
+            }
+            if (!child.values.isEmpty()) {
+                match = child.values.get(0);
+            }
+            node = child;
+        }
+        return match;
+    }
+
+    /**
+     * Gets whether any stored prefix contains the address.
+     *
+     * @param address The address
+     * @return Whether the address is contained
+     */
+    public boolean contains(InetAddress address) {
+        return this.getLongestMatch(address) != null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.ipv4Root.clear();
+        this.ipv6Root.clear();
+        this.size = 0;
+    }
+
+    private Node<V> getRoot(InetAddress address) {
+        return address instanceof Inet4Address ? this.ipv4Root : this.ipv6Root;
+    }
+
+    private static boolean matches(Node<?> node, byte[] key, int from) {
+        return commonPrefixLength(node.key, key, from, node.prefixLen) == node.prefixLen;
+    }
+
+    private static int bitAt(byte[] key, int index) {
+        return (key[index >> 3] >> (7 - (index & 7))) & 1;
+    }
+
+    /**
+     * Counts the leading bits shared by both keys, assuming the first
+     * {@code from} bits are already known to match, up to {@code limit}.
+     */
+    private static int commonPrefixLength(byte[] a, byte[] b, int from, int limit) {
+        int index = from;
+        // Compare the remainder of the current byte bit by bit, then whole bytes
+        while (index < limit && (index & 7) != 0) {
+            if (bitAt(a, index) != bitAt(b, index)) {
+                return index;
+            }
+            index++;
+        }
+        while (index + 8 <= limit) {
+            final int diff = (a[index >> 3] ^ b[index >> 3]) & 0xFF;
+            if (diff != 0) {
+                return index + Integer.numberOfLeadingZeros(diff) - 24;
+            }
+            index += 8;
+        }
+        while (index < limit) {
+            if (bitAt(a, index) != bitAt(b, index)) {
+                return index;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static byte[] mask(byte[] address, int prefixLen) {
+        if (prefixLen < 0 || prefixLen > address.length * 8) {
+            throw new IllegalArgumentException("Invalid prefix length " + prefixLen + " for a " + address.length * 8 + " bit address");
+        }
+        final byte[] masked = new byte[address.length];
+        final int complete = prefixLen >> 3;
+        System.arraycopy(address, 0, masked, 0, complete);
+        if ((prefixLen & 7) != 0) {
+            masked[complete] = (byte) (address[complete] & (0xFF00 >> (prefixLen & 7)));
+        }
+        return masked;
+    }
+
+    private static final class Node<V> {
+
+        final byte[] key;
+        final int prefixLen;
+        final List<V> values = new ArrayList<>(1);
+        @SuppressWarnings("unchecked")
+        final Node<V>[] children = new Node[2];
+
+        Node(byte[] key, int prefixLen) {
+            this.key = key;
+            this.prefixLen = prefixLen;
+        }
+
+        Node(byte[] key, int prefixLen, V value) {
+            this(key, prefixLen);
+            this.values.add(value);
+        }
+
+        void clear() {
+            this.values.clear();
+            this.children[0] = null;
+            this.children[1] = null;
+        }
+    }
+}
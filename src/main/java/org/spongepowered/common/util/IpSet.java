@@ -27,6 +27,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Predicate;
+import com.google.common.net.InetAddresses;
 import com.google.common.reflect.TypeToken;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
@@ -36,8 +37,14 @@
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.Map;
 
 public class IpSet implements Predicate<InetAddress> {
+
+    private static final InetAddress ANY_IPV4 = InetAddresses.forString("0.0.0.0");
+    private static final InetAddress ANY_IPV6 = InetAddresses.forString("::");
+
     private final InetAddress addr;
     private final int prefixLen;
 
@@ -62,7 +69,7 @@ public boolean apply(InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,6 +77,32 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
+    /**
+     * Gets the first address of this set, with every bit past the prefix
+     * cleared.
+     *
+     * @return The network address
+     */
+    public InetAddress getNetworkAddress() {
+        byte[] address = this.addr.getAddress();
+        for (int i = this.prefixLen; i < address.length * 8; ++i) {
+            address[i >> 3] &= ~(0x80 >> (i & 7));
+        }
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e); // Only thrown for an invalid length
+        }
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
@@ -102,6 +135,48 @@ public static IpSet fromCidr(String spec) {
         return fromAddrPrefix(addr, prefixLen);
     }
 
+    /**
+     * Indexes named groups of sets in a trie, so that every group containing
+     * an address can be found without testing each group in turn.
+     *
+     * <p>A group matches an address when all of its sets contain it, as with
+     * {@link com.google.common.base.Predicates#and(Iterable)}. Two prefixes
+     * are either nested or disjoint, so a group is equivalent to its longest
+     * prefix if every other prefix contains it, and matches nothing
+     * otherwise. An empty group matches every address.</p>
+     *
+     * @param groups The named groups of sets
+     * @return The trie of group names
+     */
+    public static InetAddressTrie<String> toTrie(Map<String, ? extends Collection<IpSet>> groups) {
+        final InetAddressTrie<String> trie = new InetAddressTrie<>();
+        for (Map.Entry<String, ? extends Collection<IpSet>> entry : groups.entrySet()) {
+            final String name = entry.getKey();
+            if (entry.getValue().isEmpty()) {
+                trie.put(ANY_IPV4, 0, name);
+                trie.put(ANY_IPV6, 0, name);
+                continue;
+            }
+            IpSet longest = null;
+            for (IpSet set : entry.getValue()) {
+                if (longest == null || set.prefixLen > longest.prefixLen) {
+                    longest = set;
+                }
+            }
+            boolean intersects = true;
+            for (IpSet set : entry.getValue()) {
+                if (!set.apply(longest.addr)) {
+                    intersects = false;
+                    break;
+                }
+            }
+            if (intersects) {
+                trie.put(longest, name);
+            }
+        }
+        return trie;
+    }
+
     private static void validatePrefixLength(InetAddress address, int prefixLen) throws IllegalArgumentException {
         if (prefixLen < 0) {
             throw new IllegalArgumentException("Minimum prefix length for an IP address is 0!");
@@ -0,0 +1,251 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraft.util.LongHashMap;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LongHashMap} replacement backed by open addressing on primitive
+ * arrays, with a small most-recently-used cache in front of the table.
+ *
+ * <p>Vanilla's map chains boxed entries per bucket, which costs a pointer
+ * chase per lookup and an allocation per insert. Here keys and values are
+ * kept in two parallel arrays probed linearly, and removals shift following
+ * entries back so no tombstones are needed. Lookups repeatedly hitting the
+ * same few keys (such as neighbouring chunks during lighting or block
+ * updates) are answered from the cache without touching the table.</p>
+ *
+ * <p>Null values are not supported, a {@code null} slot marks an empty
+ * bucket.</p>
+ *
+ * <p>Like {@link LongHashMap}, the map is not thread safe and must only be
+ * used from a single thread. Lookups update the cache, so this includes
+ * lookups.</p>
+ *
+ * @param <V> The value type
+ */
+public class LongOpenHashMap<V> extends LongHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.5F;
+    private static final int CACHE_SIZE = 4;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    // A null cached value marks an empty cache slot
+    private final long[] cacheKeys = new long[CACHE_SIZE];
+    private final Object[] cacheValues = new Object[CACHE_SIZE];
+    private int cacheIndex;
+
+    private long hits;
+    private long misses;
+
+    public LongOpenHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongOpenHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long key) {
+        // Finalizer of MurmurHash3, spreads chunk coordinates packed into
+        // the upper and lower halves across the whole table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    @Override
+    public int getNumHashElements() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public V getValueByKey(long key) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if (this.cacheKeys[i] == key && this.cacheValues[i] != null) {
+                this.hits++;
+                return (V) this.cacheValues[i];
+            }
+        }
+        this.misses++;
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V value = (V) this.values[index];
+        cache(key, value);
+        return value;
+    }
+
+    @Override
+    public boolean containsItem(long key) {
+        return getValueByKey(key) != null;
+    }
+
+    @Override
+    public void add(long key, V value) {
+        checkNotNull(value, "value");
+        int index = hash(key) & this.mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                this.values[index] = value;
+                updateCache(key, value);
+                return;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = value;
+        if (++this.size > this.resizeThreshold) {
+            resize(this.values.length << 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V value = (V) this.values[index];
+        updateCache(key, null);
+        this.size--;
+
+        // Shift back any following entries of the probe sequence into the
+        // freed slot, so that lookups never stop early on a hole
+        int free = index;
+        int next = (free + 1) & this.mask;
+        while (this.values[next] != null) {
+            int home = hash(this.keys[next]) & this.mask;
+            if (((next - home) & this.mask) >= ((next - free) & this.mask)) {
+                this.keys[free] = this.keys[next];
+                this.values[free] = this.values[next];
+                free = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.values[free] = null;
+        return value;
+    }
+
+    /**
+     * Gets the number of lookups answered by the most-recently-used cache.
+     *
+     * @return The cache hits
+     */
+    public long getCacheHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of lookups that had to probe the table.
+     *
+     * @return The cache misses
+     */
+    public long getCacheMisses() {
+        return this.misses;
+    }
+
+    private int indexOf(long key) {
+        int index = hash(key) & this.mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private void cache(long key, Object value) {
+        int index = this.cacheIndex;
+        this.cacheKeys[index] = key;
+        this.cacheValues[index] = value;
+        this.cacheIndex = (index + 1) & (CACHE_SIZE - 1);
+    }
+
+    private void updateCache(long key, @Nullable Object value) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if (this.cacheKeys[i] == key && this.cacheValues[i] != null) {
+                this.cacheValues[i] = value;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & this.mask;
+                while (this.values[index] != null) {
+                    index = (index + 1) & this.mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        Arrays.fill(this.cacheValues, null);
+        this.size = 0;
+    }
+}
@@ -31,22 +31,41 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.storage.WorldInfo;
 import org.apache.commons.io.FileUtils;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
 
 public class ServerUtils {
 
@@ -56,18 +75,27 @@ public static CompletableFuture<Optional<WorldProperties>> copyWorld(MinecraftSe
         checkArgument(!WorldPropertyRegistryModule.getInstance().isWorldRegistered(copyName), "Destination world name already is registered");
         WorldInfo info = (WorldInfo) worldProperties;
         WorldServer world = DimensionManager.getWorldFromDimId(((IMixinWorldInfo) info).getDimensionId());
+        File chunkSaveDir = null;
         if (world != null) {
+            // Everything saved up to now is part of the copy, saving stays enabled while copying
             try {
                 world.saveAllChunks(true, null);
             } catch (MinecraftException e) {
                 Throwables.propagate(e);
             }
-            ((IMixinMinecraftServer) server).setSaveEnabled(false);
-        }
-        CompletableFuture<Optional<WorldProperties>> future = SpongeScheduler.getInstance().submitAsyncTask(new CopyWorldTask(info, copyName));
-        if (world != null) { // World was loaded
-            future.thenRun(() -> ((IMixinMinecraftServer) server).setSaveEnabled(true));
+            IChunkLoader chunkLoader = ((IMixinChunkProviderServer) world.theChunkProviderServer).getChunkLoader();
+            if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+                chunkSaveDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
+            }
         }
+        CopyWorldFuture future = new CopyWorldFuture();
+        SpongeScheduler.getInstance().submitAsyncTask(new CopyWorldTask(info, copyName, chunkSaveDir, future)).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(result);
+            }
+        });
         return future;
     }
 
@@ -77,14 +105,70 @@ public static CompletableFuture<Boolean> deleteWorld(WorldProperties worldProper
         return SpongeScheduler.getInstance().submitAsyncTask(new DeleteWorldTask(worldProperties));
     }
 
+    /**
+     * The future returned by {@link #copyWorld}, which also tracks how many
+     * bytes of the world were copied so far.
+     */
+    public static final class CopyWorldFuture extends CompletableFuture<Optional<WorldProperties>> {
+
+        final AtomicLong copiedBytes = new AtomicLong();
+        volatile long totalBytes;
+
+        public long getCopiedBytes() {
+            return this.copiedBytes.get();
+        }
+
+        public long getTotalBytes() {
+            return this.totalBytes;
+        }
+
+        /**
+         * Gets the progress of the copy, between 0 and 1.
+         *
+         * @return The progress
+         */
+        public double getProgress() {
+            if (isDone()) {
+                return 1;
+            }
+            final long total = this.totalBytes;
+            return total == 0 ? 0 : Math.min(1, (double) this.copiedBytes.get() / total);
+        }
+
+    }
+
+    /**
+     * Copies a world while it may still be saved.
+     *
+     * <p>All files are copied first without blocking any saves. Region files
+     * are written in place by the chunk save threads, so if the world is
+     * loaded each region file is then read into memory, while holding the
+     * lock of the region file if the server has it open. That lock is also
+     * held by chunk reads and writes of the region, so it is only held for the
+     * read. Region files are never opened here, as opening one could close the
+     * region files the server is writing to. The snapshot is compared block by
+     * block with the copy afterwards, and only blocks that changed since the
+     * first copy are written again.</p>
+     *
+     * <p>This results in a consistent copy of every region file, but each
+     * region is snapshotted at a different moment, and region files created
+     * after the files were listed are not copied.</p>
+     */
     private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
 
+        // 16 sectors of a region file
+        private static final int BLOCK_SIZE = 16 * 4096;
+
         private final WorldInfo oldInfo;
         private final String newName;
+        @Nullable private final File chunkSaveDir;
+        private final CopyWorldFuture future;
 
-        public CopyWorldTask(WorldInfo info, String newName) {
+        public CopyWorldTask(WorldInfo info, String newName, @Nullable File chunkSaveDir, CopyWorldFuture future) {
             this.oldInfo = info;
             this.newName = newName;
+            this.chunkSaveDir = chunkSaveDir;
+            this.future = future;
         }
 
         @Override
@@ -106,8 +190,10 @@ public Optional<WorldProperties> call() throws Exception {
                 filter = (file) -> !file.isDirectory() || !new File(file, "level.dat").exists();
             }
             try {
-                FileUtils.copyDirectory(oldDir, newDir, filter);
+                copyWorldFiles(oldDir.toPath(), newDir.toPath(), filter);
             } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to copy world " + this.oldInfo.getWorldName() + " to " + this.newName, e);
+                FileUtils.deleteQuietly(newDir);
                 return Optional.empty();
             }
 
@@ -122,6 +208,134 @@ public Optional<WorldProperties> call() throws Exception {
             return Optional.of((WorldProperties) info);
         }
 
+        private void copyWorldFiles(Path oldDir, Path newDir, @Nullable FileFilter filter) throws IOException {
+            final List<Path> files = new ArrayList<>();
+            final List<Path> regionFiles = new ArrayList<>();
+            final Path regionDir = oldDir.resolve("region");
+            Files.walkFileTree(oldDir, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(oldDir) && filter != null && !filter.accept(dir.toFile())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && (filter == null || filter.accept(file.toFile()))) {
+                        files.add(file);
+                        if (file.getParent().equals(regionDir) && file.getFileName().toString().endsWith(".mca")) {
+                            regionFiles.add(file);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+            long totalBytes = 0;
+            for (Path file : files) {
+                totalBytes += Files.size(file);
+            }
+            if (this.chunkSaveDir != null) {
+                for (Path file : regionFiles) {
+                    totalBytes += Files.size(file);
+                }
+            }
+            this.future.totalBytes = totalBytes;
+
+            for (Path file : files) {
+                final Path target = newDir.resolve(oldDir.relativize(file));
+                Files.createDirectories(target.getParent());
+                copyFile(file, target);
+                Files.setLastModifiedTime(target, Files.getLastModifiedTime(file));
+            }
+            if (this.chunkSaveDir != null) {
+                for (Path file : regionFiles) {
+                    final RegionFile regionFile = getOpenRegionFile(this.chunkSaveDir, file.getFileName().toString());
+                    final ByteBuffer snapshot;
+                    if (regionFile != null) {
+                        synchronized (regionFile) {
+                            snapshot = readFile(file);
+                        }
+                    } else {
+                        snapshot = readFile(file);
+                    }
+                    updateChangedBlocks(snapshot, newDir.resolve(oldDir.relativize(file)));
+                }
+            }
+        }
+
+        @Nullable
+        private static RegionFile getOpenRegionFile(File chunkSaveDir, String fileName) {
+            // r.<x>.<z>.mca
+            final String[] parts = fileName.split("\\.");
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                return WorldStorageUtil.getOpenRegionFile(chunkSaveDir, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void copyFile(Path source, Path target) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                    FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)) {
+                final long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    final long transferred = in.transferTo(position, Math.min(BLOCK_SIZE, size - position), out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    this.future.copiedBytes.addAndGet(transferred);
+                }
+            }
+        }
+
+        private static ByteBuffer readFile(Path file) throws IOException {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) in.size());
+                readBlock(in, buffer, 0);
+                return buffer;
+            }
+        }
+
+        private void updateChangedBlocks(ByteBuffer source, Path target) throws IOException {
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final ByteBuffer targetBlock = ByteBuffer.allocate(BLOCK_SIZE);
+                final int size = source.limit();
+                for (int position = 0; position < size; position += BLOCK_SIZE) {
+                    source.limit(Math.min(size, position + BLOCK_SIZE)).position(position);
+                    final ByteBuffer sourceBlock = source.slice();
+                    readBlock(out, targetBlock, position);
+                    if (!sourceBlock.equals(targetBlock)) {
+                        while (sourceBlock.hasRemaining()) {
+                            out.write(sourceBlock, position + sourceBlock.position());
+                        }
+                    }
+                    this.future.copiedBytes.addAndGet(sourceBlock.limit());
+                    source.limit(size);
+                }
+                out.truncate(size);
+            }
+        }
+
+        private static void readBlock(FileChannel channel, ByteBuffer block, long position) throws IOException {
+            block.clear();
+            while (block.hasRemaining()) {
+                if (channel.read(block, position + block.position()) < 0) {
+                    break;
+                }
+            }
+            block.flip();
+        }
+
     }
 
     private static class DeleteWorldTask implements Callable<Boolean> {
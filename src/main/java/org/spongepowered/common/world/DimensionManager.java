@@ -240,6 +240,7 @@ public static void setWorld(int id, WorldServer world) {
             final WorldServer server = worlds.remove(id);
             IMixinWorld spongeWorld = (IMixinWorld) server;
             spongeWorld.getActiveConfig().save();
+            spongeWorld.getTimingsHandler().unload();
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().remove(id);
             SpongeImpl.getLogger().info("Unloading dimension {} ({})", id, server.getWorldInfo().getWorldName());
         }
@@ -28,17 +28,41 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.IChunkProvider;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.server.management.IMixinPlayerManager;
 import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.world.gen.AsyncTerrainGenerator;
+import org.spongepowered.common.world.gen.SpongeChunkProvider;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -138,28 +162,63 @@ public String toString() {
             '}';
     }
 
+    /**
+     * Generates the chunks region by region, starting with the region of the
+     * center and moving outwards. Within a region the chunks are generated
+     * row by row, so the region file stays cached and the chunks of the
+     * previous row can be populated before they are unloaded again.
+     *
+     * <p>A chunk is only populated while its +x, +z and +x+z neighbours are
+     * loaded. The walk over a region therefore includes the first column and
+     * row of the neighbouring regions, so the last column and row of the
+     * region are populated before they are unloaded.</p>
+     *
+     * <p>The position is checkpointed to a file in the world directory, a
+     * pre-generation of the same area continues where it left off after a
+     * restart. The previous row is loaded again when resuming, so its chunks
+     * still get populated.</p>
+     */
     private static class ChunkPreGenerator implements Consumer<Task> {
 
-        private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-        };
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String CHECKPOINT_FILE = "chunkpregen_sponge.dat";
+        private static final long CHECKPOINT_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+        private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+        // A region is walked with one extra column and row, the seam with the
+        // neighbouring regions in +x and +z
+        private static final int WALK_SIZE = 32 + 1;
+        private static final int WALK_CHUNKS = WALK_SIZE * WALK_SIZE;
+        // Two rows of the walk, the chunks of the previous row are populated
+        // once the current row is loaded
+        private static final int LOADED_CHUNKS = 2 * WALK_SIZE + 1;
+        // How many chunks ahead the terrain is generated off the main thread
+        private static final int TERRAIN_LOOKAHEAD = 64;
         private final World world;
+        private final Vector3i centerChunk;
         private final int chunkRadius;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+        private final long[] regions;
         private final int chunkCount;
         private final float tickPercent;
         private final long tickTimeLimit;
         @Nullable private final Logger logger;
-        private Vector3i currentPosition;
-        private int currentGenCount;
-        private int currentLayer;
-        private int currentIndex;
-        private int nextJump;
-        private int totalCount;
+        private final File checkpointFile;
+        private final Deque<Vector3i> loadedChunks = new ArrayDeque<>();
+        private long timeBudget;
+        private int regionIndex;
+        private int chunkIndex;
+        private long totalCount;
         private long totalTime;
+        private long elapsedTime;
+        private long lastRunTime;
+        private long lastReportTime;
+        private long lastCheckpointTime;
+        private long reportCount;
+        // Chunks loaded again after resuming, which were already counted
+        private int recountedChunks;
 
         ChunkPreGenerator(World world, Vector3d center, double diameter, int chunkCount, float tickPercent, @Nullable Logger logger) {
             this.world = world;
@@ -168,74 +227,274 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             this.tickPercent = tickPercent;
             this.logger = logger;
             this.tickTimeLimit = Math.round(SpongeScheduler.getInstance().getPreferredTickInterval() * tickPercent);
-            final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
-            if (currentPosition.isPresent()) {
-                this.currentPosition = currentPosition.get();
+            this.timeBudget = this.tickTimeLimit;
+            final Optional<Vector3i> centerChunk = SpongeChunkLayout.instance.toChunk(center.toInt());
+            if (centerChunk.isPresent()) {
+                this.centerChunk = centerChunk.get();
             } else {
                 throw new IllegalArgumentException("Center is not a valid chunk coordinate");
             }
-            this.currentGenCount = 4;
-            this.currentLayer = 0;
-            this.currentIndex = 0;
-            this.nextJump = 0;
-            this.totalCount = 0;
-            this.totalTime = 0;
+            // One extra row and column so all chunks of the area get populated
+            this.minChunkX = this.centerChunk.getX() - this.chunkRadius;
+            this.minChunkZ = this.centerChunk.getZ() - this.chunkRadius;
+            this.maxChunkX = this.centerChunk.getX() + this.chunkRadius + 1;
+            this.maxChunkZ = this.centerChunk.getZ() + this.chunkRadius + 1;
+            this.regions = getRegions(this.centerChunk.getX() >> 5, this.centerChunk.getZ() >> 5,
+                    this.minChunkX >> 5, this.minChunkZ >> 5, this.maxChunkX >> 5, this.maxChunkZ >> 5);
+            this.checkpointFile = new File(((WorldServer) world).getSaveHandler().getWorldDirectory(), CHECKPOINT_FILE);
+            readCheckpoint();
+            skipOutsideArea();
+        }
+
+        /**
+         * Gets the regions within the given bounds, ordered by their distance
+         * to the center region.
+         */
+        private static long[] getRegions(int centerX, int centerZ, int minX, int minZ, int maxX, int maxZ) {
+            final List<Vector2i> regions = new ArrayList<>();
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    regions.add(new Vector2i(x, z));
+                }
+            }
+            regions.sort(Comparator.<Vector2i>comparingInt(region -> Math.max(Math.abs(region.getX() - centerX), Math.abs(region.getY() - centerZ)))
+                    .thenComparingInt(Vector2i::getY)
+                    .thenComparingInt(Vector2i::getX));
+            final long[] packed = new long[regions.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = ChunkCoordIntPair.chunkXZ2Int(regions.get(i).getX(), regions.get(i).getY());
+            }
+            return packed;
+        }
+
+        private void readCheckpoint() {
+            if (!this.checkpointFile.isFile()) {
+                return;
+            }
+            try (FileInputStream stream = new FileInputStream(this.checkpointFile)) {
+                final NBTTagCompound compound = CompressedStreamTools.readCompressed(stream);
+                if (compound.getInteger("CenterX") != this.centerChunk.getX() || compound.getInteger("CenterZ") != this.centerChunk.getZ()
+                        || compound.getInteger("Radius") != this.chunkRadius) {
+                    // A different area, start over
+                    return;
+                }
+                this.regionIndex = compound.getInteger("RegionIndex");
+                final int chunkIndex = compound.getInteger("ChunkIndex");
+                // The chunks of the previous row were loaded before the restart
+                // and are waiting for their +z neighbours, so load them again
+                this.chunkIndex = Math.max(0, chunkIndex - WALK_SIZE);
+                if (this.regionIndex < this.regions.length) {
+                    final long region = this.regions[this.regionIndex];
+                    for (int i = this.chunkIndex; i < chunkIndex; i++) {
+                        if (!isSeam(i) && isInArea(getChunkX(region, i), getChunkZ(region, i))) {
+                            this.recountedChunks++;
+                        }
+                    }
+                }
+                this.totalCount = compound.getLong("TotalCount");
+                this.totalTime = compound.getLong("TotalTime");
+                this.elapsedTime = compound.getLong("ElapsedTime");
+                if (this.logger != null) {
+                    this.logger.info("Resuming chunk pre-generation at {} generated chunks", this.totalCount);
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Failed to read the chunk pre-generation checkpoint {}", this.checkpointFile, e);
+            }
+        }
+
+        private void writeCheckpoint() {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setInteger("CenterX", this.centerChunk.getX());
+            compound.setInteger("CenterZ", this.centerChunk.getZ());
+            compound.setInteger("Radius", this.chunkRadius);
+            compound.setInteger("RegionIndex", this.regionIndex);
+            compound.setInteger("ChunkIndex", this.chunkIndex);
+            compound.setLong("TotalCount", this.totalCount);
+            compound.setLong("TotalTime", this.totalTime);
+            compound.setLong("ElapsedTime", this.elapsedTime);
+            final File newFile = new File(this.checkpointFile.getPath() + "_new");
+            try {
+                try (FileOutputStream stream = new FileOutputStream(newFile)) {
+                    CompressedStreamTools.writeCompressed(compound, stream);
+                }
+                Files.move(newFile.toPath(), this.checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Failed to write the chunk pre-generation checkpoint {}", this.checkpointFile, e);
+            }
         }
 
         @Override
         public void accept(Task task) {
             final long startTime = System.currentTimeMillis();
+            if (this.lastRunTime != 0) {
+                this.elapsedTime += startTime - this.lastRunTime;
+            }
+            this.lastRunTime = startTime;
+            adaptTimeBudget();
             int count = 0;
-            do {
-                count += this.currentGenCount;
+            int generated = 0;
+            while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime)) {
+                final int regionIndex = this.regionIndex;
+                // Seam chunks are counted by the region they belong to
+                if (!isSeam(this.chunkIndex)) {
+                    if (this.recountedChunks > 0) {
+                        this.recountedChunks--;
+                    } else {
+                        generated++;
+                    }
+                }
                 final Vector3i position = nextChunkPosition();
                 this.world.loadChunk(position, true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_Z), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z), true);
-            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime));
-            if (this.logger != null) {
-                this.totalCount += count;
-                final long deltaTime = System.currentTimeMillis() - startTime;
-                this.totalTime += deltaTime;
-                this.logger.info("Generated {} chunks in {}, {}% complete", count,
-                    DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false),
-                    GenericMath.floor(this.totalCount / Math.pow(this.chunkRadius * 2 + 1, 2) * 100)
-                );
+                this.loadedChunks.add(position);
+                if (this.loadedChunks.size() > LOADED_CHUNKS) {
+                    unloadChunk(this.loadedChunks.poll());
+                }
+                if (this.regionIndex != regionIndex) {
+                    // Finished a region including its seam, every chunk of
+                    // it that can be populated yet has been
+                    while (!this.loadedChunks.isEmpty()) {
+                        unloadChunk(this.loadedChunks.poll());
+                    }
+                }
+                count++;
             }
+            final long now = System.currentTimeMillis();
+            this.totalCount += generated;
+            this.totalTime += now - startTime;
+            queueTerrain(Math.min(TERRAIN_LOOKAHEAD, Math.max(count, 1) * 2));
+
             if (!hasNextChunkPosition()) {
+                while (!this.loadedChunks.isEmpty()) {
+                    unloadChunk(this.loadedChunks.poll());
+                }
+                if (!this.checkpointFile.delete() && this.checkpointFile.exists()) {
+                    SpongeImpl.getLogger().warn("Failed to delete the chunk pre-generation checkpoint {}", this.checkpointFile);
+                }
                 if (this.logger != null) {
-                    this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount,
+                    this.logger.info("Done! Generated a total of {} chunks in {} ({} spent generating)", this.totalCount,
+                        DurationFormatUtils.formatDurationWords(this.elapsedTime, true, true),
                         DurationFormatUtils.formatDuration(this.totalTime, TIME_FORMAT, false));
                 }
                 task.cancel();
+                return;
+            }
+            // Not while loading the previous row again, the counted position is further ahead
+            if (this.recountedChunks == 0 && now - this.lastCheckpointTime >= CHECKPOINT_INTERVAL) {
+                this.lastCheckpointTime = now;
+                writeCheckpoint();
+            }
+            this.reportCount += generated;
+            if (this.logger != null && now - this.lastReportTime >= REPORT_INTERVAL) {
+                final long totalChunks = (long) (this.maxChunkX - this.minChunkX + 1) * (this.maxChunkZ - this.minChunkZ + 1);
+                final double chunksPerSecond = this.lastReportTime == 0 ? 0 : this.reportCount * 1000.0 / (now - this.lastReportTime);
+                final double averageChunksPerSecond = this.elapsedTime == 0 ? chunksPerSecond : this.totalCount * 1000.0 / this.elapsedTime;
+                final String eta = averageChunksPerSecond <= 0 ? "unknown"
+                        : DurationFormatUtils.formatDurationWords((long) ((totalChunks - this.totalCount) * 1000 / averageChunksPerSecond), true, true);
+                this.logger.info("Generated {} chunks, {}% complete, {} chunks/s, ETA {}", this.totalCount,
+                    GenericMath.floor(this.totalCount * 100.0 / totalChunks), String.format("%.1f", chunksPerSecond), eta);
+                this.lastReportTime = now;
+                this.reportCount = 0;
+            }
+        }
+
+        /**
+         * Halves the time budget while the server can't keep up, and slowly
+         * grows it back to the tick percent limit otherwise.
+         */
+        private void adaptTimeBudget() {
+            final double meanTickTime = MathHelper.average(MinecraftServer.getServer().tickTimeArray) * 1.0E-6D;
+            if (meanTickTime > SpongeScheduler.getInstance().getPreferredTickInterval()) {
+                this.timeBudget = Math.max(1, this.timeBudget / 2);
+            } else if (this.timeBudget < this.tickTimeLimit) {
+                this.timeBudget = Math.min(this.tickTimeLimit, this.timeBudget + Math.max(1, this.tickTimeLimit / 10));
+            }
+        }
+
+        private void unloadChunk(Vector3i position) {
+            final WorldServer worldServer = (WorldServer) this.world;
+            if (!((IMixinPlayerManager) worldServer.getPlayerManager()).isChunkInUse(position.getX(), position.getZ())) {
+                worldServer.theChunkProviderServer.dropChunk(position.getX(), position.getZ());
+            }
+        }
+
+        /**
+         * Queues the terrain of the next chunks on the terrain generation
+         * thread, so it's generated while the server is idle.
+         */
+        private void queueTerrain(int amount) {
+            if (!SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncTerrainGeneration()) {
+                return;
+            }
+            final IChunkProvider chunkGenerator = ((WorldServer) this.world).theChunkProviderServer.serverChunkGenerator;
+            if (!(chunkGenerator instanceof SpongeChunkProvider)) {
+                return;
             }
+            final AsyncTerrainGenerator terrainGenerator = ((SpongeChunkProvider) chunkGenerator).getAsyncTerrainGenerator();
+            int regionIndex = this.regionIndex;
+            int chunkIndex = this.chunkIndex;
+            for (int i = 0; i < amount && regionIndex < this.regions.length; i++) {
+                final int chunkX = getChunkX(this.regions[regionIndex], chunkIndex);
+                final int chunkZ = getChunkZ(this.regions[regionIndex], chunkIndex);
+                if (++chunkIndex == WALK_CHUNKS) {
+                    chunkIndex = 0;
+                    regionIndex++;
+                }
+                if (isInArea(chunkX, chunkZ) && !terrainGenerator.queue(chunkX, chunkZ)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean isInArea(int chunkX, int chunkZ) {
+            return chunkX >= this.minChunkX && chunkX <= this.maxChunkX && chunkZ >= this.minChunkZ && chunkZ <= this.maxChunkZ;
         }
 
         private boolean hasNextChunkPosition() {
-            return this.currentLayer <= this.chunkRadius;
+            return this.regionIndex < this.regions.length;
         }
 
         private Vector3i nextChunkPosition() {
-            final Vector3i nextPosition = this.currentPosition;
-            final int currentLayerIndex;
-            if (this.currentIndex >= this.nextJump) {
-                // Reached end of layer, jump to the next so we can keep spiralling
-                this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-                this.currentLayer++;
-                // Each the jump increment increases by 4 at each new layer
-                this.nextJump += this.currentLayer * 4;
-                currentLayerIndex = 1;
-            } else {
-                // Get the current index since the last jump
-               currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-                // Move to next position in layer, by following a square
-                this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
+            final long region = this.regions[this.regionIndex];
+            final Vector3i position = new Vector3i(getChunkX(region, this.chunkIndex), 0, getChunkZ(region, this.chunkIndex));
+            advance();
+            skipOutsideArea();
+            return position;
+        }
+
+        private void advance() {
+            if (++this.chunkIndex == WALK_CHUNKS) {
+                this.chunkIndex = 0;
+                this.regionIndex++;
+            }
+        }
+
+        /**
+         * Moves the position past the chunks of the regions that are outside
+         * of the area.
+         */
+        private void skipOutsideArea() {
+            while (hasNextChunkPosition()) {
+                final long region = this.regions[this.regionIndex];
+                if (isInArea(getChunkX(region, this.chunkIndex), getChunkZ(region, this.chunkIndex))) {
+                    return;
+                }
+                advance();
             }
-            // If we're at the corner it's 3, else 2 for an edge
-            this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-            this.currentIndex++;
-            return nextPosition;
+        }
+
+        private static int getChunkX(long region, int chunkIndex) {
+            return ((int) region << 5) + chunkIndex % WALK_SIZE;
+        }
+
+        private static int getChunkZ(long region, int chunkIndex) {
+            return ((int) (region >>> 32) << 5) + chunkIndex / WALK_SIZE;
+        }
+
+        /**
+         * Gets whether the chunk of the walk belongs to a neighbouring region.
+         */
+        private static boolean isSeam(int chunkIndex) {
+            return chunkIndex % WALK_SIZE == WALK_SIZE - 1 || chunkIndex / WALK_SIZE == WALK_SIZE - 1;
         }
 
         private boolean checkChunkCount(int count) {
@@ -243,7 +502,7 @@ private boolean checkChunkCount(int count) {
         }
 
         private boolean checkTickTime(long tickTime) {
-            return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+            return this.tickPercent <= 0 || tickTime < this.timeBudget;
         }
 
     }
@@ -0,0 +1,285 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import co.aikar.timings.WorldTimingsHandler;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the terrain of chunks in front of moving players ahead of time.
+ *
+ * <p>Every world tick the chunks just outside the view distance of players,
+ * in the direction they are moving, are queued on the terrain generation
+ * thread. The thread runs the biome, base terrain, ground cover and
+ * generation populator stages, the chunk is assembled and populated on the
+ * main thread once it is requested.</p>
+ *
+ * <p>Vanilla generators keep state in the generator itself and in the biome
+ * layers that are shared with the rest of the world, so the terrain
+ * generation thread only runs while it holds the {@link #lockServer() server
+ * lock}. The main thread holds the lock while it's ticking, so terrain is
+ * generated ahead of time while the server is idle between ticks.</p>
+ */
+public final class AsyncTerrainGenerator {
+
+    // How many rows of chunks beyond the view distance are generated ahead
+    private static final int LOOKAHEAD = 2;
+    // Limits the memory used by terrain that is generated but not used yet
+    private static final int MAX_PENDING = 128;
+    // Terrain that wasn't requested within this many ticks is discarded
+    private static final int EXPIRE_TICKS = 1200;
+    // The minimum horizontal speed in blocks per tick to generate terrain ahead
+    private static final double MIN_SPEED_SQUARED = 0.1 * 0.1;
+
+    private static final ReentrantLock serverLock = new ReentrantLock();
+    @Nullable private static ExecutorService executor;
+
+    private final SpongeChunkProvider provider;
+    private final Map<Long, PendingTerrain> pending = new ConcurrentHashMap<>();
+    private int tickCounter;
+
+    AsyncTerrainGenerator(SpongeChunkProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Acquires the lock that prevents the terrain generation thread from
+     * running. The main thread holds it while the server is ticking.
+     */
+    public static void lockServer() {
+        serverLock.lock();
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lockServer()}.
+     */
+    public static void unlockServer() {
+        serverLock.unlock();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge-TerrainGen-%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the terrain generation thread, discarding the queued chunks, and
+     * waits for the chunk it is generating. The thread is started again once
+     * terrain is queued.
+     */
+    public static void shutdown() {
+        final ExecutorService executor;
+        synchronized (AsyncTerrainGenerator.class) {
+            executor = AsyncTerrainGenerator.executor;
+            AsyncTerrainGenerator.executor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                SpongeImpl.getLogger().warn("The terrain generation thread did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the amount of chunks that are queued or generated but not
+     * requested yet.
+     *
+     * @return The amount of pending chunks
+     */
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Queues the terrain in front of the moving players of the world. Called
+     * by the world at the end of every tick.
+     *
+     * @param players The players in the world
+     */
+    public void tick(List<EntityPlayer> players) {
+        this.tickCounter++;
+        final WorldServer world = (WorldServer) this.provider.world;
+        final WorldTimingsHandler timings = ((IMixinWorld) world).getTimingsHandler();
+
+        Iterator<PendingTerrain> it = this.pending.values().iterator();
+        while (it.hasNext()) {
+            PendingTerrain terrain = it.next();
+            if (this.tickCounter - terrain.queuedTick > EXPIRE_TICKS) {
+                terrain.cancelled = true;
+                it.remove();
+                if (terrain.terrain != null) {
+                    timings.terrainPrefetchDiscarded++;
+                }
+            }
+        }
+
+        if (players.isEmpty() || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncTerrainGeneration()) {
+            return;
+        }
+
+        final int viewDistance = MinecraftServer.getServer().getConfigurationManager().getViewDistance();
+        for (EntityPlayer player : players) {
+            double motionX = player.posX - player.lastTickPosX;
+            double motionZ = player.posZ - player.lastTickPosZ;
+            if (motionX * motionX + motionZ * motionZ < MIN_SPEED_SQUARED) {
+                continue;
+            }
+            int chunkX = MathHelper.floor_double(player.posX) >> 4;
+            int chunkZ = MathHelper.floor_double(player.posZ) >> 4;
+            // Diagonal movement generates ahead on both axes
+            double minMotion = Math.max(Math.abs(motionX), Math.abs(motionZ)) / 2;
+            int directionX = Math.abs(motionX) >= minMotion ? (int) Math.signum(motionX) : 0;
+            int directionZ = Math.abs(motionZ) >= minMotion ? (int) Math.signum(motionZ) : 0;
+            for (int row = 1; row <= LOOKAHEAD; row++) {
+                for (int offset = -viewDistance; offset <= viewDistance; offset++) {
+                    if (directionX != 0) {
+                        queue(chunkX + directionX * (viewDistance + row), chunkZ + offset);
+                    }
+                    if (directionZ != 0) {
+                        queue(chunkX + offset, chunkZ + directionZ * (viewDistance + row));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the terrain of the given chunk to be generated ahead of time,
+     * unless the chunk is already loaded or queued. Must be called from the
+     * main thread.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return False if too many chunks are pending already
+     */
+    public boolean queue(int chunkX, int chunkZ) {
+        if (this.pending.size() >= MAX_PENDING) {
+            return false;
+        }
+        long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        if (this.pending.containsKey(key) || ((WorldServer) this.provider.world).theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+            return true;
+        }
+        PendingTerrain terrain = new PendingTerrain(chunkX, chunkZ, this.tickCounter);
+        this.pending.put(key, terrain);
+        getExecutor().execute(terrain);
+        return true;
+    }
+
+    /**
+     * Takes the terrain that was generated ahead of time for the given chunk.
+     * The caller must hold the {@link #lockServer() server lock}.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated terrain, or null if it has to be generated now
+     */
+    @Nullable
+    SpongeChunkProvider.GeneratedTerrain claim(int chunkX, int chunkZ) {
+        if (this.pending.isEmpty()) {
+            return null;
+        }
+        PendingTerrain terrain = this.pending.remove(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        if (terrain == null) {
+            return null;
+        }
+        terrain.cancelled = true;
+        if (terrain.terrain != null) {
+            ((IMixinWorld) this.provider.world).getTimingsHandler().terrainPrefetchHits++;
+        }
+        return terrain.terrain;
+    }
+
+    private final class PendingTerrain implements Runnable {
+
+        private final int chunkX;
+        private final int chunkZ;
+        final int queuedTick;
+        volatile boolean cancelled;
+        // Written and read while holding the server lock
+        @Nullable SpongeChunkProvider.GeneratedTerrain terrain;
+
+        PendingTerrain(int chunkX, int chunkZ, int queuedTick) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.queuedTick = queuedTick;
+        }
+
+        @Override
+        public void run() {
+            if (this.cancelled) {
+                return;
+            }
+            serverLock.lock();
+            try {
+                if (this.cancelled) {
+                    return;
+                }
+                World world = AsyncTerrainGenerator.this.provider.world;
+                IChunkLoader chunkLoader = ((IMixinChunkProviderServer) ((WorldServer) world).theChunkProviderServer).getChunkLoader();
+                if (chunkLoader instanceof IMixinAnvilChunkLoader && ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(world, this.chunkX, this.chunkZ)) {
+                    // The chunk will be loaded, keep the entry so it isn't queued again
+                    return;
+                }
+                this.terrain = AsyncTerrainGenerator.this.provider.generateTerrain(this.chunkX, this.chunkZ);
+                ((IMixinWorld) world).getTimingsHandler().terrainGeneratedAhead.increment();
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to generate the terrain of chunk ({}, {}) ahead of time", this.chunkX, this.chunkZ, e);
+            } finally {
+                serverLock.unlock();
+            }
+        }
+    }
+}
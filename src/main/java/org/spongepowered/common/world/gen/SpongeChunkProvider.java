@@ -29,6 +29,7 @@
 import co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
+import co.aikar.timings.WorldTimingsHandler;
 import com.flowpowered.math.vector.Vector2i;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -82,6 +83,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
@@ -106,6 +108,7 @@ public class SpongeChunkProvider implements WorldGenerator, IChunkProvider {
 
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
+    private final AsyncTerrainGenerator asyncTerrainGenerator;
 
     public SpongeChunkProvider(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
@@ -127,6 +130,7 @@ public SpongeChunkProvider(World world, GenerationPopulator base, BiomeGenerator
         if (this.baseGenerator instanceof IChunkProviderGenerate) {
             ((IChunkProviderGenerate) this.baseGenerator).setBiomeGenerator(this.biomeGenerator);
         }
+        this.asyncTerrainGenerator = new AsyncTerrainGenerator(this);
 
         if (!this.getClass().getSimpleName().equalsIgnoreCase("SpongeChunkProviderForge")) {
             String chunkGeneratorName = "";
@@ -213,19 +217,66 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk provideChunk(int chunkX, int chunkZ) {
+        GeneratedTerrain terrain;
+        AsyncTerrainGenerator.lockServer();
+        try {
+            terrain = this.asyncTerrainGenerator.claim(chunkX, chunkZ);
+            if (terrain == null) {
+                terrain = generateTerrain(chunkX, chunkZ);
+            }
+        } finally {
+            AsyncTerrainGenerator.unlockServer();
+        }
+
+        // Assemble chunk
+        WorldTimingsHandler timings = ((IMixinWorld) this.world).getTimingsHandler();
+        timings.terrainAssembly.startTimingIfSync();
+        Chunk chunk = new Chunk(this.world, terrain.primer, chunkX, chunkZ);
+        byte[] biomeArray = chunk.getBiomeArray();
+        System.arraycopy(terrain.biomes, 0, biomeArray, 0, biomeArray.length);
+        chunk.generateSkylightMap();
+        timings.terrainAssembly.stopTimingIfSync();
+        return chunk;
+    }
+
+    /**
+     * Generates the blocks and biomes of a chunk, everything before the chunk
+     * is assembled. This may be called from the terrain generation thread,
+     * the caller must hold the {@link AsyncTerrainGenerator#lockServer() server
+     * lock}.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The generated terrain
+     */
+    GeneratedTerrain generateTerrain(int chunkX, int chunkZ) {
+        WorldTimingsHandler timings = ((IMixinWorld) this.world).getTimingsHandler();
+        timings.terrainGeneration.startTimingIfSync();
+        long time = System.nanoTime();
+
+        timings.terrainBiomes.startTimingIfSync();
         this.rand.setSeed((long) chunkX * 341873128712L + (long) chunkZ * 132897987541L);
         this.cachedBiomes.reuse(new Vector2i(chunkX * 16, chunkZ * 16));
         this.biomeGenerator.generateBiomes(this.cachedBiomes);
+        timings.terrainBiomes.stopTimingIfSync();
+        time = addElapsed(timings.terrainBiomesTime, time);
 
         // Generate base terrain
+        timings.terrainBase.startTimingIfSync();
         ChunkPrimer chunkprimer = new ChunkPrimer();
         MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
         ImmutableBiomeArea biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
         this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+        timings.terrainBase.stopTimingIfSync();
+        time = addElapsed(timings.terrainBaseTime, time);
 
+        timings.terrainGroundCover.startTimingIfSync();
         replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+        timings.terrainGroundCover.stopTimingIfSync();
+        time = addElapsed(timings.terrainGroundCoverTime, time);
 
         // Apply the generator populators to complete the blockBuffer
+        timings.terrainGenerationPopulators.startTimingIfSync();
         for (GenerationPopulator populator : this.genpop) {
             populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
         }
@@ -251,13 +302,27 @@ public Chunk provideChunk(int chunkX, int chunkZ) {
                 populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
             }
         }
+        timings.terrainGenerationPopulators.stopTimingIfSync();
+        addElapsed(timings.terrainGenerationPopulatorsTime, time);
+        timings.terrainGeneration.stopTimingIfSync();
 
-        // Assemble chunk
-        Chunk chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-        byte[] biomeArray = chunk.getBiomeArray();
-        System.arraycopy(this.cachedBiomes.detach(), 0, biomeArray, 0, biomeArray.length);
-        chunk.generateSkylightMap();
-        return chunk;
+        // The biome buffer is reused for the next chunk
+        return new GeneratedTerrain(chunkprimer, this.cachedBiomes.detach().clone());
+    }
+
+    private static long addElapsed(LongAdder total, long start) {
+        long now = System.nanoTime();
+        total.add(now - start);
+        return now;
+    }
+
+    /**
+     * Gets the generator that generates the terrain of chunks ahead of time.
+     *
+     * @return The async terrain generator
+     */
+    public AsyncTerrainGenerator getAsyncTerrainGenerator() {
+        return this.asyncTerrainGenerator;
     }
 
     @Override
@@ -520,4 +585,17 @@ public void generateBiomeTerrain(World worldIn, Random rand, ChunkPrimer chunk,
         }
     }
 
+    /**
+     * The blocks and biomes of a chunk that is not assembled yet.
+     */
+    static final class GeneratedTerrain {
+
+        final ChunkPrimer primer;
+        final byte[] biomes;
+
+        GeneratedTerrain(ChunkPrimer primer, byte[] biomes) {
+            this.primer = primer;
+            this.biomes = biomes;
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import co.aikar.timings.WorldTimingsHandler;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * Spreads the auto-save of a world over multiple ticks.
+ *
+ * <p>When a save is {@link #start() started}, the positions of all loaded
+ * chunks are recorded. Every {@link #tick()} the chunks are serialized on the
+ * main thread until the configured time budget is used up, and the
+ * compression and region file writes are handed to a single chunk save
+ * thread shared by all worlds. The save pauses until the next tick while too
+ * many chunks of the world are waiting to be written.</p>
+ *
+ * <p>Once {@link #attach() attached}, the chunk save thread replaces the
+ * vanilla file IO thread for the chunk loader of the world, so there is only
+ * one writer for its region files. Serialized chunks are still queued in the
+ * chunk loader the same way vanilla does, so chunks loaded before they are
+ * written read the pending data.</p>
+ */
+public final class IncrementalChunkSaver {
+
+    private static final long[] NO_CHUNKS = new long[0];
+
+    @Nullable private static ExecutorService ioExecutor;
+
+    private final WorldServer world;
+    private final AtomicBoolean writeQueued = new AtomicBoolean();
+    private long[] chunks = NO_CHUNKS;
+    private int index;
+
+    public IncrementalChunkSaver(WorldServer world) {
+        this.world = world;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (ioExecutor == null) {
+            ioExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge-ChunkSave-%d").setDaemon(true).build());
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * Blocks until all chunks queued on the chunk save thread are written.
+     */
+    public static void flush() {
+        final ExecutorService executor = ioExecutor;
+        if (executor == null) {
+            return;
+        }
+        // The thread handles tasks in order, so all writes are done once this completes
+        try {
+            executor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Can't happen
+        }
+    }
+
+    /**
+     * Makes the chunk save thread write the chunks of this world instead of
+     * the vanilla file IO thread. Must be called before the first chunk of
+     * the world is saved.
+     */
+    public void attach() {
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) this.world.theChunkProviderServer).getChunkLoader();
+        if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+            ((IMixinAnvilChunkLoader) chunkLoader).setChunkSaver(this);
+        }
+    }
+
+    /**
+     * Makes sure the chunk save thread writes the chunks that are waiting to
+     * be written. Called by the chunk loader whenever a chunk is saved.
+     */
+    public void queueWrites() {
+        // At most one write task per world is queued, it writes every chunk that is pending when it runs
+        if (this.writeQueued.compareAndSet(false, true)) {
+            getExecutor().execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        this.writeQueued.set(false);
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) this.world.theChunkProviderServer).getChunkLoader();
+        final WorldTimingsHandler timings = ((IMixinWorld) this.world).getTimingsHandler();
+        long bytes;
+        while ((bytes = ((IMixinAnvilChunkLoader) chunkLoader).writeNextChunk()) >= 0) {
+            timings.bytesWritten.add(bytes);
+        }
+    }
+
+    /**
+     * Gets the amount of chunks of this world waiting to be written.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) this.world.theChunkProviderServer).getChunkLoader();
+        return chunkLoader instanceof IMixinAnvilChunkLoader ? ((IMixinAnvilChunkLoader) chunkLoader).getPendingChunkCount() : 0;
+    }
+
+    /**
+     * Gets whether a save is in progress.
+     *
+     * @return True if chunks are left to be saved
+     */
+    public boolean isSaving() {
+        return this.index < this.chunks.length;
+    }
+
+    /**
+     * Gets the amount of chunks left to be checked by the current save.
+     *
+     * @return The remaining chunks
+     */
+    public int getRemaining() {
+        return this.chunks.length - this.index;
+    }
+
+    /**
+     * Starts saving the chunks that are currently loaded. Does nothing if
+     * the previous save didn't finish yet.
+     */
+    public void start() {
+        if (isSaving()) {
+            return;
+        }
+        final List<Chunk> loadedChunks = this.world.theChunkProviderServer.loadedChunks;
+        final long[] chunks = new long[loadedChunks.size()];
+        for (int i = 0; i < chunks.length; i++) {
+            final Chunk chunk = loadedChunks.get(i);
+            chunks[i] = ChunkCoordIntPair.chunkXZ2Int(chunk.xPosition, chunk.zPosition);
+        }
+        this.chunks = chunks;
+        this.index = 0;
+    }
+
+    /**
+     * Saves chunks of the current save until the tick budget is used up.
+     */
+    public void tick() {
+        final WorldTimingsHandler timings = ((IMixinWorld) this.world).getTimingsHandler();
+        if (!isSaving()) {
+            timings.chunksSavedLastTick = 0;
+            return;
+        }
+
+        timings.incrementalSave.startTiming();
+        final long budget = TimeUnit.MILLISECONDS.toNanos(
+                ((IMixinWorld) this.world).getActiveConfig().getConfig().getWorld().getAutoSaveTickBudget());
+        final long start = System.nanoTime();
+        final int queueSize = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getWorld().getChunkSaveQueueSize());
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.world.theChunkProviderServer;
+        int saved = 0;
+        while (this.index < this.chunks.length && getQueueDepth() < queueSize) {
+            final long key = this.chunks[this.index++];
+            final Chunk chunk = chunkProvider.getChunkIfLoaded((int) key, (int) (key >>> 32));
+            if (chunk != null && chunkProvider.saveChunk(chunk)) {
+                saved++;
+            }
+            if (System.nanoTime() - start >= budget) {
+                break;
+            }
+        }
+        if (!isSaving()) {
+            this.chunks = NO_CHUNKS;
+            this.index = 0;
+        }
+
+        timings.chunksSavedLastTick = saved;
+        timings.chunksSaved += saved;
+        if (saved > timings.maxChunksSavedPerTick) {
+            timings.maxChunksSavedPerTick = saved;
+        }
+        timings.incrementalSave.stopTiming();
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Interns the unique ids of the players tracked as block owners and
+ * notifiers in a world, so chunks only need to store an int index.
+ *
+ * <p>Indices are assigned in order and never reused. Looking up the unique
+ * id of an index is a plain array read, and looking up the index of a
+ * unique id probes a primitive table without locking, unless an id is being
+ * added at the same time. New ids are appended to the persisted table on
+ * the next save instead of rewriting it.</p>
+ */
+public final class PlayerIdTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Open addressing table from unique id to index. A slot holding 0 is
+     * free, otherwise it holds the index + 1. Replaced as a whole when
+     * growing, so readers always see arrays of the same generation.
+     */
+    private static final class Lookup {
+
+        final long[] most;
+        final long[] least;
+        final int[] slots;
+        final int mask;
+
+        Lookup(int capacity) {
+            this.most = new long[capacity];
+            this.least = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        int find(long most, long least) {
+            int slot = mix(most, least) & this.mask;
+            int value;
+            while ((value = this.slots[slot]) != 0) {
+                if (this.most[slot] == most && this.least[slot] == least) {
+                    return value - 1;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return -1;
+        }
+
+        void insert(long most, long least, int index) {
+            int slot = mix(most, least) & this.mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.most[slot] = most;
+            this.least[slot] = least;
+            this.slots[slot] = index + 1;
+        }
+
+        private static int mix(long most, long least) {
+            long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Lookup lookup = new Lookup(INITIAL_CAPACITY * 2);
+    private volatile UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private volatile int size;
+    // Resolved users are only weakly held so the user cache stays in charge
+    // of their lifetime
+    private volatile WeakReference<?>[] users = new WeakReference<?>[INITIAL_CAPACITY];
+    private int persisted;
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the index of the unique id, or -1 if it wasn't added yet.
+     *
+     * @param uniqueId The unique id
+     * @return The index
+     */
+    public int getIndex(UUID uniqueId) {
+        long most = uniqueId.getMostSignificantBits();
+        long least = uniqueId.getLeastSignificantBits();
+        long stamp = this.lock.tryOptimisticRead();
+        int index = this.lookup.find(most, least);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                index = this.lookup.find(most, least);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index of the unique id, adding it to the end of the table if
+     * it wasn't added yet.
+     *
+     * @param uniqueId The unique id
+     * @return The index
+     */
+    public int getOrCreateIndex(UUID uniqueId) {
+        checkNotNull(uniqueId, "uniqueId");
+        int index = getIndex(uniqueId);
+        if (index != -1) {
+            return index;
+        }
+        long stamp = this.lock.writeLock();
+        try {
+            index = this.lookup.find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+            return index != -1 ? index : append(uniqueId);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the unique id at the index.
+     *
+     * @param index The index
+     * @return The unique id, or null if there is none at the index
+     */
+    @Nullable
+    public UUID getUniqueId(int index) {
+        // Read the size first, an id is always stored before the size that
+        // includes it is published
+        int size = this.size;
+        return index >= 0 && index < size ? this.ids[index] : null;
+    }
+
+    /**
+     * Gets the user with the unique id at the index. Users are resolved
+     * through the {@link UserStorageService} once and reused afterwards.
+     *
+     * @param index The index
+     * @return The user, or null if there is no unique id at the index
+     */
+    @Nullable
+    public User getUser(int index) {
+        UUID uniqueId = getUniqueId(index);
+        if (uniqueId == null) {
+            return null;
+        }
+        WeakReference<?>[] users = this.users;
+        if (index < users.length) {
+            WeakReference<?> reference = users[index];
+            User user = reference == null ? null : (User) reference.get();
+            if (user != null) {
+                return user;
+            }
+        }
+        User user = SpongeImpl.getGame().getServiceManager().provide(UserStorageService.class).get().getOrCreate(GameProfile.of(uniqueId, null));
+        if (index < users.length) {
+            // Losing this write to a concurrent resize only costs another
+            // lookup later
+            users[index] = new WeakReference<>(user);
+        }
+        return user;
+    }
+
+    private int append(UUID uniqueId) {
+        int index = this.size;
+        if (index == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, index * 2);
+            this.users = Arrays.copyOf(this.users, index * 2);
+        }
+        Lookup lookup = this.lookup;
+        if ((index + 1) * 2 > lookup.slots.length) {
+            Lookup grown = new Lookup(lookup.slots.length * 2);
+            UUID[] ids = this.ids;
+            for (int i = 0; i < index; i++) {
+                if (grown.find(ids[i].getMostSignificantBits(), ids[i].getLeastSignificantBits()) == -1) {
+                    grown.insert(ids[i].getMostSignificantBits(), ids[i].getLeastSignificantBits(), i);
+                }
+            }
+            this.lookup = lookup = grown;
+        }
+        this.ids[index] = uniqueId;
+        lookup.insert(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits(), index);
+        this.size = index + 1;
+        return index;
+    }
+
+    /**
+     * Replaces the contents of this table with the persisted table.
+     *
+     * @param list The persisted table
+     */
+    public void read(NBTTagList list) {
+        long stamp = this.lock.writeLock();
+        try {
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < list.tagCount()) {
+                capacity <<= 1;
+            }
+            this.lookup = new Lookup(capacity * 2);
+            this.ids = new UUID[capacity];
+            this.users = new WeakReference<?>[capacity];
+            this.size = 0;
+            for (int i = 0; i < list.tagCount(); i++) {
+                NBTTagCompound valueNbt = list.getCompoundTagAt(i);
+                // Duplicates keep their index so existing chunk data stays
+                // valid, only the first one is found by unique id
+                UUID uniqueId = new UUID(valueNbt.getLong(NbtDataUtil.WORLD_UUID_MOST), valueNbt.getLong(NbtDataUtil.WORLD_UUID_LEAST));
+                int index = this.size;
+                this.ids[index] = uniqueId;
+                if (this.lookup.find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits()) == -1) {
+                    this.lookup.insert(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits(), index);
+                }
+                this.size = index + 1;
+            }
+            synchronized (this) {
+                this.persisted = this.size;
+            }
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends the unique ids added since the last call to the persisted
+     * table.
+     *
+     * @param list The persisted table
+     */
+    public synchronized void writePending(NBTTagList list) {
+        int size = this.size;
+        for (int i = this.persisted; i < size; i++) {
+            UUID uniqueId = this.ids[i];
+            NBTTagCompound valueNbt = new NBTTagCompound();
+            valueNbt.setLong(NbtDataUtil.WORLD_UUID_MOST, uniqueId.getMostSignificantBits());
+            valueNbt.setLong(NbtDataUtil.WORLD_UUID_LEAST, uniqueId.getLeastSignificantBits());
+            list.appendTag(valueNbt);
+        }
+        this.persisted = size;
+    }
+
+}
@@ -24,127 +24,455 @@
  */
 package org.spongepowered.common.world.storage;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.world.chunk.storage.RegionFile;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.GlobalWorldCategory;
 
-import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
 
+/**
+ * Streams the data of every chunk stored in the region files of a world.
+ *
+ * <p>Chunks are read and decompressed on an executor, up to {@code prefetch}
+ * chunks ahead of the consumer. If the server has the {@link RegionFile}
+ * open, every chunk is read while holding its monitor, so chunks rewritten by
+ * the server while the stream is read are never returned torn. Region files
+ * are never opened through the cache, as that could close the region files
+ * the server is writing to. Chunks are
+ * returned in region file order, or in the order they finish decompressing
+ * if the stream is unordered. Chunks which are invalid or can't be read are
+ * logged and skipped.</p>
+ */
 public class SpongeChunkDataStream implements ChunkDataStream {
 
-    private static class RegionFileItr {
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+
+    @Nullable private static ThreadPoolExecutor sharedPool;
+
+    private static class Region {
 
-        private final RegionFile file;
-        public int index;
+        final Path file;
+        final int regionX;
+        final int regionZ;
+        final FileChannel channel;
+        // Only used to find the stored chunks, the offsets are read again for every chunk
+        private final int[] offsets;
+        // The iteration and every chunk being read hold a reference, the channel is closed once all are released
+        private final AtomicInteger references = new AtomicInteger(1);
+        private int index;
 
-        public RegionFileItr(RegionFile regionFile) {
-            this.file = regionFile;
+        Region(Path file, int regionX, int regionZ, FileChannel channel, int[] offsets) {
+            this.file = file;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+            this.channel = channel;
+            this.offsets = offsets;
         }
 
-        public int getNext() {
-            int index = this.index;
-            int[] offsets = this.file.offsets;
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
+        /**
+         * Gets the index of the next stored chunk and advances past it.
+         *
+         * @return The index, or -1 if all chunks were visited
+         */
+        int nextIndex() {
+            while (this.index < this.offsets.length) {
+                int index = this.index++;
+                if (this.offsets[index] != 0) {
+                    return index;
+                }
             }
-            if (index >= offsets.length) {
-                return -1;
+            return -1;
+        }
+
+        int remaining() {
+            int count = 0;
+            for (int i = this.index; i < this.offsets.length; i++) {
+                if (this.offsets[i] != 0) {
+                    count++;
+                }
             }
-            return index;
+            return count;
+        }
+
+        void retain() {
+            this.references.incrementAndGet();
+        }
+
+        void release() {
+            if (this.references.decrementAndGet() == 0) {
+                try {
+                    this.channel.close();
+                } catch (IOException ignored) {
+                    // Nothing was written
+                }
+            }
+        }
+
+    }
+
+    private static class ChunkFuture extends FutureTask<DataContainer> {
+
+        private final Region region;
+
+        ChunkFuture(Callable<DataContainer> callable, Region region) {
+            super(callable);
+            this.region = region;
+        }
+
+        @Override
+        protected void done() {
+            // Also called if the future was cancelled before it ran
+            this.region.release();
+        }
+
+    }
+
+    private static class QueueingFuture extends ChunkFuture {
+
+        private final BlockingQueue<Future<DataContainer>> completed;
+
+        QueueingFuture(Callable<DataContainer> callable, Region region, BlockingQueue<Future<DataContainer>> completed) {
+            super(callable, region);
+            this.completed = completed;
         }
 
-        public DataInputStream getStreamAt(int index) {
-            int x = index & 31;
-            int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
+        @Override
+        protected void done() {
+            super.done();
+            this.completed.add(this);
         }
 
     }
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
     private final Path worldDir;
+    private final Executor executor;
+    private final int prefetch;
+    private final boolean ordered;
+
+    @Nullable private List<Path> regionFiles;
+    private int regionIndex;
+    @Nullable private Region region;
+
+    // In ordered mode futures are taken from the head of pending, otherwise
+    // from the completed queue which they add themselves to once done
+    private final Deque<Future<DataContainer>> pending = new ArrayDeque<>();
+    private BlockingQueue<Future<DataContainer>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+    @Nullable private DataContainer next;
+
+    private long startTime;
+    private long chunksRead;
+    private final AtomicLong bytesRead = new AtomicLong();
 
     public SpongeChunkDataStream(Path worldDir) {
+        this(worldDir, SpongeImpl.getGlobalConfig().getConfig().getWorld());
+    }
+
+    private SpongeChunkDataStream(Path worldDir, GlobalWorldCategory config) {
+        this(worldDir, getPool(config.getChunkStreamThreads()), config.getChunkStreamPrefetch(), config.isChunkStreamOrdered());
+    }
+
+    /**
+     * Creates a stream over the region files of the given world.
+     *
+     * @param worldDir The world directory
+     * @param executor The executor decompressing chunks, or null to
+     *     decompress them on the thread reading the stream
+     * @param prefetch The maximum amount of chunks read ahead
+     * @param ordered Whether chunks are returned in region file order
+     */
+    public SpongeChunkDataStream(Path worldDir, @Nullable Executor executor, int prefetch, boolean ordered) {
+        checkArgument(prefetch > 0, "prefetch must be positive");
         this.worldDir = worldDir;
+        this.executor = executor != null ? executor : Runnable::run;
+        this.prefetch = executor != null ? prefetch : 1;
+        this.ordered = ordered;
     }
 
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
+    @Nullable
+    private static synchronized Executor getPool(int threads) {
+        if (threads <= 0) {
+            return null;
+        }
+        if (sharedPool == null) {
+            sharedPool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge-ChunkDataStream-%d").setDaemon(true).build());
+            sharedPool.allowCoreThreadTimeOut(true);
         }
-        Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
+        return sharedPool;
+    }
+
+    private void fill() {
+        if (this.startTime == 0) {
+            this.startTime = System.nanoTime();
+        }
+        while (this.inFlight < this.prefetch) {
+            ChunkFuture future = nextChunk();
+            if (future == null) {
+                break;
             }
+            if (this.ordered) {
+                this.pending.add(future);
+            }
+            this.inFlight++;
+            this.executor.execute(future);
         }
-        return false;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
+    @Nullable
+    private ChunkFuture nextChunk() {
+        if (this.regionFiles == null) {
+            // Listed once per pass rather than on every call to hasNext
+            this.regionFiles = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
+        }
+        while (true) {
+            if (this.region == null) {
+                if (this.regionIndex >= this.regionFiles.size()) {
+                    return null;
+                }
+                this.region = openRegion(this.regionFiles.get(this.regionIndex++));
+                continue;
+            }
+            int index = this.region.nextIndex();
+            if (index < 0) {
+                this.region.release();
+                this.region = null;
+                continue;
+            }
+            Region region = this.region;
+            region.retain();
+            Callable<DataContainer> task = () -> readChunk(region, index);
+            return this.ordered ? new ChunkFuture(task, region) : new QueueingFuture(task, region, this.completed);
+        }
+    }
+
+    @Nullable
+    private Region openRegion(Path file) {
+        // Region files are named r.<x>.<z>.mca
+        String[] name = file.getFileName().toString().split("\\.");
+        if (name.length != 4) {
+            return null;
+        }
+        int regionX;
+        int regionZ;
+        try {
+            regionX = Integer.parseInt(name[1]);
+            regionZ = Integer.parseInt(name[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            RegionFile regionFile = WorldStorageUtil.getOpenRegionFile(this.worldDir.toFile(), regionX, regionZ);
+            int[] offsets;
+            if (regionFile != null) {
+                synchronized (regionFile) {
+                    offsets = WorldStorageUtil.readOffsets(channel);
+                }
             } else {
-                return next;
+                offsets = WorldStorageUtil.readOffsets(channel);
+            }
+            if (offsets != null) {
+                return new Region(file, regionX, regionZ, channel, offsets);
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Unable to read region file {}", file, e);
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing was written
+            }
+        }
+        return null;
+    }
+
+    private static int countChunks(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return 0;
+            }
+            ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the offset table is complete
+            }
+            header.flip();
+            int count = 0;
+            while (header.remaining() >= 4) {
+                if (header.getInt() != 0) {
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Nullable
+    private DataContainer readChunk(Region region, int index) {
+        try {
+            // Looked up for every chunk, the server may open or close the region file while it is streamed
+            RegionFile regionFile = WorldStorageUtil.getOpenRegionFile(this.worldDir.toFile(), region.regionX, region.regionZ);
+            byte[] chunk = WorldStorageUtil.readChunkBytes(regionFile, region.channel, index);
+            if (chunk == null) {
+                return null;
+            }
+            this.bytesRead.addAndGet(chunk.length);
+            return WorldStorageUtil.readCompressedChunk(chunk);
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Unable to read chunk {},{} of region file {}", index & 31, index >> 5, region.file, e);
+            return null;
+        }
+    }
+
+    // Waits for the next chunk that could be read, skipping invalid chunks
+    private boolean advance() {
+        while (this.next == null) {
+            fill();
+            if (this.inFlight == 0) {
+                return false;
+            }
+            try {
+                Future<DataContainer> future = this.ordered ? this.pending.poll() : this.completed.take();
+                this.inFlight--;
+                this.next = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            } catch (ExecutionException e) {
+                throw Throwables.propagate(e.getCause());
             }
         }
-        return -1;
+        return true;
     }
 
     @Override
     public DataContainer next() {
-        int next = getNextIndex();
-        if (next == -1) {
+        if (!advance()) {
             throw new NoSuchElementException();
         }
-        this.regionFileItr.index = next + 1;
-        DataInputStream stream = this.regionFileItr.getStreamAt(next);
-        try {
-            return WorldStorageUtil.readDataFromRegion(stream);
-        } catch (IOException e) {
-            throw Throwables.propagate(e);
-        }
+        DataContainer data = this.next;
+        this.next = null;
+        this.chunksRead++;
+        return data;
     }
 
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        return advance();
     }
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
-        int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
+        int count = this.inFlight;
+        if (this.next != null) {
             count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
+        if (this.region != null) {
+            count += this.region.remaining();
+        }
+        if (this.regionFiles == null) {
+            this.regionFiles = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
+        }
+        for (int i = this.regionIndex; i < this.regionFiles.size(); i++) {
+            count += countChunks(this.regionFiles.get(i));
+        }
         return count;
     }
 
     @Override
     public void reset() {
-        this.regionFileItr = null;
-        this.openedFiles.clear();
+        for (Future<DataContainer> future : this.pending) {
+            future.cancel(false);
+        }
+        this.pending.clear();
+        // Unordered futures still running add themselves to the old queue
+        this.completed = new LinkedBlockingQueue<>();
+        this.inFlight = 0;
+        this.next = null;
+        this.regionFiles = null;
+        this.regionIndex = 0;
+        if (this.region != null) {
+            this.region.release();
+            this.region = null;
+        }
+        this.startTime = 0;
+        this.chunksRead = 0;
+        this.bytesRead.set(0);
+    }
+
+    /**
+     * Gets the amount of chunks returned since the stream was created or
+     * last reset.
+     *
+     * @return The amount of chunks read
+     */
+    public long getChunksRead() {
+        return this.chunksRead;
+    }
+
+    /**
+     * Gets the amount of compressed chunk data read from region files since
+     * the stream was created or last reset, including prefetched chunks.
+     *
+     * @return The amount of bytes read
+     */
+    public long getBytesRead() {
+        return this.bytesRead.get();
+    }
+
+    public double getChunksPerSecond() {
+        return perSecond(this.chunksRead);
+    }
+
+    public double getMegabytesPerSecond() {
+        return perSecond(this.bytesRead.get()) / (1024 * 1024);
+    }
+
+    private double perSecond(double value) {
+        if (this.startTime == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - this.startTime;
+        return elapsed <= 0 ? 0 : value * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpongeChunkDataStream{world=%s, chunks=%d, %.1f chunks/s, %.2f MB/s}", this.worldDir, this.chunksRead,
+                getChunksPerSecond(), getMegabytesPerSecond());
     }
 
 }
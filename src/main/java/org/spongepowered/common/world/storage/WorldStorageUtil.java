@@ -28,28 +28,51 @@
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
 
 public class WorldStorageUtil {
 
+    private static final int SECTOR_SIZE = 4096;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
         int x = chunkCoords.getX();
         int z = chunkCoords.getZ();
@@ -66,19 +89,290 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
         if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || !SpongeChunkLayout.instance.isValidChunk(x, y, z)) {
             return CompletableFuture.completedFuture(Optional.empty());
         }
-        File worldDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
+        IMixinAnvilChunkLoader anvilLoader = (IMixinAnvilChunkLoader) chunkLoader;
+        File worldDir = anvilLoader.getWorldDir().toFile();
         return SpongeScheduler.getInstance().submitAsyncTask(() -> {
+            NBTTagCompound pending = anvilLoader.getPendingChunk(x, z);
+            if (pending != null) {
+                return Optional.ofNullable(readChunkData(pending));
+            }
             DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
             return Optional.ofNullable(readDataFromRegion(stream));
         });
     }
 
+    /**
+     * Checks which of the chunks exist, reading the header of every region
+     * file involved only once. Chunks that are saved but not yet written to
+     * their region file exist as well.
+     *
+     * @param chunkLoader The chunk loader of the world
+     * @param chunkCoords The chunk coordinates
+     * @return Whether each chunk exists
+     */
+    public static CompletableFuture<Map<Vector3i, Boolean>> doChunksExist(IChunkLoader chunkLoader, Collection<Vector3i> chunkCoords) {
+        final Map<Vector3i, Boolean> result = new HashMap<>();
+        if (!(chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            chunkCoords.forEach(coords -> result.put(coords, false));
+            return CompletableFuture.completedFuture(result);
+        }
+        final IMixinAnvilChunkLoader anvilLoader = (IMixinAnvilChunkLoader) chunkLoader;
+        final Map<ChunkCoordIntPair, List<Vector3i>> regions = groupByRegion(chunkCoords, result);
+        return SpongeScheduler.getInstance().submitAsyncTask(() -> {
+            for (Map.Entry<ChunkCoordIntPair, List<Vector3i>> region : regions.entrySet()) {
+                int[] offsets = null;
+                try {
+                    offsets = readOffsets(anvilLoader, region.getKey());
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().warn("Unable to read region file {}", getRegionPath(anvilLoader, region.getKey()), e);
+                }
+                for (Vector3i coords : region.getValue()) {
+                    result.put(coords, anvilLoader.hasPendingChunk(coords.getX(), coords.getZ())
+                            || (offsets != null && offsets[getOffsetIndex(coords)] != 0));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Reads the data of the chunks, one region file at a time. The region
+     * files are read in parallel and the data of every chunk is passed to the
+     * consumer as soon as it is read, from the thread that read it. Chunks
+     * that are saved but not yet written to their region file return the
+     * saved data, chunks which can't be read return no data.
+     *
+     * @param chunkLoader The chunk loader of the world
+     * @param chunkCoords The chunk coordinates
+     * @param consumer The consumer of the chunk data, which must be thread
+     *     safe
+     * @return A future completed once all chunks were read
+     */
+    public static CompletableFuture<Void> getChunksData(IChunkLoader chunkLoader, Collection<Vector3i> chunkCoords,
+            BiConsumer<Vector3i, Optional<DataContainer>> consumer) {
+        final Map<Vector3i, Boolean> invalid = new HashMap<>();
+        final Map<ChunkCoordIntPair, List<Vector3i>> regions = groupByRegion(chunkCoords, invalid);
+        invalid.keySet().forEach(coords -> consumer.accept(coords, Optional.empty()));
+        if (!(chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            regions.values().forEach(coords -> coords.forEach(chunk -> consumer.accept(chunk, Optional.empty())));
+            return CompletableFuture.completedFuture(null);
+        }
+        final IMixinAnvilChunkLoader anvilLoader = (IMixinAnvilChunkLoader) chunkLoader;
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[regions.size()];
+        int index = 0;
+        for (Map.Entry<ChunkCoordIntPair, List<Vector3i>> region : regions.entrySet()) {
+            futures[index++] = SpongeScheduler.getInstance().submitAsyncTask(() -> {
+                readRegion(anvilLoader, region.getKey(), region.getValue(), consumer);
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    // Groups the valid chunks by region, invalid chunks are put in the map as not existing
+    private static Map<ChunkCoordIntPair, List<Vector3i>> groupByRegion(Collection<Vector3i> chunkCoords, Map<Vector3i, Boolean> invalid) {
+        final Map<ChunkCoordIntPair, List<Vector3i>> regions = new HashMap<>();
+        for (Vector3i coords : chunkCoords) {
+            if (SpongeChunkLayout.instance.isValidChunk(coords.getX(), coords.getY(), coords.getZ())) {
+                regions.computeIfAbsent(new ChunkCoordIntPair(coords.getX() >> 5, coords.getZ() >> 5), key -> new ArrayList<>()).add(coords);
+            } else {
+                invalid.put(coords, false);
+            }
+        }
+        return regions;
+    }
+
+    private static Path getRegionPath(IMixinAnvilChunkLoader chunkLoader, ChunkCoordIntPair region) {
+        return chunkLoader.getWorldDir().resolve("region").resolve("r." + region.chunkXPos + "." + region.chunkZPos + ".mca");
+    }
+
+    private static int getOffsetIndex(Vector3i chunkCoords) {
+        return (chunkCoords.getX() & 31) + (chunkCoords.getZ() & 31) * 32;
+    }
+
+    // Reads the offset table, holding the monitor of the region file if the server has it open
+    @Nullable
+    private static int[] readOffsets(IMixinAnvilChunkLoader chunkLoader, ChunkCoordIntPair region) throws IOException {
+        final Path regionPath = getRegionPath(chunkLoader, region);
+        if (!Files.exists(regionPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(regionPath, StandardOpenOption.READ)) {
+            final RegionFile regionFile = getOpenRegionFile(chunkLoader.getWorldDir().toFile(), region.chunkXPos, region.chunkZPos);
+            if (regionFile == null) {
+                return readOffsets(channel);
+            }
+            synchronized (regionFile) {
+                return readOffsets(channel);
+            }
+        }
+    }
+
+    @Nullable
+    static int[] readOffsets(FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                // Empty or not yet initialized by RegionFile
+                return null;
+            }
+        }
+        header.flip();
+        final int[] offsets = new int[SECTOR_SIZE / 4];
+        header.asIntBuffer().get(offsets);
+        return offsets;
+    }
+
+    private static void readRegion(IMixinAnvilChunkLoader chunkLoader, ChunkCoordIntPair region, List<Vector3i> chunks,
+            BiConsumer<Vector3i, Optional<DataContainer>> consumer) {
+        final Path regionPath = getRegionPath(chunkLoader, region);
+        FileChannel channel = null;
+        try {
+            for (Vector3i coords : chunks) {
+                DataContainer data = null;
+                try {
+                    final NBTTagCompound pending = chunkLoader.getPendingChunk(coords.getX(), coords.getZ());
+                    if (pending != null) {
+                        data = readChunkData(pending);
+                    } else if (channel != null || Files.exists(regionPath)) {
+                        if (channel == null) {
+                            channel = FileChannel.open(regionPath, StandardOpenOption.READ);
+                        }
+                        final RegionFile regionFile = getOpenRegionFile(chunkLoader.getWorldDir().toFile(), region.chunkXPos, region.chunkZPos);
+                        final byte[] chunk = readChunkBytes(regionFile, channel, getOffsetIndex(coords));
+                        if (chunk != null) {
+                            data = readCompressedChunk(chunk);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    SpongeImpl.getLogger().warn("Unable to read chunk {} from region file {}", coords, regionPath, e);
+                }
+                consumer.accept(coords, Optional.ofNullable(data));
+            }
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Nothing was written
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the region file of the region if it is currently open in the
+     * {@link RegionFileCache}. {@link RegionFile} writes chunks and updates
+     * their offsets while holding its monitor, so reads of an open file must
+     * synchronize on the returned instance to see a consistent file.
+     *
+     * <p>This never opens a region file, opening one could evict and close
+     * the region files the server is writing to.</p>
+     *
+     * @param worldDir The world directory
+     * @param regionX The region x position
+     * @param regionZ The region z position
+     * @return The open region file, or null if it isn't open
+     */
+    @Nullable
+    public static RegionFile getOpenRegionFile(File worldDir, int regionX, int regionZ) {
+        // Same file as RegionFileCache#createOrLoadRegionFile
+        final File file = new File(new File(worldDir, "region"), "r." + regionX + "." + regionZ + ".mca");
+        synchronized (RegionFileCache.class) {
+            return RegionFileCache.regionsByFilename.get(file);
+        }
+    }
+
+    /**
+     * Reads the stored bytes of a chunk. If the region file is open the
+     * monitor of the region file is held, so the offset and data can't be
+     * changed by a concurrent write. The offset is read again for every
+     * chunk. Decompression is left to the caller, outside of the lock.
+     *
+     * @param regionFile The open region file, or null if it isn't open
+     * @param channel A channel of the same file
+     * @param index The index of the chunk in the region
+     * @return The compression type followed by the compressed data, or null
+     *     if the chunk isn't stored or invalid
+     * @throws IOException If the file could not be read
+     */
+    @Nullable
+    static byte[] readChunkBytes(@Nullable RegionFile regionFile, FileChannel channel, int index) throws IOException {
+        if (regionFile == null) {
+            return readChunkBytes(channel, index);
+        }
+        synchronized (regionFile) {
+            return readChunkBytes(channel, index);
+        }
+    }
+
+    @Nullable
+    private static byte[] readChunkBytes(FileChannel channel, int index) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(4);
+        if (!readFully(channel, header, index * 4L)) {
+            return null;
+        }
+        // Checks are based on RegionFile#getChunkDataInputStream
+        final int offset = header.getInt(0);
+        final int sector = offset >>> 8;
+        final int sectors = offset & 0xFF;
+        final long position = (long) sector * SECTOR_SIZE;
+        if (sector < 2 || sectors == 0 || position + (long) sectors * SECTOR_SIZE > channel.size()) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(sectors * SECTOR_SIZE);
+        if (!readFully(channel, buffer, position)) {
+            return null;
+        }
+        final int length = buffer.getInt(0);
+        if (length <= 1 || length > buffer.capacity() - 4) {
+            return null;
+        }
+        return Arrays.copyOfRange(buffer.array(), 4, 4 + length);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decompresses and reads the data of a chunk as returned by
+     * {@link #readChunkBytes}.
+     *
+     * @param chunk The compression type followed by the compressed data
+     * @return The chunk data, or null if it isn't valid
+     * @throws IOException If the data could not be decompressed
+     */
+    @Nullable
+    static DataContainer readCompressedChunk(byte[] chunk) throws IOException {
+        final byte version = chunk[0];
+        InputStream in = new ByteArrayInputStream(chunk, 1, chunk.length - 1);
+        if (version == VERSION_GZIP) {
+            in = new GZIPInputStream(in);
+        } else if (version == VERSION_DEFLATE) {
+            in = new InflaterInputStream(in);
+        } else {
+            return null;
+        }
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(in))) {
+            return readDataFromRegion(stream);
+        }
+    }
+
     public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        return readChunkData(CompressedStreamTools.read(stream));
+    }
 
+    @Nullable
+    private static DataContainer readChunkData(NBTTagCompound data) {
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
         if (!data.hasKey(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND)) {
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.common.data.TargetedProcessor;
+
+public class ProcessorResolverTest {
+
+    private static class BaseProcessor implements TargetedProcessor {
+
+        private final Class<?> target;
+
+        BaseProcessor(Class<?> target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Class<?> getTargetClass() {
+            return this.target;
+        }
+
+        protected boolean supports(Object holder) {
+            return true;
+        }
+
+    }
+
+    private static final class SimpleProcessor extends BaseProcessor {
+
+        SimpleProcessor(Class<?> target) {
+            super(target);
+        }
+
+    }
+
+    private static final class FilteringProcessor extends BaseProcessor {
+
+        FilteringProcessor(Class<?> target) {
+            super(target);
+        }
+
+        @Override
+        protected boolean supports(Object holder) {
+            return false;
+        }
+
+    }
+
+    @Test
+    public void testTargetFiltering() {
+        final Object string = new SimpleProcessor(String.class);
+        final Object number = new SimpleProcessor(Number.class);
+        final ProcessorResolver<Object> resolver = new ProcessorResolver<>(ImmutableList.of(string, number));
+
+        final ProcessorResolver.Resolution<Object> resolution = resolver.resolve(1);
+        assertEquals(1, resolution.size());
+        assertSame(number, resolution.get(0));
+        assertTrue(resolution.isSupportKnown(0));
+        assertSame(resolution, resolver.resolve(2));
+        assertEquals(0, resolver.resolve(new Object()).size());
+    }
+
+    @Test
+    public void testOverriddenSupportsIsChecked() {
+        final Object processor = new FilteringProcessor(Object.class);
+        final ProcessorResolver.Resolution<Object> resolution = new ProcessorResolver<>(ImmutableList.of(processor)).resolve("holder");
+        assertEquals(1, resolution.size());
+        assertFalse(resolution.isSupportKnown(0));
+    }
+
+    @Test
+    public void testUntargetedProcessorsKeepOrder() {
+        final Object untargeted = new Object();
+        final Object targeted = new SimpleProcessor(String.class);
+        final ProcessorResolver.Resolution<Object> resolution =
+                new ProcessorResolver<>(ImmutableList.of(targeted, untargeted)).resolve("holder");
+        assertEquals(2, resolution.size());
+        assertSame(targeted, resolution.get(0));
+        assertSame(untargeted, resolution.get(1));
+        assertTrue(resolution.isSupportKnown(0));
+        assertFalse(resolution.isSupportKnown(1));
+    }
+
+}
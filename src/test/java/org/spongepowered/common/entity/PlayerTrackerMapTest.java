@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class PlayerTrackerMapTest {
+
+    @Test
+    public void testKeyRoundTrip() {
+        for (int y = 0; y < 256; y += 17) {
+            for (int x = -16; x < 32; x += 5) {
+                int key = PlayerTrackerMap.key(x, y, 31 - x);
+                assertEquals(x & 15, PlayerTrackerMap.keyX(key));
+                assertEquals(y, PlayerTrackerMap.keyY(key));
+                assertEquals((31 - x) & 15, PlayerTrackerMap.keyZ(key));
+            }
+        }
+        assertEquals(0xFFFFFF, PlayerTrackerMap.keyY(PlayerTrackerMap.key(0, -1, 0)));
+    }
+
+    @Test
+    public void testOwnerAndNotifier() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        int key = PlayerTrackerMap.key(3, 64, 9);
+        assertFalse(map.contains(key));
+        assertEquals(PlayerTrackerMap.NONE, map.getOwner(key));
+        assertEquals(PlayerTrackerMap.NONE, map.getNotifier(key));
+
+        map.setOwner(key, 5);
+        assertTrue(map.contains(key));
+        assertEquals(5, map.getOwner(key));
+        assertEquals(PlayerTrackerMap.NONE, map.getNotifier(key));
+
+        map.setNotifier(key, 7);
+        assertEquals(5, map.getOwner(key));
+        assertEquals(7, map.getNotifier(key));
+        assertEquals(1, map.size());
+
+        assertTrue(map.remove(key));
+        assertFalse(map.remove(key));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testZeroKey() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        int key = PlayerTrackerMap.key(0, 0, 0);
+        map.set(key, 1, 2);
+        assertTrue(map.contains(key));
+        assertEquals(1, map.getOwner(key));
+        assertEquals(2, map.getNotifier(key));
+        assertEquals(1, map.size());
+
+        PlayerTrackerMap copy = PlayerTrackerMap.fromIntArray(map.toIntArray());
+        assertEquals(1, copy.getOwner(key));
+        assertEquals(2, copy.getNotifier(key));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        Map<Integer, int[]> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            int key = PlayerTrackerMap.key(random.nextInt(16), random.nextInt(256), random.nextInt(16));
+            int action = random.nextInt(4);
+            if (action == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                int owner = random.nextInt(100);
+                int notifier = random.nextInt(100);
+                map.set(key, owner, notifier);
+                expected.put(key, new int[] {owner, notifier});
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, int[]> entry : expected.entrySet()) {
+            assertEquals(entry.getValue()[0], map.getOwner(entry.getKey()));
+            assertEquals(entry.getValue()[1], map.getNotifier(entry.getKey()));
+        }
+
+        PlayerTrackerMap copy = PlayerTrackerMap.fromIntArray(map.toIntArray());
+        assertEquals(expected.size(), copy.size());
+        for (Map.Entry<Integer, int[]> entry : expected.entrySet()) {
+            assertEquals(entry.getValue()[0], copy.getOwner(entry.getKey()));
+            assertEquals(entry.getValue()[1], copy.getNotifier(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testUntrackedEntriesAreNotSerialized() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        map.set(PlayerTrackerMap.key(1, 1, 1), PlayerTrackerMap.NONE, PlayerTrackerMap.NONE);
+        map.set(PlayerTrackerMap.key(2, 2, 2), 4, PlayerTrackerMap.NONE);
+        assertEquals(3, map.toIntArray().length);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class PlayerMovementTrackerTest {
+
+    private static final double DISTANCE = 1.0D / 16;
+    private static final double ROTATION = 0.15D;
+
+    @Test
+    public void testTracking() {
+        PlayerMovementTracker tracker = new PlayerMovementTracker();
+        assertFalse(tracker.isTracking(0));
+        tracker.track(0, 1, 2, 3);
+        assertTrue(tracker.isTracking(0));
+        assertFalse(tracker.isTracking(-1));
+        assertEquals(2, tracker.getY(), 0);
+    }
+
+    @Test
+    public void testThresholds() {
+        assertFalse(PlayerMovementTracker.exceedsThreshold(0.05, 0, 0, 0, 0, DISTANCE, ROTATION));
+        assertTrue(PlayerMovementTracker.exceedsThreshold(0.05, 0.05, 0, 0, 0, DISTANCE, ROTATION));
+        assertFalse(PlayerMovementTracker.exceedsThreshold(0, 0, 0, 0.1, 0.1, DISTANCE, ROTATION));
+        assertTrue(PlayerMovementTracker.exceedsThreshold(0, 0, 0, 0.1, 0.2, DISTANCE, ROTATION));
+        // A threshold of 0 fires for any change
+        assertTrue(PlayerMovementTracker.exceedsThreshold(1.0E-9, 0, 0, 0, 0, 0, 0));
+        assertFalse(PlayerMovementTracker.exceedsThreshold(0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Checks that the primitive comparison fires exactly when the vector
+     * based comparison it replaces did, with small moves of many players
+     * accumulating. Only the threshold arithmetic is covered, not the packet
+     * handler or its allocations.
+     */
+    @Test
+    public void testAccumulatedMovesMatchVectorComparison() {
+        Random random = new Random(300);
+        int players = 300;
+        PlayerMovementTracker[] trackers = new PlayerMovementTracker[players];
+        Vector3d[] positions = new Vector3d[players];
+        Vector3d[] lastMoves = new Vector3d[players];
+        for (int i = 0; i < players; i++) {
+            trackers[i] = new PlayerMovementTracker();
+            positions[i] = new Vector3d(random.nextInt(1000), 64, random.nextInt(1000));
+        }
+
+        int fired = 0;
+        int packets = 0;
+        for (int tick = 0; tick < 100; tick++) {
+            for (int i = 0; i < players; i++) {
+                PlayerMovementTracker tracker = trackers[i];
+                // Walking speed is about 0.2 blocks a tick, sneaking much less
+                double step = random.nextBoolean() ? 0.2 : 0.03;
+                Vector3d to = positions[i].add((random.nextDouble() - 0.5) * step, 0, (random.nextDouble() - 0.5) * step);
+                positions[i] = to;
+                packets++;
+
+                Vector3d from = lastMoves[i] != null ? lastMoves[i] : to;
+                boolean expected = to.distanceSquared(from) > DISTANCE * DISTANCE;
+
+                double fromX = tracker.isTracking(0) ? tracker.getX() : to.getX();
+                double fromY = tracker.isTracking(0) ? tracker.getY() : to.getY();
+                double fromZ = tracker.isTracking(0) ? tracker.getZ() : to.getZ();
+                boolean actual = PlayerMovementTracker.exceedsThreshold(to.getX() - fromX, to.getY() - fromY, to.getZ() - fromZ, 0, 0,
+                        DISTANCE, ROTATION);
+                assertEquals(expected, actual);
+
+                if (lastMoves[i] == null || actual) {
+                    lastMoves[i] = to;
+                    tracker.track(0, to.getX(), to.getY(), to.getZ());
+                }
+                if (actual) {
+                    fired++;
+                }
+            }
+        }
+        // Small moves accumulate rather than firing for every packet
+        assertTrue(fired > 0);
+        assertTrue(fired < packets);
+    }
+
+}
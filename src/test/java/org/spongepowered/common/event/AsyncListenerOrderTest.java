@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+public class AsyncListenerOrderTest {
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    private RegisteredListener<Event> listener(Order order, boolean async) {
+        return new RegisteredListener<>(this.plugin, Event.class, order, event -> {}, false, async);
+    }
+
+    @Test
+    public void testAsyncListenersOnlyDispatchedAfterLastOrder() {
+        RegisteredListener<Event> async = listener(Order.DEFAULT, true);
+        RegisteredListener.Cache cache = new RegisteredListener.Cache(Lists.newArrayList(listener(Order.DEFAULT, false),
+                listener(Order.LATE, false), async));
+
+        for (Order order : Order.values()) {
+            if (order != Order.POST) {
+                assertEquals("Async listeners dispatched before " + order, 0, SpongeEventManager.getAsyncListenersAfter(cache, order).length);
+            }
+        }
+        assertArrayEquals(new RegisteredListener<?>[] {async}, SpongeEventManager.getAsyncListenersAfter(cache, Order.POST));
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncTaskExecutorTest {
+
+    private static PluginContainer createPlugin(String name) {
+        PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getName()).thenReturn(name);
+        when(plugin.getId()).thenReturn(name);
+        return plugin;
+    }
+
+    @Test
+    public void testMisbehavingPluginIsContained() throws InterruptedException {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(8, 2, 100, AsyncTaskExecutor.SaturationPolicy.DROP_NEWEST);
+        PluginContainer flooding = createPlugin("flooding");
+        PluginContainer wellBehaved = createPlugin("wellbehaved");
+
+        // Simulates a plugin whose tasks all hang on an unreachable database
+        CountDownLatch outage = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        for (int i = 0; i < 10000; i++) {
+            executor.execute(flooding, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    outage.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, dropped::incrementAndGet);
+        }
+
+        AsyncTaskExecutor.TaskStats stats = executor.getStats(flooding).get();
+        assertEquals(10000 - 102, dropped.get());
+        assertEquals(10000 - 102, stats.getDropped());
+        assertEquals(100, stats.getQueued());
+        assertEquals(100, executor.getQueueDepth());
+
+        // Other plugins still get their tasks run
+        CountDownLatch done = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            executor.execute(wellBehaved, done::countDown, () -> { });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        outage.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((stats.getCompleted() < 102 || stats.getRunning() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(102, stats.getCompleted());
+        assertEquals(0, stats.getRunning());
+        assertEquals(0, stats.getQueued());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(1, 1, 1, AsyncTaskExecutor.SaturationPolicy.DROP_OLDEST);
+        PluginContainer plugin = createPlugin("plugin");
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicInteger droppedId = new AtomicInteger();
+
+        executor.execute(plugin, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> droppedId.set(1));
+        executor.execute(plugin, () -> { }, () -> droppedId.set(2));
+        executor.execute(plugin, ran::countDown, () -> droppedId.set(3));
+
+        assertEquals(2, droppedId.get());
+        blocked.countDown();
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOverflowDoesNotRunOnCaller() throws InterruptedException {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(1, 1, 1, AsyncTaskExecutor.SaturationPolicy.OVERFLOW);
+        PluginContainer plugin = createPlugin("plugin");
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(plugin, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> { });
+        executor.execute(plugin, () -> { }, () -> { });
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(plugin, () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+            ran.countDown();
+        }, () -> { });
+
+        // Runs while the plugin is still at its concurrency limit
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+        assertEquals(0, ranOnCaller.get());
+        assertEquals(0, executor.getStats(plugin).get().getDropped());
+        blocked.countDown();
+    }
+
+    @Test
+    public void testOverflowIsBounded() throws InterruptedException {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(4, 2, 10, AsyncTaskExecutor.SaturationPolicy.OVERFLOW);
+        PluginContainer flooding = createPlugin("flooding");
+        PluginContainer wellBehaved = createPlugin("wellbehaved");
+
+        CountDownLatch outage = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        for (int i = 0; i < 10000; i++) {
+            executor.execute(flooding, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    outage.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, dropped::incrementAndGet);
+        }
+
+        // 2 running, 10 waiting and 2 on the overflow thread, the rest is discarded
+        AsyncTaskExecutor.TaskStats stats = executor.getStats(flooding).get();
+        assertEquals(10000 - 14, dropped.get());
+        assertEquals(10000 - 14, stats.getDropped());
+        assertEquals(10, stats.getQueued());
+
+        CountDownLatch done = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            executor.execute(wellBehaved, done::countDown, () -> { });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        outage.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((stats.getCompleted() < 14 || stats.getRunning() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(14, stats.getCompleted());
+        assertEquals(0, stats.getRunning());
+        assertEquals(0, stats.getQueued());
+        // The pool runs at most 2 and the overflow thread 1 at a time
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class TimerWheelTest {
+
+    private static ScheduledTask createTask(String name) {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> { }, name, 0, true, 0, true, null);
+    }
+
+    @Test
+    public void testTaskExpiresAtDeadline() {
+        TimerWheel wheel = new TimerWheel(8, 0L);
+        ScheduledTask task = createTask("a");
+        wheel.schedule(task, 3);
+        assertEquals(1, wheel.size());
+        assertEquals(3, wheel.nextTick());
+        assertTrue(wheel.advance(2).isEmpty());
+        List<ScheduledTask> expired = wheel.advance(3);
+        assertEquals(1, expired.size());
+        assertEquals(task, expired.get(0));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testTaskBeyondOneRevolution() {
+        TimerWheel wheel = new TimerWheel(8, 0L);
+        ScheduledTask task = createTask("a");
+        wheel.schedule(task, 20);
+        // The slot of the task is passed twice before it is due
+        for (long tick = 1; tick < 20; tick++) {
+            assertTrue(wheel.advance(tick).isEmpty());
+        }
+        assertEquals(1, wheel.advance(20).size());
+    }
+
+    @Test
+    public void testAdvancePastManyTicks() {
+        TimerWheel wheel = new TimerWheel(8, 0L);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(createTask("t" + i), i);
+        }
+        assertEquals(50, wheel.advance(50).size());
+        assertEquals(50, wheel.size());
+        assertEquals(50, wheel.advance(1000).size());
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.nextTick());
+    }
+
+    @Test
+    public void testTasksAreNeverDueImmediately() {
+        TimerWheel wheel = new TimerWheel(8, 5L);
+        wheel.schedule(createTask("a"), 0);
+        assertTrue(wheel.advance(5).isEmpty());
+        assertEquals(1, wheel.advance(6).size());
+    }
+
+}
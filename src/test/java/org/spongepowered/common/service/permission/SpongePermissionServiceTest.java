@@ -0,0 +1,149 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+public class SpongePermissionServiceTest {
+
+    private static final int CHAIN_DEPTH = 64;
+
+    private SpongePermissionService service;
+    private SubjectCollection groups;
+
+    @Before
+    public void setUp() {
+        this.service = new SpongePermissionService(null);
+        this.groups = this.service.getSubjects("test");
+    }
+
+    /**
+     * Creates a chain of subjects where every subject is the parent of the
+     * subject before it.
+     */
+    private Subject[] createChain(int depth) {
+        Subject[] chain = new Subject[depth];
+        for (int i = depth - 1; i >= 0; i--) {
+            chain[i] = this.groups.get("group" + i);
+            if (i < depth - 1) {
+                chain[i].getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, chain[i + 1]);
+            }
+        }
+        return chain;
+    }
+
+    @Test
+    public void testDeepChainResolution() {
+        Subject[] chain = createChain(CHAIN_DEPTH);
+        chain[CHAIN_DEPTH - 1].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.TRUE);
+
+        assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node.child"));
+        assertEquals(Tristate.UNDEFINED, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test"));
+
+        // A closer parent overrides the end of the chain
+        chain[CHAIN_DEPTH / 2].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        assertEquals(Tristate.TRUE, chain[CHAIN_DEPTH / 2 + 1].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+    }
+
+    @Test
+    public void testOwnPermissionOverridesParents() {
+        Subject[] chain = createChain(2);
+        chain[0].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test", Tristate.FALSE);
+        chain[1].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.TRUE);
+
+        assertEquals(Tristate.FALSE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        assertEquals(Tristate.TRUE, chain[1].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+    }
+
+    @Test
+    public void testParentChangesInvalidate() {
+        Subject[] chain = createChain(3);
+        chain[2].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+
+        chain[1].getSubjectData().clearParents(SubjectData.GLOBAL_CONTEXT);
+        assertEquals(Tristate.UNDEFINED, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+
+        chain[1].getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, chain[2]);
+        assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+
+        chain[2].getSubjectData().clearPermissions(SubjectData.GLOBAL_CONTEXT);
+        assertEquals(Tristate.UNDEFINED, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+    }
+
+    @Test
+    public void testDefaultDataIsInherited() {
+        Subject subject = this.groups.get("subject");
+        this.service.getDefaultData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.default", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.default"));
+
+        this.service.getGroupForOpLevel(0).getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.op", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.op"));
+    }
+
+    @Test
+    public void testParentCycle() {
+        Subject[] chain = createChain(2);
+        chain[1].getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, chain[0]);
+        chain[1].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.TRUE);
+
+        assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        assertEquals(Tristate.UNDEFINED, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.missing"));
+    }
+
+    @Test
+    public void testRepeatedChecksHitCache() {
+        Subject[] chain = createChain(CHAIN_DEPTH);
+        for (int i = 0; i < CHAIN_DEPTH; i++) {
+            chain[i].getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node" + i, Tristate.TRUE);
+        }
+
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < CHAIN_DEPTH; i++) {
+                assertEquals(Tristate.TRUE, chain[0].getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node" + i));
+            }
+        }
+        assertEquals(CHAIN_DEPTH, this.service.getCacheMisses());
+        assertEquals(99 * CHAIN_DEPTH, this.service.getCacheHits());
+        assertTrue(this.service.getCacheHitRate() > 0.98);
+    }
+
+    @Test
+    public void testSubjectsAreReused() {
+        assertSame(this.groups.get("subject"), this.groups.get("subject"));
+        assertSame(this.service.getGroupForOpLevel(2), this.service.getGroupSubjects().get("op_2"));
+    }
+}
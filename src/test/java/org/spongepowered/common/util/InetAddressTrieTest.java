@@ -0,0 +1,187 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class InetAddressTrieTest {
+
+    @Test
+    public void testNestedPrefixes() throws UnknownHostException {
+        InetAddressTrie<String> trie = new InetAddressTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "a");
+        trie.put(IpSet.fromCidr("10.42.0.0/16"), "b");
+        trie.put(IpSet.fromCidr("10.42.128.0/17"), "c");
+        trie.put(IpSet.fromCidr("10.43.0.0/16"), "d");
+
+        assertEquals(ImmutableList.of("a", "b", "c"), trie.getAll(InetAddress.getByName("10.42.200.1")));
+        assertEquals(ImmutableList.of("a", "b"), trie.getAll(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableList.of("a", "d"), trie.getAll(InetAddress.getByName("10.43.2.5")));
+        assertEquals("c", trie.getLongestMatch(InetAddress.getByName("10.42.200.1")));
+        assertFalse(trie.contains(InetAddress.getByName("11.0.0.1")));
+    }
+
+    @Test
+    public void testFamiliesAreSeparate() throws UnknownHostException {
+        InetAddressTrie<String> trie = new InetAddressTrie<>();
+        trie.put(IpSet.fromCidr("0.0.0.0/0"), "v4");
+        trie.put(IpSet.fromCidr("[2064:45:300::]/40"), "v6");
+
+        assertEquals(ImmutableList.of("v4"), trie.getAll(InetAddress.getByName("192.168.0.1")));
+        assertEquals(ImmutableList.of("v6"), trie.getAll(InetAddress.getByName("2064:45:310::cafe")));
+        assertTrue(trie.getAll(InetAddress.getByName("2064:45:410::cafe")).isEmpty());
+    }
+
+    @Test
+    public void testRemove() throws UnknownHostException {
+        InetAddressTrie<String> trie = new InetAddressTrie<>();
+        trie.put(IpSet.fromCidr("10.42.0.0/16"), "b");
+        trie.put(IpSet.fromCidr("10.43.0.0/16"), "d");
+        assertEquals(2, trie.size());
+
+        assertTrue(trie.remove(InetAddress.getByName("10.42.0.0"), 16, "b"));
+        assertFalse(trie.remove(InetAddress.getByName("10.42.0.0"), 16, "b"));
+        assertFalse(trie.remove(InetAddress.getByName("10.43.0.0"), 15, "d"));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("10.42.2.5")));
+        assertEquals("d", trie.getLongestMatch(InetAddress.getByName("10.43.2.5")));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void testGroupIntersection() throws UnknownHostException {
+        Map<String, List<IpSet>> groups = ImmutableMap.<String, List<IpSet>>of(
+                "nested", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.42.0.0/16")),
+                "disjoint", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("11.0.0.0/8")),
+                "everything", ImmutableList.of());
+        InetAddressTrie<String> trie = IpSet.toTrie(groups);
+
+        assertEquals(ImmutableList.of("everything", "nested"), trie.getAll(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableList.of("everything"), trie.getAll(InetAddress.getByName("10.43.2.5")));
+        assertEquals(ImmutableList.of("everything"), trie.getAll(InetAddress.getByName("::1")));
+    }
+
+    /**
+     * Checks the trie against the linear scan of every named set it
+     * replaces, for random prefixes and addresses of both families.
+     */
+    @Test
+    public void testMatchesLinearScan() throws UnknownHostException {
+        Random random = new Random(4502);
+        Map<String, List<IpSet>> groups = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            List<IpSet> sets = new ArrayList<>();
+            IpSet set = randomSet(random);
+            sets.add(set);
+            if (random.nextInt(4) == 0) {
+                // A shorter prefix of the same set, or an unrelated one
+                sets.add(random.nextBoolean() ? IpSet.fromAddrPrefix(set.getAddress(), random.nextInt(set.getPrefixLength() + 1))
+                        : randomSet(random));
+            }
+            groups.put("set" + i, sets);
+        }
+        InetAddressTrie<String> trie = IpSet.toTrie(groups);
+
+        List<InetAddress> addresses = new ArrayList<>();
+        for (List<IpSet> sets : groups.values()) {
+            // Addresses inside the sets, and just outside them
+            InetAddress network = sets.get(0).getNetworkAddress();
+            addresses.add(network);
+            addresses.add(flipBit(network, random.nextInt(network.getAddress().length * 8)));
+        }
+        for (int i = 0; i < 2000; i++) {
+            addresses.add(randomAddress(random, random.nextBoolean() ? 4 : 16));
+        }
+
+        for (InetAddress address : addresses) {
+            Set<String> expected = new HashSet<>();
+            for (Map.Entry<String, List<IpSet>> group : groups.entrySet()) {
+                Predicate<InetAddress> predicate = Predicates.and(group.getValue());
+                if (predicate.apply(address)) {
+                    expected.add(group.getKey());
+                }
+            }
+            List<String> actual = trie.getAll(address);
+            assertEquals(address.toString(), expected, new HashSet<>(actual));
+            assertEquals(address.toString(), expected.size(), actual.size());
+        }
+    }
+
+    @Test
+    public void testNetworkAddress() throws UnknownHostException {
+        assertEquals(InetAddress.getByName("10.42.0.0"), IpSet.fromCidr("10.42.3.4/16").getNetworkAddress());
+        assertEquals(InetAddress.getByName("10.32.0.0"), IpSet.fromCidr("10.42.3.4/11").getNetworkAddress());
+        assertEquals(InetAddress.getByName("fc00::"), IpSet.fromCidr("[fcc0:c0b2::1]/8").getNetworkAddress());
+        assertEquals(Collections.singletonList("a"), trieOf("10.42.3.4/16", "a").getAll(InetAddress.getByName("10.42.200.200")));
+    }
+
+    private static InetAddressTrie<String> trieOf(String cidr, String value) {
+        InetAddressTrie<String> trie = new InetAddressTrie<>();
+        trie.put(IpSet.fromCidr(cidr), value);
+        return trie;
+    }
+
+    private static IpSet randomSet(Random random) {
+        int length = random.nextInt(4) == 0 ? 16 : 4;
+        return IpSet.fromAddrPrefix(randomAddress(random, length), random.nextInt(length * 8 + 1));
+    }
+
+    private static InetAddress randomAddress(Random random, int length) {
+        byte[] address = new byte[length];
+        random.nextBytes(address);
+        // Keep addresses close together so that prefixes share long paths
+        address[0] = (byte) (10 + random.nextInt(2));
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static InetAddress flipBit(InetAddress address, int bit) throws UnknownHostException {
+        byte[] bytes = address.getAddress();
+        bytes[bit >> 3] ^= 0x80 >> (bit & 7);
+        return InetAddress.getByAddress(bytes);
+    }
+}
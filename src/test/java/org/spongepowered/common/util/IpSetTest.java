@@ -53,6 +53,9 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         IpSet spec = IpSet.fromCidr("[2064:45:300::]/40");
         assertTrue(spec.apply(InetAddress.getByName("2064:45:310::cafe")));
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
+        spec = IpSet.fromCidr("10.32.0.0/11");
+        assertTrue(spec.apply(InetAddress.getByName("10.63.2.5")));
+        assertFalse(spec.apply(InetAddress.getByName("10.64.2.5")));
     }
 
     @Test
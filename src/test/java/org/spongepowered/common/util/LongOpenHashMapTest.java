@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.world.ChunkCoordIntPair;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongOpenHashMapTest {
+
+    @Test
+    public void testAddAndGet() {
+        LongOpenHashMap<String> map = new LongOpenHashMap<>(4);
+        for (int x = -20; x <= 20; x++) {
+            for (int z = -20; z <= 20; z++) {
+                map.add(ChunkCoordIntPair.chunkXZ2Int(x, z), x + "," + z);
+            }
+        }
+        assertEquals(41 * 41, map.getNumHashElements());
+        assertEquals("3,-7", map.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(3, -7)));
+        assertEquals("-20,20", map.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(-20, 20)));
+        assertNull(map.getValueByKey(ChunkCoordIntPair.chunkXZ2Int(21, 0)));
+        assertTrue(map.containsItem(0L));
+    }
+
+    @Test
+    public void testReplaceUpdatesCache() {
+        LongOpenHashMap<String> map = new LongOpenHashMap<>();
+        map.add(42L, "a");
+        assertEquals("a", map.getValueByKey(42L));
+        map.add(42L, "b");
+        assertEquals("b", map.getValueByKey(42L));
+        assertEquals(1, map.getNumHashElements());
+    }
+
+    @Test
+    public void testRemoveInvalidatesCache() {
+        LongOpenHashMap<String> map = new LongOpenHashMap<>();
+        map.add(7L, "a");
+        assertEquals("a", map.getValueByKey(7L));
+        assertEquals("a", map.remove(7L));
+        assertNull(map.getValueByKey(7L));
+        assertFalse(map.containsItem(7L));
+        assertNull(map.remove(7L));
+        assertEquals(0, map.getNumHashElements());
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        LongOpenHashMap<Long> map = new LongOpenHashMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(1234L);
+        for (int i = 0; i < 100000; i++) {
+            long key = ChunkCoordIntPair.chunkXZ2Int(random.nextInt(64) - 32, random.nextInt(64) - 32);
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.add(key, key + i);
+                    expected.put(key, key + i);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.getValueByKey(key));
+            }
+            assertEquals(expected.size(), map.getNumHashElements());
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.getValueByKey(entry.getKey()));
+        }
+    }
+
+}
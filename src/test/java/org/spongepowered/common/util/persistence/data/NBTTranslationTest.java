@@ -24,8 +24,12 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -37,6 +41,11 @@
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.api.data.DataManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Optional;
 
 public class NBTTranslationTest {
@@ -63,4 +72,30 @@ public void testDotContainerKeys() {
         assertTrue(container.equals(translatedContainer));
     }
 
+    @Test
+    public void testStreamedWriteMatchesTranslation() throws IOException {
+        final DataContainer container = new MemoryDataContainer()
+                .set(DataQuery.of("byte"), (byte) 1)
+                .set(DataQuery.of("short"), (short) 2)
+                .set(DataQuery.of("long"), 3L)
+                .set(DataQuery.of("float"), 4.5F)
+                .set(DataQuery.of("double"), 5.5D)
+                .set(DataQuery.of("flag"), true)
+                .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("ints"), new int[] {4, 5, 6})
+                .set(DataQuery.of("names"), ImmutableList.of("a", "b"))
+                .set(DataQuery.of("mixed"), ImmutableList.of(1, "dropped", 2))
+                .set(DataQuery.of("empty"), ImmutableList.of())
+                .set(DataQuery.of("map"), ImmutableMap.of("key", 7, "other", false))
+                .set(DataQuery.of("nested", "my.key", "value"), "deep")
+                .set(DataQuery.of("views"), ImmutableList.of(new MemoryDataContainer().set(DataQuery.of("x"), 1)));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            NbtTranslator.getInstance().write(container, out);
+        }
+        final NBTTagCompound streamed = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(NbtTranslator.getInstance().translateData(container), streamed);
+    }
+
 }
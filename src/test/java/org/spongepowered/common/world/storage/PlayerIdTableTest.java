@@ -0,0 +1,127 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PlayerIdTableTest {
+
+    @Test
+    public void testIndicesAreAssignedInOrder() {
+        PlayerIdTable table = new PlayerIdTable();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            ids.add(uuid);
+            assertEquals(-1, table.getIndex(uuid));
+            assertEquals(i, table.getOrCreateIndex(uuid));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, table.getOrCreateIndex(ids.get(i)));
+            assertEquals(i, table.getIndex(ids.get(i)));
+            assertEquals(ids.get(i), table.getUniqueId(i));
+        }
+        assertEquals(1000, table.size());
+        assertNull(table.getUniqueId(1000));
+        assertNull(table.getUniqueId(-1));
+    }
+
+    @Test
+    public void testPersistenceOnlyAppendsNewIds() {
+        PlayerIdTable table = new PlayerIdTable();
+        NBTTagList list = new NBTTagList();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        table.getOrCreateIndex(first);
+        table.writePending(list);
+        assertEquals(1, list.tagCount());
+
+        table.getOrCreateIndex(first);
+        table.writePending(list);
+        assertEquals(1, list.tagCount());
+
+        table.getOrCreateIndex(second);
+        table.writePending(list);
+        assertEquals(2, list.tagCount());
+
+        PlayerIdTable loaded = new PlayerIdTable();
+        loaded.read(list);
+        assertEquals(0, loaded.getIndex(first));
+        assertEquals(1, loaded.getIndex(second));
+        loaded.writePending(list);
+        assertEquals(2, list.tagCount());
+    }
+
+    @Test
+    public void testConcurrentInterning() throws InterruptedException {
+        PlayerIdTable table = new PlayerIdTable();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ConcurrentHashMap<UUID, Integer> seen = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (UUID uuid : ids) {
+                    int index = table.getOrCreateIndex(uuid);
+                    Integer previous = seen.putIfAbsent(uuid, index);
+                    if (previous != null && previous != index) {
+                        seen.put(uuid, -2);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        assertEquals(ids.size(), table.size());
+        for (UUID uuid : ids) {
+            int index = seen.get(uuid);
+            assertEquals(uuid, table.getUniqueId(index));
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SpongeChunkDataStreamTest {
+
+    private static final DataQuery X_POS = DataQuery.of("xPos");
+    private static final DataQuery Z_POS = DataQuery.of("zPos");
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExecutorService executor;
+    private File worldDir;
+
+    @Before
+    public void setUp() throws IOException {
+        this.executor = Executors.newFixedThreadPool(3);
+        this.worldDir = this.folder.newFolder("world");
+        File regionDir = new File(this.worldDir, "region");
+        assertTrue(regionDir.mkdir());
+        // 40 chunks in the first region, 5 in the second
+        writeRegion(new File(regionDir, "r.0.0.mca"), 0, 0, 40);
+        writeRegion(new File(regionDir, "r.1.0.mca"), 32, 0, 5);
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    private static void writeRegion(File file, int baseX, int baseZ, int count) throws IOException {
+        RegionFile region = new RegionFile(file);
+        for (int i = 0; i < count; i++) {
+            int x = i & 31;
+            int z = i >>> 5;
+            NBTTagCompound level = new NBTTagCompound();
+            level.setInteger("xPos", baseX + x);
+            level.setInteger("zPos", baseZ + z);
+            level.setTag(NbtDataUtil.CHUNK_DATA_SECTIONS, new NBTTagList());
+            NBTTagCompound root = new NBTTagCompound();
+            root.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+            try (DataOutputStream out = region.getChunkDataOutputStream(x, z)) {
+                CompressedStreamTools.write(root, out);
+            }
+        }
+        region.close();
+    }
+
+    private static List<String> drain(SpongeChunkDataStream stream) {
+        List<String> chunks = new ArrayList<>();
+        while (stream.hasNext()) {
+            DataContainer data = stream.next();
+            chunks.add(data.getInt(X_POS).get() + "," + data.getInt(Z_POS).get());
+        }
+        return chunks;
+    }
+
+    @Test
+    public void testOrderedMatchesSequential() {
+        List<String> sequential = drain(new SpongeChunkDataStream(this.worldDir.toPath(), null, 1, true));
+        List<String> parallel = drain(new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 8, true));
+        assertEquals(45, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testUnorderedReturnsEveryChunk() {
+        List<String> ordered = drain(new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 8, true));
+        List<String> unordered = drain(new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 8, false));
+        assertEquals(ordered.size(), unordered.size());
+        Set<String> distinct = new HashSet<>(unordered);
+        assertEquals(ordered.size(), distinct.size());
+        assertEquals(new HashSet<>(ordered), distinct);
+    }
+
+    @Test
+    public void testAvailableAndReset() {
+        SpongeChunkDataStream stream = new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 4, true);
+        assertEquals(45, stream.available());
+        for (int i = 0; i < 10; i++) {
+            stream.next();
+        }
+        assertEquals(35, stream.available());
+        assertEquals(10, stream.getChunksRead());
+        assertTrue(stream.getBytesRead() > 0);
+
+        stream.reset();
+        assertEquals(45, stream.available());
+        assertEquals(45, drain(stream).size());
+        assertFalse(stream.hasNext());
+        assertEquals(0, stream.available());
+    }
+
+    @Test
+    public void testInvalidChunksAreSkipped() throws IOException {
+        RegionFile region = new RegionFile(new File(this.worldDir, "region/r.0.1.mca"));
+        // Not a compound tag
+        try (DataOutputStream out = region.getChunkDataOutputStream(0, 0)) {
+            out.writeInt(0xDEADBEEF);
+        }
+        // No level compound
+        try (DataOutputStream out = region.getChunkDataOutputStream(1, 0)) {
+            CompressedStreamTools.write(new NBTTagCompound(), out);
+        }
+        region.close();
+
+        SpongeChunkDataStream stream = new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 4, true);
+        assertEquals(47, stream.available());
+        assertEquals(45, drain(stream).size());
+        assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void testRegionFilesAreNotOpened() {
+        RegionFileCache.clearRegionFileReferences();
+        assertEquals(45, drain(new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 8, true)).size());
+        assertTrue(RegionFileCache.regionsByFilename.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExhausted() {
+        SpongeChunkDataStream stream = new SpongeChunkDataStream(this.worldDir.toPath(), this.executor, 4, false);
+        drain(stream);
+        stream.next();
+    }
+
+}